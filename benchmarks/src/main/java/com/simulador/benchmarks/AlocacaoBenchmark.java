@@ -0,0 +1,85 @@
+package com.simulador.benchmarks;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+import com.simulador.services.DeferredAcceptanceAllocator;
+import com.simulador.services.SeatAllocation;
+import com.simulador.services.SeatAllocationEngine;
+import com.simulador.services.StableAllocation;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alocação em lote de uma leva de pedidos de vaga: todos os alunos do catálogo sintético
+ * pedem algumas turmas e as vagas são distribuídas de uma só vez. As matrículas são desfeitas
+ * ao final de cada invocação para que todas as medições partam do mesmo estado. A alocação
+ * estável usa as mesmas listas como preferências e não matricula ninguém
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlocacaoBenchmark {
+
+    @Param({"500"})
+    public int disciplinas;
+
+    @Param({"10000", "100000"})
+    public int alunos;
+
+    @Param({"6"})
+    public int turmasPorAluno;
+
+    private List<Student> estudantes;
+    private List<List<ClassGroup>> pedidos;
+    private Map<Student, List<ClassGroup>> preferencias;
+
+    @Setup
+    public void preparar() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, disciplinas, 3, 4, alunos).generate();
+        estudantes = catalogo.getStudents();
+        pedidos = new ArrayList<>(estudantes.size());
+        for (int i = 0; i < estudantes.size(); i++) {
+            pedidos.add(new ArrayList<>(catalogo.sampleClassGroups(i, turmasPorAluno)));
+        }
+        preferencias = new LinkedHashMap<>();
+        for (int i = 0; i < estudantes.size(); i++) {
+            preferencias.put(estudantes.get(i), pedidos.get(i));
+        }
+    }
+
+    @Benchmark
+    public SeatAllocation alocarEmLote() {
+        SeatAllocationEngine motor = new SeatAllocationEngine(7);
+        for (int i = 0; i < estudantes.size(); i++) {
+            for (ClassGroup turma : pedidos.get(i)) {
+                motor.request(estudantes.get(i), turma);
+            }
+        }
+        SeatAllocation alocacao = motor.allocate();
+        for (ClassGroup turma : alocacao.getClassGroups()) {
+            // Esvazia a lista de espera antes de liberar as vagas, para não haver promoções
+            for (Student aluno : alocacao.getWaitlist(turma)) {
+                turma.leaveWaitlist(aluno);
+            }
+            for (Student aluno : alocacao.getAdmitted(turma)) {
+                turma.removeStudent(aluno);
+            }
+        }
+        return alocacao;
+    }
+
+    @Benchmark
+    public StableAllocation alocacaoEstavel() {
+        return new DeferredAcceptanceAllocator(7).allocate(preferencias);
+    }
+}
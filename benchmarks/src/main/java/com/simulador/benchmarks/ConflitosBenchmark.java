@@ -0,0 +1,79 @@
+package com.simulador.benchmarks;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.exceptions.ConflitoDeHorarioException;
+import com.simulador.services.ConflictResolutionService;
+import com.simulador.services.PairwiseConflictDetector;
+import com.simulador.services.SweepLineConflictDetector;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detecção e resolução de conflitos de horário sobre conjuntos de turmas candidatas
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConflitosBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int turmasCandidatas;
+
+    // Encontros semanais por turma; 0 = blocos de 2 horas (padrão do gerador)
+    @Param({"0", "1", "3"})
+    public int encontrosPorTurma;
+
+    private List<ClassGroup> candidatas;
+    private ClassGroup primeira;
+    private ClassGroup segunda;
+    private final PairwiseConflictDetector pairwise = new PairwiseConflictDetector();
+    private final SweepLineConflictDetector sweepLine = new SweepLineConflictDetector();
+    private final ConflictResolutionService resolucao = new ConflictResolutionService();
+
+    @Setup
+    public void preparar() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, Math.max(turmasCandidatas, 50), 1, 3, 0,
+                encontrosPorTurma).generate();
+        candidatas = new ArrayList<>(catalogo.sampleClassGroups(7, turmasCandidatas));
+        primeira = candidatas.get(0);
+        segunda = candidatas.get(1);
+    }
+
+    @Benchmark
+    public boolean conflictsWith() {
+        return primeira.conflictsWith(segunda);
+    }
+
+    @Benchmark
+    public Object detectorParAPar() {
+        return pairwise.detectConflicts(candidatas);
+    }
+
+    @Benchmark
+    public Object detectorVarredura() {
+        return sweepLine.detectConflicts(candidatas);
+    }
+
+    @Benchmark
+    public void resolveConflicts(Blackhole blackhole) {
+        try {
+            blackhole.consume(resolucao.resolveConflicts(candidatas));
+        } catch (ConflitoDeHorarioException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public Object resolveMaximumWeight() {
+        return resolucao.resolveMaximumWeight(candidatas);
+    }
+}
@@ -0,0 +1,80 @@
+package com.simulador.benchmarks;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Subject;
+import com.simulador.services.PlanScoring;
+import com.simulador.services.SchedulePlan;
+import com.simulador.services.ScheduleSolver;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de ScheduleSolver.solve (melhor grade) e solveTopK (dez alternativas, com peso para
+ * dias livres) entre todas as turmas de um conjunto de disciplinas desejadas, com limite de
+ * carga horária semanal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MelhorGradeBenchmark {
+
+    @Param({"200"})
+    public int disciplinas;
+
+    @Param({"3", "8"})
+    public int turmasPorDisciplina;
+
+    @Param({"8", "16"})
+    public int disciplinasDesejadas;
+
+    @Param({"24"})
+    public int horasSemanais;
+
+    private List<ClassGroup> candidatas;
+    private ScheduleSolver porHoras;
+    private ScheduleSolver ponderado;
+    private ScheduleSolver comDiasLivres;
+
+    @Setup
+    public void preparar() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, disciplinas, turmasPorDisciplina, 4, 0).generate();
+        Set<Subject> desejadas = new HashSet<>();
+        for (ClassGroup turma : catalogo.sampleClassGroups(7, disciplinasDesejadas)) {
+            desejadas.add(turma.getSubject());
+        }
+        candidatas = new ArrayList<>();
+        for (ClassGroup turma : catalogo.getClassGroups()) {
+            if (desejadas.contains(turma.getSubject())) {
+                candidatas.add(turma);
+            }
+        }
+        porHoras = new ScheduleSolver();
+        ponderado = new ScheduleSolver(PlanScoring.PRECEDENCE_WEIGHTED);
+        comDiasLivres = new ScheduleSolver(PlanScoring.PRECEDENCE_WEIGHTED, 2);
+    }
+
+    @Benchmark
+    public SchedulePlan porHoras() {
+        return porHoras.solve(candidatas, horasSemanais);
+    }
+
+    @Benchmark
+    public SchedulePlan ponderadoPorPrecedencia() {
+        return ponderado.solve(candidatas, horasSemanais);
+    }
+
+    @Benchmark
+    public List<SchedulePlan> dezAlternativas() {
+        return comDiasLivres.solveTopK(candidatas, horasSemanais, 10);
+    }
+}
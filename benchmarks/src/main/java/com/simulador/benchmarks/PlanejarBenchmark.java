@@ -0,0 +1,64 @@
+package com.simulador.benchmarks;
+
+import com.simulador.controller.RelatorioSimulacao;
+import com.simulador.controller.ServicoMatricula;
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de ServicoMatricula.planejar para um aluno com histórico e um pedido de turmas.
+ * O planejamento é desfeito ao final de cada invocação para que todas as medições
+ * partam do mesmo estado (o custo de desfazer é incluído e é pequeno).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanejarBenchmark {
+
+    @Param({"200", "2000"})
+    public int disciplinas;
+
+    @Param({"3"})
+    public int turmasPorDisciplina;
+
+    @Param({"4"})
+    public int profundidadePreRequisitos;
+
+    @Param({"8", "32"})
+    public int turmasPorPedido;
+
+    // Encontros semanais por turma; 0 = blocos de 2 horas (padrão do gerador)
+    @Param({"0", "3"})
+    public int encontrosPorTurma;
+
+    private ServicoMatricula servico;
+    private Student aluno;
+    private Set<ClassGroup> pedido;
+
+    @Setup
+    public void preparar() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, disciplinas, turmasPorDisciplina,
+                profundidadePreRequisitos, 0, encontrosPorTurma).generate();
+        servico = new ServicoMatricula();
+        servico.registrarCatalogo(catalogo);
+        aluno = catalogo.createStudent("BENCH0001", profundidadePreRequisitos / 2, 1_000);
+        servico.registrarAluno(aluno);
+        pedido = catalogo.sampleClassGroups(7, turmasPorPedido);
+    }
+
+    @Benchmark
+    public RelatorioSimulacao planejar() {
+        RelatorioSimulacao relatorio = servico.planejar(aluno, pedido);
+        servico.desfazerPlanejamento(relatorio);
+        return relatorio;
+    }
+}
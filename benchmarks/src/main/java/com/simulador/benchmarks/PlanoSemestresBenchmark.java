@@ -0,0 +1,55 @@
+package com.simulador.benchmarks;
+
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.validator.CompiladorPreRequisitos;
+import com.simulador.model.validator.ProgramaPreRequisitos;
+import com.simulador.services.MultiSemesterPlanner;
+import com.simulador.services.SemesterPlan;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de MultiSemesterPlanner.plan: menor número de períodos até a aprovação nas primeiras
+ * disciplinas de um catálogo sintético, no commonPool
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanoSemestresBenchmark {
+
+    @Param({"500"})
+    public int disciplinas;
+
+    @Param({"40", "200"})
+    public int alvos;
+
+    @Param({"24"})
+    public int horasSemanais;
+
+    private ProgramaPreRequisitos programa;
+    private List<Subject> disciplinasAlvo;
+    private Student aluno;
+    private MultiSemesterPlanner planejador;
+
+    @Setup
+    public void preparar() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, disciplinas, 1, 4, 0).generate();
+        programa = CompiladorPreRequisitos.compilar(catalogo.getSubjects());
+        disciplinasAlvo = catalogo.getSubjects().subList(0, alvos);
+        aluno = new Student("Aluno Sintético", "BENCH0001", horasSemanais);
+        planejador = new MultiSemesterPlanner();
+    }
+
+    @Benchmark
+    public SemesterPlan planejarSemestres() {
+        return planejador.plan(programa, aluno, disciplinasAlvo);
+    }
+}
@@ -0,0 +1,75 @@
+package com.simulador.benchmarks;
+
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.validator.CompiladorPreRequisitos;
+import com.simulador.model.validator.ProgramaPreRequisitos;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avaliação dos validadores de pré-requisito (simples, AND, OR e créditos mínimos)
+ * sobre o catálogo inteiro para um aluno
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreRequisitosBenchmark {
+
+    @Param({"200", "2000"})
+    public int disciplinas;
+
+    @Param({"2", "8"})
+    public int profundidadePreRequisitos;
+
+    private List<Subject> catalogo;
+    private Student aluno;
+    private ProgramaPreRequisitos programa;
+    private long[] aprovadas;
+    private long[] elegiveis;
+
+    @Setup
+    public void preparar() {
+        SyntheticCatalog sintetico = new SyntheticCatalogGenerator(42, disciplinas, 1, profundidadePreRequisitos, 0).generate();
+        catalogo = sintetico.getSubjects();
+        aluno = sintetico.createStudent("BENCH0001", profundidadePreRequisitos / 2 + 1, 1_000);
+        programa = CompiladorPreRequisitos.compilar(catalogo);
+        aprovadas = programa.aprovadas(aluno);
+        elegiveis = new long[aprovadas.length];
+    }
+
+    @Benchmark
+    public int elegibilidadeCatalogo() {
+        int elegiveis = 0;
+        for (Subject disciplina : catalogo) {
+            if (disciplina.requisitosAtendidos(aluno)) {
+                elegiveis++;
+            }
+        }
+        return elegiveis;
+    }
+
+    /**
+     * Mesma verificação com os pré-requisitos compilados (conjunto de aprovadas já montado)
+     */
+    @Benchmark
+    public int elegibilidadeCompilada() {
+        return programa.elegiveis(aluno, aprovadas, elegiveis);
+    }
+
+    /**
+     * Inclui a montagem do conjunto de aprovadas do aluno
+     */
+    @Benchmark
+    public int elegibilidadeCompiladaComHistorico() {
+        programa.aprovadas(aluno, aprovadas);
+        return programa.elegiveis(aluno, aprovadas, elegiveis);
+    }
+}
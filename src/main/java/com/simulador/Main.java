@@ -2,9 +2,19 @@ package com.simulador;
 
 import com.simulador.controller.Registration;
 import com.simulador.controller.RelatorioSimulacao;
+import com.simulador.controller.ServidorMatricula;
 import com.simulador.model.domain.ClassGroup;
 import com.simulador.model.domain.Student;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
@@ -15,10 +25,26 @@ import java.util.Scanner;
  */
 public class Main {
     
+    private static final long SEMENTE_PADRAO = 42;
+    private static final int TURMAS_POR_DISCIPLINA = 3;
+    private static final int PROFUNDIDADE_PRE_REQUISITOS = 8;
+    private static final int TURMAS_POR_PEDIDO = 5;
+    private static final String USO_SINTETICO = "--sintetico <disciplinas> <alunos> [semente]";
+    
     private static Registration registration;
     private static Scanner scanner;
     
     public static void main(String[] args) {
+        List<String> argumentos = Arrays.asList(args);
+        if (argumentos.contains("--gerar-pedidos")) {
+            gerarPedidos(argumentos);
+            return;
+        }
+        if (argumentos.contains("--servidor")) {
+            executarModoServidor(argumentos);
+            return;
+        }
+        
         System.out.println("=== SISTEMA DE SIMULAÇÃO DE PLANEJAMENTO ACADÊMICO ===\n");
         
         // Inicializar o sistema
@@ -32,6 +58,109 @@ public class Main {
         mostrarMenuPrincipal();
     }
     
+    /**
+     * Modo servidor: lê pedidos de matrícula da entrada padrão (uma linha por pedido),
+     * responde na saída padrão e imprime o resumo de desempenho na saída de erro
+     */
+    private static void executarModoServidor(List<String> argumentos) {
+        SyntheticCatalog catalogo;
+        try {
+            catalogo = catalogoSintetico(argumentos);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: --servidor [" + USO_SINTETICO + "]");
+            return;
+        }
+        registration = new Registration();
+        if (catalogo != null) {
+            registration.inicializarSistema(catalogo);
+            System.err.println("Catálogo sintético: " + catalogo.getSubjects().size() + " disciplinas, "
+                    + catalogo.getClassGroups().size() + " turmas, " + catalogo.getStudents().size() + " alunos");
+        } else {
+            registration.inicializarSistema();
+        }
+        ServidorMatricula servidor = new ServidorMatricula(registration);
+        
+        BufferedReader entrada = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintWriter saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        try {
+            servidor.executar(entrada, saida);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler os pedidos: " + e.getMessage());
+        }
+        System.err.println(servidor.resumo());
+    }
+    
+    /**
+     * Escreve na saída padrão pedidos no formato do modo servidor para os alunos do
+     * catálogo sintético, cada um com {@value #TURMAS_POR_PEDIDO} turmas sorteadas
+     */
+    private static void gerarPedidos(List<String> argumentos) {
+        SyntheticCatalog catalogo;
+        int quantidade;
+        try {
+            quantidade = argumentoInteiro(argumentos, argumentos.indexOf("--gerar-pedidos") + 1, "quantidade");
+            catalogo = catalogoSintetico(argumentos);
+            if (quantidade < 0 || catalogo == null || catalogo.getStudents().isEmpty()) {
+                throw new IllegalArgumentException("Informe uma quantidade não negativa e um catálogo com alunos");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: --gerar-pedidos <quantidade> " + USO_SINTETICO);
+            return;
+        }
+        PrintWriter saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        List<Student> alunos = catalogo.getStudents();
+        for (int i = 0; i < quantidade; i++) {
+            StringBuilder pedido = new StringBuilder(alunos.get(i % alunos.size()).getRegistration());
+            String separador = " ";
+            for (ClassGroup turma : catalogo.sampleClassGroups(i, TURMAS_POR_PEDIDO)) {
+                pedido.append(separador).append(turma.getId());
+                separador = ",";
+            }
+            saida.println(pedido);
+        }
+        saida.flush();
+    }
+    
+    /**
+     * Lê {@code --sintetico <disciplinas> <alunos> [semente]}; retorna null se a opção não foi informada
+     * @throws IllegalArgumentException se faltar um valor ou algum valor for inválido
+     */
+    private static SyntheticCatalog catalogoSintetico(List<String> argumentos) {
+        int posicao = argumentos.indexOf("--sintetico");
+        if (posicao < 0) {
+            return null;
+        }
+        int disciplinas = argumentoInteiro(argumentos, posicao + 1, "disciplinas");
+        int alunos = argumentoInteiro(argumentos, posicao + 2, "alunos");
+        long semente = SEMENTE_PADRAO;
+        if (argumentos.size() > posicao + 3 && !argumentos.get(posicao + 3).startsWith("--")) {
+            try {
+                semente = Long.parseLong(argumentos.get(posicao + 3));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido para semente: " + argumentos.get(posicao + 3));
+            }
+        }
+        return new SyntheticCatalogGenerator(semente, disciplinas, TURMAS_POR_DISCIPLINA,
+                PROFUNDIDADE_PRE_REQUISITOS, alunos).generate();
+    }
+    
+    /**
+     * Valor inteiro na posição informada da linha de comando
+     * @throws IllegalArgumentException se o valor faltar ou não for um número inteiro
+     */
+    private static int argumentoInteiro(List<String> argumentos, int posicao, String nome) {
+        if (posicao >= argumentos.size() || argumentos.get(posicao).startsWith("--")) {
+            throw new IllegalArgumentException("Valor de " + nome + " não informado");
+        }
+        try {
+            return Integer.parseInt(argumentos.get(posicao));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + nome + ": " + argumentos.get(posicao));
+        }
+    }
+    
     private static void mostrarMenuPrincipal() {
         while (true) {
             System.out.println("\n=== MENU PRINCIPAL ===");
@@ -0,0 +1,106 @@
+package com.simulador.controller;
+
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.validator.ProgramaPreRequisitos;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Elegibilidade já calculada de um aluno, por disciplina do programa de pré-requisitos.
+ * Os resultados valem enquanto o programa (catálogo e regras) e a versão do histórico do
+ * aluno forem os mesmos; qualquer mudança descarta o cache na próxima consulta.
+ * Disciplinas com validadores externos são sempre reavaliadas.
+ */
+final class CacheElegibilidade {
+
+    private ProgramaPreRequisitos programa;
+    private int versaoHistorico;
+    private long[] aprovadas = new long[0];
+    private long[] avaliadas = new long[0];
+    private long[] elegiveis = new long[0];
+    private long acertos;
+
+    synchronized boolean atendidos(ProgramaPreRequisitos programa, Student aluno, int indice) {
+        if (this.programa != programa || versaoHistorico != aluno.getTranscriptVersion()) {
+            reiniciar(programa, aluno);
+        }
+        if (!programa.dependeApenasDoHistorico(indice)) {
+            return programa.atendidos(indice, aluno, aprovadas);
+        }
+
+        int palavra = indice >>> 6;
+        long bit = 1L << indice;
+        if ((avaliadas[palavra] & bit) != 0) {
+            acertos++;
+            return (elegiveis[palavra] & bit) != 0;
+        }
+        boolean atende = programa.atendidos(indice, aluno, aprovadas);
+        avaliadas[palavra] |= bit;
+        if (atende) {
+            elegiveis[palavra] |= bit;
+        }
+        return atende;
+    }
+
+    /**
+     * Atualiza o cache após novas notas no histórico sem descartá-lo: só as disciplinas que
+     * dependem das disciplinas informadas (pelo índice reverso) e as que exigem créditos
+     * mínimos voltam a ser avaliadas. Se o cache não corresponde à versão anterior do histórico,
+     * nada é feito e ele será reiniciado na próxima consulta
+     */
+    synchronized void registrarNotas(ProgramaPreRequisitos programa, Student aluno, int versaoAnterior,
+                                     Collection<Subject> disciplinas) {
+        if (this.programa != programa || versaoHistorico != versaoAnterior) {
+            return;
+        }
+        for (Subject disciplina : disciplinas) {
+            int indice = programa.getIndice(disciplina);
+            if (indice < 0) {
+                continue;
+            }
+            long bit = 1L << indice;
+            if (aluno.hasPassedSubject(disciplina)) {
+                aprovadas[indice >>> 6] |= bit;
+            } else {
+                aprovadas[indice >>> 6] &= ~bit;
+            }
+            for (int k = programa.getQuantidadeDependentes(indice) - 1; k >= 0; k--) {
+                invalidar(programa.getDependente(indice, k));
+            }
+        }
+        for (int dependente : programa.getDependentesDeCreditos()) {
+            invalidar(dependente);
+        }
+        versaoHistorico = aluno.getTranscriptVersion();
+    }
+
+    private void invalidar(int indice) {
+        long bit = 1L << indice;
+        avaliadas[indice >>> 6] &= ~bit;
+        elegiveis[indice >>> 6] &= ~bit;
+    }
+
+    /**
+     * Quantidade de consultas respondidas pelo cache
+     */
+    synchronized long getAcertos() {
+        return acertos;
+    }
+
+    private void reiniciar(ProgramaPreRequisitos novoPrograma, Student aluno) {
+        int palavras = (novoPrograma.getQuantidadeDisciplinas() + 63) >>> 6;
+        if (avaliadas.length != palavras) {
+            aprovadas = new long[palavras];
+            avaliadas = new long[palavras];
+            elegiveis = new long[palavras];
+        } else {
+            Arrays.fill(avaliadas, 0L);
+            Arrays.fill(elegiveis, 0L);
+        }
+        novoPrograma.aprovadas(aluno, aprovadas);
+        programa = novoPrograma;
+        versaoHistorico = aluno.getTranscriptVersion();
+    }
+}
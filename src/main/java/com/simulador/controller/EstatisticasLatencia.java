@@ -0,0 +1,100 @@
+package com.simulador.controller;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências seguro para uso concorrente e com memória constante.
+ * Os valores (em microssegundos) são agrupados em faixas log-lineares: cada potência
+ * de dois é dividida em 16 sub-faixas, o que garante erro relativo inferior a 7%
+ * nos percentis reportados.
+ */
+public class EstatisticasLatencia {
+    
+    private static final int SUB_FAIXAS_BITS = 4;
+    private static final int SUB_FAIXAS = 1 << SUB_FAIXAS_BITS;
+    private static final int TOTAL_FAIXAS = 64 * SUB_FAIXAS;
+    
+    private final AtomicLongArray contagens;
+    private final LongAdder total;
+    private final LongAdder somaMicros;
+    
+    public EstatisticasLatencia() {
+        this.contagens = new AtomicLongArray(TOTAL_FAIXAS);
+        this.total = new LongAdder();
+        this.somaMicros = new LongAdder();
+    }
+    
+    /**
+     * Registra uma latência medida em nanossegundos
+     */
+    public void registrar(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        contagens.incrementAndGet(faixa(micros));
+        total.increment();
+        somaMicros.add(micros);
+    }
+    
+    /**
+     * Quantidade de latências registradas
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+    
+    /**
+     * Latência média em microssegundos
+     */
+    public double getMediaMicros() {
+        long quantidade = total.sum();
+        return quantidade == 0 ? 0.0 : (double) somaMicros.sum() / quantidade;
+    }
+    
+    /**
+     * Obtém o percentil (0 a 100) em microssegundos, pelo limite superior da faixa
+     */
+    public long getPercentilMicros(double percentil) {
+        if (percentil < 0.0 || percentil > 100.0) {
+            throw new IllegalArgumentException("Percentil deve estar entre 0 e 100");
+        }
+        long quantidade = total.sum();
+        if (quantidade == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(quantidade * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return limiteSuperior(i);
+            }
+        }
+        return limiteSuperior(TOTAL_FAIXAS - 1);
+    }
+    
+    private static int faixa(long valor) {
+        if (valor < SUB_FAIXAS) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subFaixa = (int) (valor >>> (expoente - SUB_FAIXAS_BITS)) & (SUB_FAIXAS - 1);
+        return (expoente - SUB_FAIXAS_BITS + 1) * SUB_FAIXAS + subFaixa;
+    }
+    
+    private static long limiteSuperior(int faixa) {
+        if (faixa < SUB_FAIXAS) {
+            return faixa;
+        }
+        int expoente = faixa / SUB_FAIXAS + SUB_FAIXAS_BITS - 1;
+        long subFaixa = faixa % SUB_FAIXAS;
+        long passo = 1L << (expoente - SUB_FAIXAS_BITS);
+        return (1L << expoente) + (subFaixa + 1) * passo - 1;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("latência (µs): média=%.1f p50=%d p90=%d p99=%d p99.9=%d máx≈%d",
+                getMediaMicros(), getPercentilMicros(50), getPercentilMicros(90),
+                getPercentilMicros(99), getPercentilMicros(99.9), getPercentilMicros(100));
+    }
+}
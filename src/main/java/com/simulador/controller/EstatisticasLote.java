@@ -0,0 +1,148 @@
+package com.simulador.controller;
+
+import com.simulador.model.domain.ClassGroup;
+
+import java.util.*;
+
+/**
+ * Estatísticas agregadas de uma simulação em lote: contagem de alunos e turmas,
+ * rejeições por motivo e ocupação das turmas envolvidas.
+ * A memória usada é proporcional ao número de turmas, não ao número de alunos.
+ */
+public class EstatisticasLote {
+    
+    private long alunosProcessados;
+    private long alunosMatriculados;
+    private long turmasSolicitadas;
+    private long turmasAceitas;
+    private long conflitos;
+    private long falhasEfetivacao;
+    private final long[] rejeicoesPorMotivo;
+    private final Set<ClassGroup> turmasEnvolvidas;
+    private long duracaoNanos;
+    
+    public EstatisticasLote() {
+        this.rejeicoesPorMotivo = new long[MotivoRejeicao.values().length];
+        this.turmasEnvolvidas = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+    
+    /**
+     * Contabiliza o resultado do planejamento de um aluno
+     */
+    void registrar(PedidoLote pedido, RelatorioSimulacao relatorio, boolean matriculado) {
+        alunosProcessados++;
+        if (matriculado) {
+            alunosMatriculados++;
+            turmasAceitas += relatorio.getTurmasPlanejadas().size();
+        }
+        if (pedido.getTurmas() != null) {
+            turmasSolicitadas += pedido.getTurmas().size();
+            turmasEnvolvidas.addAll(pedido.getTurmas());
+        }
+        conflitos += relatorio.getConflitos().size();
+        for (MotivoRejeicao motivo : relatorio.getMotivosRejeicao()) {
+            rejeicoesPorMotivo[motivo.ordinal()]++;
+        }
+    }
+    
+    void registrarFalhaEfetivacao() {
+        falhasEfetivacao++;
+    }
+    
+    void setDuracaoNanos(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+    
+    public long getAlunosProcessados() {
+        return alunosProcessados;
+    }
+    
+    public long getAlunosMatriculados() {
+        return alunosMatriculados;
+    }
+    
+    public long getTurmasSolicitadas() {
+        return turmasSolicitadas;
+    }
+    
+    public long getTurmasAceitas() {
+        return turmasAceitas;
+    }
+    
+    public long getConflitos() {
+        return conflitos;
+    }
+    
+    /**
+     * Planejamentos aceitos cuja efetivação falhou por falta de vaga
+     */
+    public long getFalhasEfetivacao() {
+        return falhasEfetivacao;
+    }
+    
+    public long getRejeicoes(MotivoRejeicao motivo) {
+        return rejeicoesPorMotivo[motivo.ordinal()];
+    }
+    
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+    
+    /**
+     * Total de vagas oferecidas pelas turmas envolvidas na simulação
+     */
+    public long getVagasOferecidas() {
+        long total = 0;
+        for (ClassGroup turma : turmasEnvolvidas) {
+            total += turma.getCapacity();
+        }
+        return total;
+    }
+    
+    /**
+     * Total de vagas ocupadas nas turmas envolvidas na simulação
+     */
+    public long getVagasOcupadas() {
+        long total = 0;
+        for (ClassGroup turma : turmasEnvolvidas) {
+            total += turma.getEnrolledStudentsCount();
+        }
+        return total;
+    }
+    
+    /**
+     * Turmas envolvidas que ficaram sem vagas
+     */
+    public long getTurmasLotadas() {
+        long total = 0;
+        for (ClassGroup turma : turmasEnvolvidas) {
+            if (!turma.hasAvailableSlots()) {
+                total++;
+            }
+        }
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== ESTATÍSTICAS DA SIMULAÇÃO EM LOTE ===\n");
+        sb.append("Alunos processados: ").append(alunosProcessados)
+          .append(" (matriculados: ").append(alunosMatriculados).append(")\n");
+        sb.append("Turmas solicitadas: ").append(turmasSolicitadas)
+          .append(" (aceitas: ").append(turmasAceitas).append(")\n");
+        sb.append("Conflitos de horário: ").append(conflitos).append("\n");
+        sb.append("Rejeições por motivo:\n");
+        for (MotivoRejeicao motivo : MotivoRejeicao.values()) {
+            sb.append("  - ").append(motivo.getDescricao()).append(": ").append(getRejeicoes(motivo)).append("\n");
+        }
+        sb.append("Falhas na efetivação: ").append(falhasEfetivacao).append("\n");
+        long oferecidas = getVagasOferecidas();
+        long ocupadas = getVagasOcupadas();
+        sb.append("Ocupação das turmas: ").append(ocupadas).append("/").append(oferecidas)
+          .append(String.format(" (%.1f%%)", oferecidas == 0 ? 0.0 : 100.0 * ocupadas / oferecidas))
+          .append(", turmas lotadas: ").append(getTurmasLotadas()).append("\n");
+        sb.append(String.format("Duração: %.3fs", duracaoNanos / 1e9));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.simulador.controller;
+
+import com.simulador.model.domain.Subject;
+
+/**
+ * Motivos pelos quais uma turma pode ser rejeitada no planejamento
+ */
+public enum MotivoRejeicao {
+    CONFLITO_HORARIO("Conflito de horário"),
+    PRE_REQUISITO("Pré-requisitos não atendidos"),
+    TURMA_CHEIA("Turma cheia"),
+    CARGA_HORARIA("Carga horária excedida");
+    
+    private final String descricao;
+    
+    MotivoRejeicao(String descricao) {
+        this.descricao = descricao;
+    }
+    
+    public String getDescricao() {
+        return descricao;
+    }
+    
+    /**
+     * Monta a descrição do motivo para a disciplina da turma rejeitada
+     */
+    public String descrever(Subject disciplina) {
+        if (this == PRE_REQUISITO) {
+            return descricao + " para " + disciplina.getCode() + " - " + disciplina.getName();
+        }
+        return descricao;
+    }
+}
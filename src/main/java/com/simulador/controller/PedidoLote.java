@@ -0,0 +1,31 @@
+package com.simulador.controller;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+
+import java.util.Set;
+
+/**
+ * Registro de entrada da simulação em lote: um aluno e as turmas que ele solicita
+ */
+public class PedidoLote {
+    
+    private final Student aluno;
+    private final Set<ClassGroup> turmas;
+    
+    public PedidoLote(Student aluno, Set<ClassGroup> turmas) {
+        if (aluno == null) {
+            throw new IllegalArgumentException("Aluno não pode ser nulo");
+        }
+        this.aluno = aluno;
+        this.turmas = turmas;
+    }
+    
+    public Student getAluno() {
+        return aluno;
+    }
+    
+    public Set<ClassGroup> getTurmas() {
+        return turmas;
+    }
+}
@@ -2,10 +2,10 @@ package com.simulador.controller;
 
 import com.simulador.model.domain.*;
 import com.simulador.model.validator.*;
+import com.simulador.services.SyntheticCatalog;
 import com.simulador.services.VerifyDependencies;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Controller responsável pelo processo de matrícula e interação com o usuário.
@@ -257,6 +257,13 @@ public class Registration {
         servicoMatricula.registrarAluno(aluno);
     }
     
+    /**
+     * Inicializa o sistema com um catálogo sintético, para reproduzir cargas de produção
+     */
+    public void inicializarSistema(SyntheticCatalog catalogo) {
+        servicoMatricula.registrarCatalogo(catalogo);
+    }
+    
     /**
      * Processa a matrícula de um aluno em turmas específicas
      */
@@ -282,6 +289,32 @@ public class Registration {
         return servicoMatricula.planejar(aluno, turmasDesejadas);
     }
     
+    /**
+     * Simula a matrícula na melhor grade possível para as disciplinas informadas
+     * (maior carga horária sem conflitos; ver ServicoMatricula.planejarMelhorGrade)
+     */
+    public RelatorioSimulacao simularMelhorGrade(String matriculaAluno, List<String> codigosDisciplinas) {
+        Student aluno = servicoMatricula.getAluno(matriculaAluno);
+        if (aluno == null) {
+            RelatorioSimulacao relatorio = new RelatorioSimulacao(null);
+            relatorio.adicionarErro("Aluno não encontrado: " + matriculaAluno);
+            return relatorio;
+        }
+        
+        List<Subject> disciplinas = new ArrayList<>();
+        for (String codigo : codigosDisciplinas) {
+            Subject disciplina = servicoMatricula.getDisciplina(codigo);
+            if (disciplina == null) {
+                RelatorioSimulacao relatorio = new RelatorioSimulacao(aluno);
+                relatorio.adicionarErro("Disciplina não encontrada: " + codigo);
+                return relatorio;
+            }
+            disciplinas.add(disciplina);
+        }
+        
+        return servicoMatricula.planejarMelhorGrade(aluno, disciplinas);
+    }
+    
     /**
      * Lista todas as disciplinas disponíveis
      */
@@ -300,9 +333,7 @@ public class Registration {
      * Lista turmas de uma disciplina específica
      */
     public List<ClassGroup> listarTurmasPorDisciplina(String codigoDisciplina) {
-        return servicoMatricula.getTurmasDisponiveis().stream()
-                .filter(turma -> turma.getSubject().getCode().equals(codigoDisciplina))
-                .collect(Collectors.toList());
+        return servicoMatricula.getTurmasPorDisciplina(codigoDisciplina);
     }
     
     /**
@@ -359,7 +390,7 @@ public class Registration {
         }
         
         // Verificar pré-requisitos
-        if (!disciplina.requisitosAtendidos(aluno)) {
+        if (!servicoMatricula.requisitosAtendidos(aluno, disciplina)) {
             relatorio.adicionarErro("Pré-requisitos não atendidos para " + disciplina.getCode() + " - " + disciplina.getName());
         }
         
@@ -2,8 +2,10 @@ package com.simulador.controller;
 
 import com.simulador.model.domain.ClassGroup;
 import com.simulador.model.domain.Student;
+import com.simulador.services.ConflictPair;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -15,6 +17,11 @@ public class RelatorioSimulacao {
     private final Student aluno;
     private boolean sucesso;
     private final List<String> erros;
+    private final List<ConflictPair> conflitos;
+    private final List<ClassGroup> turmasRejeitadas;
+    private final List<MotivoRejeicao> motivosRejeicao;
+    // Quantidade de erros registrados antes de cada rejeição, para manter a ordem de inclusão
+    private final List<Integer> posicoesRejeicao;
     private final List<String> avisos;
     private final List<String> informacoes;
     private final List<ClassGroup> turmasPlanejadas;
@@ -23,6 +30,10 @@ public class RelatorioSimulacao {
         this.aluno = aluno;
         this.sucesso = false;
         this.erros = new ArrayList<>();
+        this.conflitos = new ArrayList<>();
+        this.turmasRejeitadas = new ArrayList<>();
+        this.motivosRejeicao = new ArrayList<>();
+        this.posicoesRejeicao = new ArrayList<>();
         this.avisos = new ArrayList<>();
         this.informacoes = new ArrayList<>();
         this.turmasPlanejadas = new ArrayList<>();
@@ -35,6 +46,24 @@ public class RelatorioSimulacao {
         erros.add(erro);
     }
     
+    /**
+     * Adiciona um conflito de horário ao relatório.
+     * A mensagem correspondente só é montada quando os erros são consultados.
+     */
+    public void adicionarConflito(ConflictPair conflito) {
+        conflitos.add(conflito);
+    }
+    
+    /**
+     * Registra a rejeição de uma turma no planejamento.
+     * Assim como os conflitos, a mensagem só é montada quando os erros são consultados.
+     */
+    public void adicionarRejeicao(ClassGroup turma, MotivoRejeicao motivo) {
+        turmasRejeitadas.add(turma);
+        motivosRejeicao.add(motivo);
+        posicoesRejeicao.add(erros.size());
+    }
+    
     /**
      * Adiciona um aviso ao relatório
      */
@@ -63,7 +92,7 @@ public class RelatorioSimulacao {
         this.sucesso = sucesso;
     }
     
-    // Getters
+    // Getters: as listas são visões somente leitura do relatório, sem cópia
     public Student getAluno() {
         return aluno;
     }
@@ -72,27 +101,74 @@ public class RelatorioSimulacao {
         return sucesso;
     }
     
+    /**
+     * Obtém os erros do relatório, começando pelas mensagens dos conflitos de horário; as
+     * rejeições aparecem intercaladas com os demais erros, na ordem em que foram registradas
+     */
     public List<String> getErros() {
-        return new ArrayList<>(erros);
+        List<String> todos = new ArrayList<>(conflitos.size() + erros.size() + turmasRejeitadas.size());
+        for (ConflictPair conflito : conflitos) {
+            todos.add(mensagemConflito(conflito));
+        }
+        int proximoErro = 0;
+        for (int i = 0; i < turmasRejeitadas.size(); i++) {
+            int posicao = posicoesRejeicao.get(i);
+            todos.addAll(erros.subList(proximoErro, posicao));
+            proximoErro = posicao;
+            ClassGroup turma = turmasRejeitadas.get(i);
+            todos.add("Turma " + turma.getId() + " rejeitada: " + motivosRejeicao.get(i).descrever(turma.getSubject()));
+        }
+        todos.addAll(erros.subList(proximoErro, erros.size()));
+        return todos;
+    }
+    
+    public List<ClassGroup> getTurmasRejeitadas() {
+        return Collections.unmodifiableList(turmasRejeitadas);
+    }
+    
+    /**
+     * Motivos de rejeição, na mesma ordem de getTurmasRejeitadas
+     */
+    public List<MotivoRejeicao> getMotivosRejeicao() {
+        return Collections.unmodifiableList(motivosRejeicao);
+    }
+    
+    /**
+     * Obtém o motivo de rejeição de uma turma, ou null se ela não foi rejeitada
+     */
+    public MotivoRejeicao getMotivoRejeicao(ClassGroup turma) {
+        int indice = turmasRejeitadas.indexOf(turma);
+        return indice < 0 ? null : motivosRejeicao.get(indice);
+    }
+    
+    public List<ConflictPair> getConflitos() {
+        return Collections.unmodifiableList(conflitos);
     }
     
     public List<String> getAvisos() {
-        return new ArrayList<>(avisos);
+        return Collections.unmodifiableList(avisos);
     }
     
     public List<String> getInformacoes() {
-        return new ArrayList<>(informacoes);
+        return Collections.unmodifiableList(informacoes);
     }
     
     public List<ClassGroup> getTurmasPlanejadas() {
-        return new ArrayList<>(turmasPlanejadas);
+        return Collections.unmodifiableList(turmasPlanejadas);
     }
     
     /**
      * Verifica se há erros no relatório
      */
     public boolean temErros() {
-        return !erros.isEmpty();
+        return !erros.isEmpty() || !conflitos.isEmpty() || !turmasRejeitadas.isEmpty();
+    }
+    
+    /**
+     * Verifica se alguma turma foi aceita no planejamento
+     */
+    public boolean temTurmasPlanejadas() {
+        return !turmasPlanejadas.isEmpty();
     }
     
     /**
@@ -128,9 +204,9 @@ public class RelatorioSimulacao {
             sb.append("\n");
         }
         
-        if (!erros.isEmpty()) {
+        if (temErros()) {
             sb.append("ERROS:\n");
-            for (String erro : erros) {
+            for (String erro : getErros()) {
                 sb.append("  - ").append(erro).append("\n");
             }
             sb.append("\n");
@@ -146,4 +222,8 @@ public class RelatorioSimulacao {
         
         return sb.toString();
     }
+    
+    private static String mensagemConflito(ConflictPair conflito) {
+        return "Conflito de horário: " + conflito;
+    }
 } 
\ No newline at end of file
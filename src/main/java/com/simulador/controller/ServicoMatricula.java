@@ -1,11 +1,25 @@
 package com.simulador.controller;
 
 import com.simulador.model.domain.*;
+import com.simulador.model.validator.CompiladorPreRequisitos;
+import com.simulador.model.validator.ProgramaPreRequisitos;
 import com.simulador.model.validator.ValidadorPreRequisito;
 import com.simulador.model.exceptions.CargaHorariaExcedidaException;
+import com.simulador.model.exceptions.TurmaCheiaException;
+import com.simulador.services.ConflictDetector;
+import com.simulador.services.ConflictPair;
+import com.simulador.services.EnrollmentTransactionService;
+import com.simulador.services.MultiSemesterPlanner;
+import com.simulador.services.PairwiseConflictDetector;
+import com.simulador.services.PlanScoring;
+import com.simulador.services.SchedulePlan;
+import com.simulador.services.ScheduleSolver;
+import com.simulador.services.SemesterPlan;
+import com.simulador.services.SyntheticCatalog;
 import com.simulador.services.VerifyDependencies;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -15,39 +29,137 @@ import java.util.stream.Collectors;
  */
 public class ServicoMatricula {
     
+    // Piso do limite de caches de elegibilidade; o limite efetivo cresce com os alunos registrados
+    private static final int MIN_ALUNOS_EM_CACHE = 50_000;
+    
+    /** Valor de um dia letivo livre nas grades alternativas (equivale a uma eletiva de 1h) */
+    public static final int PESO_DIA_LIVRE = 2;
+    
     private final Map<String, Subject> disciplinasRepo;
     private final Map<String, ClassGroup> turmasRepo;
     private final Map<String, Student> alunosRepo;
     private final VerifyDependencies verifyDependencies;
+    private final EnrollmentTransactionService enrollmentTransactionService;
+    private final MultiSemesterPlanner planejadorSemestres;
+    private ConflictDetector conflictDetector;
+    private volatile ProgramaCompilado preRequisitosCompilados;
+    private volatile int versaoCatalogo;
+    private final ConcurrentHashMap<Student, CacheElegibilidade> cachesElegibilidade;
+    
+    // Índices secundários de turmas, atualizados em registrarTurma. Cada registro custa O(1);
+    // as consultas leem cópias imutáveis por chave, remontadas só depois de uma alteração
+    private final IndiceTurmas<String> turmasPorDisciplina;
+    private final IndiceTurmas<Integer> turmasPorDia;
+    private final IndiceTurmas<String> turmasPorTipo;
+    
+    // Cópias imutáveis dos repositórios, descartadas a cada registro e remontadas na próxima leitura
+    private volatile List<Subject> disciplinasSnapshot;
+    private volatile List<ClassGroup> turmasSnapshot;
+    
+    // Identificadores densos atribuídos no registro, usados pelos pré-requisitos compilados e históricos
+    private DenseIdSpace ids = new DenseIdSpace();
     
     public ServicoMatricula() {
-        this.disciplinasRepo = new HashMap<>();
-        this.turmasRepo = new HashMap<>();
-        this.alunosRepo = new HashMap<>();
+        this(new PairwiseConflictDetector());
+    }
+    
+    /**
+     * Cria o serviço com uma estratégia específica de detecção de conflitos
+     * (ex.: SweepLineConflictDetector para conjuntos grandes de turmas)
+     */
+    public ServicoMatricula(ConflictDetector conflictDetector) {
+        // Repositórios concorrentes: o modo servidor consulta o serviço a partir de várias threads
+        this.disciplinasRepo = new ConcurrentHashMap<>();
+        this.turmasRepo = new ConcurrentHashMap<>();
+        this.alunosRepo = new ConcurrentHashMap<>();
         this.verifyDependencies = new VerifyDependencies();
+        this.enrollmentTransactionService = new EnrollmentTransactionService();
+        this.planejadorSemestres = new MultiSemesterPlanner();
+        this.cachesElegibilidade = new ConcurrentHashMap<>();
+        this.turmasPorDisciplina = new IndiceTurmas<>();
+        this.turmasPorDia = new IndiceTurmas<>();
+        this.turmasPorTipo = new IndiceTurmas<>();
+        setConflictDetector(conflictDetector);
+    }
+    
+    /**
+     * Define a estratégia de detecção de conflitos de horário usada em planejar
+     */
+    public void setConflictDetector(ConflictDetector conflictDetector) {
+        if (conflictDetector == null) {
+            throw new IllegalArgumentException("Detector de conflitos não pode ser nulo");
+        }
+        this.conflictDetector = conflictDetector;
+    }
+    
+    public ConflictDetector getConflictDetector() {
+        return conflictDetector;
     }
     
     /**
-     * Registra uma disciplina no sistema
+     * Registra uma disciplina no sistema, atribuindo-lhe o próximo identificador denso
+     * @throws IllegalArgumentException se a disciplina já pertence a outro catálogo
      */
-    public void registrarDisciplina(Subject disciplina) {
+    public synchronized void registrarDisciplina(Subject disciplina) {
+        ids.register(disciplina);
         disciplinasRepo.put(disciplina.getCode(), disciplina);
+        disciplinasSnapshot = null;
+        versaoCatalogo++;
     }
     
     /**
-     * Registra uma turma no sistema
+     * Registra uma turma no sistema, atribuindo-lhe o próximo identificador denso
+     * @throws IllegalArgumentException se a turma já pertence a outro catálogo
      */
-    public void registrarTurma(ClassGroup turma) {
-        turmasRepo.put(turma.getId(), turma);
+    public synchronized void registrarTurma(ClassGroup turma) {
+        ids.register(turma);
+        ClassGroup anterior = turmasRepo.put(turma.getId(), turma);
+        if (anterior == turma) {
+            return;
+        }
+        if (anterior != null) {
+            atualizarIndicesTurma(anterior, false);
+        }
+        atualizarIndicesTurma(turma, true);
+        turmasSnapshot = null;
     }
     
     /**
-     * Registra um aluno no sistema
+     * Registra um aluno no sistema, atribuindo-lhe o próximo identificador denso
+     * @throws IllegalArgumentException se o aluno já pertence a outro catálogo
      */
-    public void registrarAluno(Student aluno) {
+    public synchronized void registrarAluno(Student aluno) {
+        ids.register(aluno);
         alunosRepo.put(aluno.getRegistration(), aluno);
     }
     
+    /**
+     * Registra as disciplinas, turmas e alunos de um catálogo sintético. Em um serviço ainda vazio,
+     * os identificadores já atribuídos pelo catálogo são reaproveitados
+     * @throws IllegalArgumentException se o serviço já tem registros de outro catálogo
+     */
+    public synchronized void registrarCatalogo(SyntheticCatalog catalogo) {
+        if (disciplinasRepo.isEmpty() && turmasRepo.isEmpty() && alunosRepo.isEmpty()) {
+            ids = catalogo.getIdSpace();
+        }
+        catalogo.getSubjects().forEach(this::registrarDisciplina);
+        catalogo.getClassGroups().forEach(this::registrarTurma);
+        catalogo.getStudents().forEach(this::registrarAluno);
+    }
+    
+    private void atualizarIndicesTurma(ClassGroup turma, boolean incluir) {
+        Subject disciplina = turma.getSubject();
+        turmasPorDisciplina.atualizar(disciplina.getCode(), turma, incluir);
+        turmasPorTipo.atualizar(disciplina.getType(), turma, incluir);
+        Set<Integer> dias = new TreeSet<>();
+        for (Schedule horario : turma.getSchedules()) {
+            dias.add(horario.getDayOfWeek());
+        }
+        for (Integer dia : dias) {
+            turmasPorDia.atualizar(dia, turma, incluir);
+        }
+    }
+    
     /**
      * Planeja a matrícula de um aluno em um conjunto de turmas
      */
@@ -64,71 +176,56 @@ public class ServicoMatricula {
         }
         
         // Verificar conflitos de horário entre as turmas
-        List<String> conflitosHorario = verificarConflitosHorario(turmasDesejadas);
+        List<ConflictPair> conflitosHorario = detectarConflitos(turmasDesejadas);
         Set<ClassGroup> turmasComConflito = new HashSet<>();
-        if (!conflitosHorario.isEmpty()) {
-            for (String conflito : conflitosHorario) {
-                relatorio.adicionarErro("Conflito de horário: " + conflito);
-                // Marcar as turmas envolvidas no conflito
-                String[] partes = conflito.split(" ");
-                if (partes.length >= 4) {
-                    String id1 = partes[0].substring(partes[0].indexOf("(") + 1, partes[0].indexOf(")"));
-                    String id2 = partes[3].substring(partes[3].indexOf("(") + 1, partes[3].indexOf(")"));
-                    for (ClassGroup turma : turmasDesejadas) {
-                        if (turma.getId().equals(id1) || turma.getId().equals(id2)) {
-                            turmasComConflito.add(turma);
-                        }
-                    }
-                }
-            }
+        for (ConflictPair conflito : conflitosHorario) {
+            relatorio.adicionarConflito(conflito);
+            // Marcar as turmas envolvidas no conflito
+            turmasComConflito.add(conflito.getFirst());
+            turmasComConflito.add(conflito.getSecond());
         }
         
         int cargaHorariaAcumulada = aluno.getFuturePlanningWeeklyHours();
         for (ClassGroup turma : turmasDesejadas) {
             Subject disciplina = turma.getSubject();
-            boolean aceita = true;
-            String motivoRejeicao = "";
+            MotivoRejeicao motivoRejeicao = null;
             
             // Se está em conflito, rejeita
             if (turmasComConflito.contains(turma)) {
-                aceita = false;
-                motivoRejeicao = "Conflito de horário";
+                motivoRejeicao = MotivoRejeicao.CONFLITO_HORARIO;
             }
             // Se já cursou, apenas avisa
             if (aluno.hasCompletedSubject(disciplina)) {
                 relatorio.adicionarAviso("Aluno já cursou esta disciplina: " + disciplina.getCode() + " - " + disciplina.getName() + " (Nota: " + aluno.getGrade(disciplina) + ")");
             }
             // Pré-requisitos
-            List<String> errosPre = verificarPreRequisitos(aluno, disciplina);
-            if (!errosPre.isEmpty()) {
-                aceita = false;
-                motivoRejeicao = String.join("; ", errosPre);
+            if (!requisitosAtendidos(aluno, disciplina)) {
+                motivoRejeicao = MotivoRejeicao.PRE_REQUISITO;
             }
             // Capacidade da turma
             if (!turma.hasAvailableSlots()) {
-                aceita = false;
-                motivoRejeicao = "Turma cheia";
+                motivoRejeicao = MotivoRejeicao.TURMA_CHEIA;
             }
             // Carga horária
-            if (aceita && (cargaHorariaAcumulada + disciplina.getWeeklyHours() > aluno.getMaxWeeklyHours())) {
-                aceita = false;
-                motivoRejeicao = "Carga horária excedida";
+            int horasDisciplina = disciplina.getWeeklyHours();
+            if (motivoRejeicao == null && (cargaHorariaAcumulada + horasDisciplina > aluno.getMaxWeeklyHours())) {
+                motivoRejeicao = MotivoRejeicao.CARGA_HORARIA;
             }
             // Adiciona ao relatório
-            if (aceita) {
+            if (motivoRejeicao == null) {
                 try {
                     aluno.addToFuturePlanning(disciplina);
                     relatorio.adicionarTurmaPlanejada(turma);
-                    cargaHorariaAcumulada += disciplina.getWeeklyHours();
+                    cargaHorariaAcumulada += horasDisciplina;
                 } catch (CargaHorariaExcedidaException e) {
                     relatorio.adicionarErro("Carga horária excedida: " + e.getMessage());
                 }
             } else {
-                relatorio.adicionarErro("Turma " + turma.getId() + " rejeitada: " + motivoRejeicao);
+                relatorio.adicionarRejeicao(turma, motivoRejeicao);
             }
         }
         // Status final
-        if (!relatorio.getTurmasPlanejadas().isEmpty()) {
+        if (relatorio.temTurmasPlanejadas()) {
             relatorio.setSucesso(true);
         } else {
             relatorio.setSucesso(false);
@@ -137,47 +234,159 @@ public class ServicoMatricula {
     }
     
     /**
-     * Verifica conflitos de horário entre as turmas
+     * Planeja a melhor grade para as disciplinas desejadas, maximizando a carga horária
+     * (ver planejarMelhorGrade(Student, Collection, PlanScoring))
      */
-    private List<String> verificarConflitosHorario(Set<ClassGroup> turmas) {
-        List<String> conflitos = new ArrayList<>();
-        List<ClassGroup> turmasList = new ArrayList<>(turmas);
+    public RelatorioSimulacao planejarMelhorGrade(Student aluno, Collection<Subject> disciplinasDesejadas) {
+        return planejarMelhorGrade(aluno, disciplinasDesejadas, PlanScoring.HOURS);
+    }
+    
+    /**
+     * Planeja a melhor grade para as disciplinas desejadas: entre as turmas com vagas das
+     * disciplinas cujos pré-requisitos o aluno atende, o ScheduleSolver escolhe o conjunto sem
+     * conflitos de maior valor que cabe nas horas restantes do aluno. As turmas escolhidas
+     * passam por planejar, que registra o planejamento e monta o relatório
+     */
+    public RelatorioSimulacao planejarMelhorGrade(Student aluno, Collection<Subject> disciplinasDesejadas,
+                                                  PlanScoring criterio) {
+        if (aluno == null) {
+            RelatorioSimulacao relatorio = new RelatorioSimulacao(null);
+            relatorio.adicionarErro("Aluno não pode ser nulo");
+            return relatorio;
+        }
+        if (disciplinasDesejadas == null || disciplinasDesejadas.isEmpty()) {
+            RelatorioSimulacao relatorio = new RelatorioSimulacao(aluno);
+            relatorio.adicionarErro("Deve ser fornecida pelo menos uma disciplina para planejamento");
+            return relatorio;
+        }
         
-        for (int i = 0; i < turmasList.size(); i++) {
-            for (int j = i + 1; j < turmasList.size(); j++) {
-                ClassGroup turma1 = turmasList.get(i);
-                ClassGroup turma2 = turmasList.get(j);
-                
-                if (turma1.conflictsWith(turma2)) {
-                    conflitos.add(turma1.getSubject().getCode() + " (" + turma1.getId() + 
-                                ") conflita com " + turma2.getSubject().getCode() + " (" + turma2.getId() + ")");
+        List<String> avisos = new ArrayList<>();
+        List<String> erros = new ArrayList<>();
+        Set<Subject> elegiveis = new LinkedHashSet<>();
+        List<ClassGroup> candidatas = turmasCandidatas(aluno, disciplinasDesejadas, elegiveis, avisos, erros);
+        
+        SchedulePlan plano = new ScheduleSolver(criterio).solve(candidatas, aluno.getRemainingWeeklyHours());
+        RelatorioSimulacao relatorio;
+        if (plano.isEmpty()) {
+            relatorio = new RelatorioSimulacao(aluno);
+            relatorio.adicionarErro("Nenhuma turma das disciplinas desejadas cabe na grade do aluno");
+        } else {
+            relatorio = planejar(aluno, new LinkedHashSet<>(plano.getClassGroups()));
+            relatorio.adicionarInfo("Valor da grade: " + plano.getScore() + " (" + plano.getWeeklyHours() + "h)");
+        }
+        for (ClassGroup turma : plano.getClassGroups()) {
+            elegiveis.remove(turma.getSubject());
+        }
+        for (Subject disciplina : elegiveis) {
+            avisos.add("Disciplina fora da melhor grade (sem turma compatível, com vagas e dentro da carga horária): "
+                    + disciplina.getCode());
+        }
+        avisos.forEach(relatorio::adicionarAviso);
+        erros.forEach(relatorio::adicionarErro);
+        return relatorio;
+    }
+    
+    /**
+     * As melhores grades alternativas para as disciplinas desejadas, em ordem decrescente de
+     * valor: carga horária ponderada pela precedência (obrigatórias primeiro) mais PESO_DIA_LIVRE
+     * por dia letivo sem aulas. Só entram disciplinas em que o aluno ainda não foi aprovado e cujos
+     * pré-requisitos ele atende. Nada é registrado no planejamento do aluno
+     */
+    public List<SchedulePlan> alternativasDeGrade(Student aluno, Collection<Subject> disciplinasDesejadas, int quantidade) {
+        if (aluno == null) {
+            throw new IllegalArgumentException("Aluno não pode ser nulo");
+        }
+        List<ClassGroup> candidatas = turmasCandidatas(aluno, disciplinasDesejadas, new HashSet<>(),
+                new ArrayList<>(), new ArrayList<>());
+        return new ScheduleSolver(PlanScoring.PRECEDENCE_WEIGHTED, PESO_DIA_LIVRE)
+                .solveTopK(candidatas, aluno.getRemainingWeeklyHours(), quantidade);
+    }
+    
+    /**
+     * Planeja os períodos até a conclusão de todas as disciplinas obrigatórias do catálogo em que
+     * o aluno ainda não foi aprovado (ver planejarSemestres(Student, Collection))
+     */
+    public SemesterPlan planejarSemestres(Student aluno) {
+        List<Subject> obrigatorias = new ArrayList<>();
+        for (Subject disciplina : getDisciplinasDisponiveis()) {
+            if (disciplina instanceof RequiredSubject) {
+                obrigatorias.add(disciplina);
+            }
+        }
+        return planejarSemestres(aluno, obrigatorias);
+    }
+    
+    /**
+     * Planeja o menor número de períodos até a aprovação nas disciplinas-alvo, com a carga horária
+     * máxima do aluno em cada período. Considera pré-requisitos e co-requisitos, mas não conflitos
+     * de horário: as turmas dos próximos períodos ainda não existem. Nada é registrado no
+     * planejamento do aluno
+     */
+    public SemesterPlan planejarSemestres(Student aluno, Collection<Subject> alvos) {
+        if (aluno == null) {
+            throw new IllegalArgumentException("Aluno não pode ser nulo");
+        }
+        return planejadorSemestres.plan(getPreRequisitosCompilados(), aluno, alvos);
+    }
+    
+    /**
+     * Turmas das disciplinas desejadas que o aluno pode cursar; as disciplinas aceitas vão para
+     * {@code elegiveis} e as recusadas geram um aviso (já aprovada) ou um erro (pré-requisitos)
+     */
+    private List<ClassGroup> turmasCandidatas(Student aluno, Collection<Subject> disciplinasDesejadas,
+                                              Set<Subject> elegiveis, List<String> avisos, List<String> erros) {
+        List<ClassGroup> candidatas = new ArrayList<>();
+        for (Subject disciplina : disciplinasDesejadas) {
+            if (aluno.hasPassedSubject(disciplina)) {
+                avisos.add("Aluno já foi aprovado nesta disciplina: " + disciplina.getCode() + " - " + disciplina.getName());
+            } else if (!requisitosAtendidos(aluno, disciplina)) {
+                erros.add("Pré-requisitos não atendidos para " + disciplina.getCode() + " - " + disciplina.getName());
+            } else if (elegiveis.add(disciplina)) {
+                for (ClassGroup turma : getTurmasPorDisciplina(disciplina.getCode())) {
+                    if (turma.getSubject() == disciplina) {
+                        candidatas.add(turma);
+                    }
                 }
             }
         }
-        
-        return conflitos;
+        return candidatas;
     }
     
     /**
-     * Verifica se o aluno atende aos pré-requisitos de uma disciplina
+     * Detecta os pares de turmas conflitantes usando a estratégia configurada
      */
-    private List<String> verificarPreRequisitos(Student aluno, Subject disciplina) {
-        List<String> erros = new ArrayList<>();
-        
-        if (!disciplina.requisitosAtendidos(aluno)) {
-            erros.add("Pré-requisitos não atendidos para " + disciplina.getCode() + " - " + disciplina.getName());
+    public List<ConflictPair> detectarConflitos(Collection<ClassGroup> turmas) {
+        return conflictDetector.detectConflicts(turmas);
+    }
+    
+    /**
+     * Matricula o aluno nas turmas de forma atômica: ocupa vaga em todas ou em nenhuma
+     * @throws TurmaCheiaException se alguma das turmas não puder receber o aluno
+     */
+    public void matricularEmTurmas(Student aluno, Collection<ClassGroup> turmas) throws TurmaCheiaException {
+        enrollmentTransactionService.enrollAll(aluno, turmas);
+    }
+    
+    /**
+     * Efetiva a matrícula nas turmas aceitas em uma simulação
+     * @throws TurmaCheiaException se alguma das turmas planejadas não puder receber o aluno
+     */
+    public void efetivarMatricula(RelatorioSimulacao relatorio) throws TurmaCheiaException {
+        if (relatorio == null) {
+            throw new IllegalArgumentException("Relatório não pode ser nulo");
         }
-        
-        return erros;
+        matricularEmTurmas(relatorio.getAluno(), relatorio.getTurmasPlanejadas());
     }
     
     /**
-     * Calcula a carga horária total das turmas
+     * Remove do planejamento futuro do aluno as disciplinas aceitas em uma simulação
+     * (ex.: quando a efetivação da matrícula falha)
      */
-    private int calcularCargaHorariaTotal(Set<ClassGroup> turmas) {
-        return turmas.stream()
-                .mapToInt(turma -> turma.getSubject().getWeeklyHours())
-                .sum();
+    public void desfazerPlanejamento(RelatorioSimulacao relatorio) {
+        Student aluno = relatorio.getAluno();
+        for (ClassGroup turma : relatorio.getTurmasPlanejadas()) {
+            aluno.removeFromFuturePlanning(turma.getSubject());
+        }
     }
     
     /**
@@ -198,7 +407,7 @@ public class ServicoMatricula {
         }
         
         // Planejamento futuro
-        relatorio.adicionarInfo("Disciplinas no planejamento: " + aluno.getFuturePlanning().size());
+        relatorio.adicionarInfo("Disciplinas no planejamento: " + aluno.getFuturePlanningCount());
         for (Subject disciplina : aluno.getFuturePlanning()) {
             relatorio.adicionarInfo("  " + disciplina.getCode() + " - " + disciplina.getName());
         }
@@ -211,17 +420,184 @@ public class ServicoMatricula {
     }
     
     /**
-     * Obtém todas as disciplinas disponíveis
+     * Obtém todas as disciplinas disponíveis (lista imutável, compartilhada até o próximo registro)
      */
     public List<Subject> getDisciplinasDisponiveis() {
-        return new ArrayList<>(disciplinasRepo.values());
+        List<Subject> disciplinas = disciplinasSnapshot;
+        return disciplinas != null ? disciplinas : montarDisciplinasSnapshot();
+    }
+    
+    private synchronized List<Subject> montarDisciplinasSnapshot() {
+        if (disciplinasSnapshot == null) {
+            disciplinasSnapshot = List.copyOf(disciplinasRepo.values());
+        }
+        return disciplinasSnapshot;
+    }
+    
+    /**
+     * Disciplinas do catálogo cujos pré-requisitos o aluno atende.
+     * Usa os pré-requisitos compilados (ver getPreRequisitosCompilados)
+     */
+    public List<Subject> disciplinasElegiveis(Student aluno) {
+        return getPreRequisitosCompilados().disciplinasElegiveis(aluno);
+    }
+    
+    /**
+     * Programa com os pré-requisitos de todas as disciplinas registradas, recompilado quando
+     * uma disciplina é registrada ou os validadores de alguma disciplina são trocados
+     */
+    public ProgramaPreRequisitos getPreRequisitosCompilados() {
+        ProgramaCompilado compilado = preRequisitosCompilados;
+        if (compilado == null || compilado.versaoCatalogo != versaoCatalogo
+                || compilado.programa.isRegrasAlteradas()) {
+            // A versão é lida antes da cópia do catálogo: um registro concorrente força nova compilação
+            int versao = versaoCatalogo;
+            compilado = new ProgramaCompilado(
+                    CompiladorPreRequisitos.compilar(getDisciplinasDisponiveis()), versao);
+            preRequisitosCompilados = compilado;
+        }
+        return compilado.programa;
+    }
+    
+    /**
+     * Verifica os pré-requisitos da disciplina para o aluno, reaproveitando o resultado enquanto
+     * o histórico do aluno, o catálogo e as regras não mudarem. Disciplinas não registradas
+     * são avaliadas diretamente pelos validadores
+     */
+    public boolean requisitosAtendidos(Student aluno, Subject disciplina) {
+        ProgramaPreRequisitos programa = getPreRequisitosCompilados();
+        int indice = programa.getIndice(disciplina);
+        if (indice < 0) {
+            return disciplina.requisitosAtendidos(aluno);
+        }
+        return cacheElegibilidade(aluno).atendidos(programa, aluno, indice);
+    }
+    
+    private CacheElegibilidade cacheElegibilidade(Student aluno) {
+        CacheElegibilidade cache = cachesElegibilidade.get(aluno);
+        if (cache == null) {
+            int limite = Math.max(MIN_ALUNOS_EM_CACHE, alunosRepo.size());
+            if (cachesElegibilidade.size() >= limite) {
+                // Todos os alunos registrados cabem no cache; só consultas de alunos avulsos
+                // chegam aqui, e então descarta-se um oitavo das entradas em vez de tudo
+                descartarCaches(limite / 8);
+            }
+            cache = cachesElegibilidade.computeIfAbsent(aluno, chave -> new CacheElegibilidade());
+        }
+        return cache;
+    }
+    
+    private void descartarCaches(int quantidade) {
+        Iterator<Student> alunos = cachesElegibilidade.keySet().iterator();
+        for (int i = 0; i < quantidade && alunos.hasNext(); i++) {
+            alunos.next();
+            alunos.remove();
+        }
+    }
+    
+    /**
+     * Disciplinas que o aluno passaria a atender se fosse aprovado na disciplina informada.
+     * Usa o índice reverso de pré-requisitos: o custo é proporcional às disciplinas que
+     * dependem dela, não ao tamanho do catálogo
+     */
+    public List<Subject> disciplinasDesbloqueadas(Student aluno, Subject disciplina) {
+        ProgramaPreRequisitos programa = getPreRequisitosCompilados();
+        int indice = programa.getIndice(disciplina);
+        if (indice < 0) {
+            return new ArrayList<>();
+        }
+        return programa.desbloqueadasPor(indice, aluno);
     }
     
     /**
-     * Obtém todas as turmas disponíveis
+     * Consultas de elegibilidade do aluno respondidas pelo cache (para diagnóstico)
+     */
+    public long getAcertosCacheElegibilidade(Student aluno) {
+        CacheElegibilidade cache = cachesElegibilidade.get(aluno);
+        return cache == null ? 0 : cache.getAcertos();
+    }
+    
+    /**
+     * Índice de turmas por chave. As listas mutáveis só são alteradas sob o monitor do índice;
+     * as consultas recebem uma cópia imutável por chave, descartada a cada alteração daquela chave
+     */
+    private static final class IndiceTurmas<K> {
+        private final Map<K, List<ClassGroup>> turmas = new HashMap<>();
+        private final ConcurrentHashMap<K, List<ClassGroup>> copias = new ConcurrentHashMap<>();
+        
+        synchronized void atualizar(K chave, ClassGroup turma, boolean incluir) {
+            if (incluir) {
+                turmas.computeIfAbsent(chave, k -> new ArrayList<>()).add(turma);
+            } else {
+                List<ClassGroup> lista = turmas.get(chave);
+                if (lista == null || !lista.remove(turma)) {
+                    return;
+                }
+            }
+            copias.remove(chave);
+        }
+        
+        List<ClassGroup> consultar(K chave) {
+            List<ClassGroup> copia = copias.get(chave);
+            return copia != null ? copia : montarCopia(chave);
+        }
+        
+        private synchronized List<ClassGroup> montarCopia(K chave) {
+            List<ClassGroup> lista = turmas.get(chave);
+            if (lista == null) {
+                return Collections.emptyList();
+            }
+            return copias.computeIfAbsent(chave, k -> List.copyOf(lista));
+        }
+    }
+    
+    /**
+     * Programa de pré-requisitos e a versão do catálogo usada na compilação
+     */
+    private static final class ProgramaCompilado {
+        private final ProgramaPreRequisitos programa;
+        private final int versaoCatalogo;
+        
+        ProgramaCompilado(ProgramaPreRequisitos programa, int versaoCatalogo) {
+            this.programa = programa;
+            this.versaoCatalogo = versaoCatalogo;
+        }
+    }
+    
+    /**
+     * Obtém todas as turmas disponíveis (lista imutável, compartilhada até o próximo registro)
      */
     public List<ClassGroup> getTurmasDisponiveis() {
-        return new ArrayList<>(turmasRepo.values());
+        List<ClassGroup> turmas = turmasSnapshot;
+        return turmas != null ? turmas : montarTurmasSnapshot();
+    }
+    
+    private synchronized List<ClassGroup> montarTurmasSnapshot() {
+        if (turmasSnapshot == null) {
+            turmasSnapshot = List.copyOf(turmasRepo.values());
+        }
+        return turmasSnapshot;
+    }
+    
+    /**
+     * Turmas de uma disciplina, em ordem de registro (lista somente leitura)
+     */
+    public List<ClassGroup> getTurmasPorDisciplina(String codigoDisciplina) {
+        return turmasPorDisciplina.consultar(codigoDisciplina);
+    }
+    
+    /**
+     * Turmas com aula no dia da semana informado (1 = segunda ... 7 = domingo)
+     */
+    public List<ClassGroup> getTurmasPorDia(int diaDaSemana) {
+        return turmasPorDia.consultar(diaDaSemana);
+    }
+    
+    /**
+     * Turmas de disciplinas do tipo informado (ex.: "Obrigatória", "Eletiva", "Optativa")
+     */
+    public List<ClassGroup> getTurmasPorTipo(String tipoDisciplina) {
+        return turmasPorTipo.consultar(tipoDisciplina);
     }
     
     /**
@@ -259,6 +635,8 @@ public class ServicoMatricula {
         }
         
         Student aluno = relatorio.getAluno();
+        int versaoAnterior = aluno.getTranscriptVersion();
+        List<Subject> adicionadas = new ArrayList<>();
         
         // Adicionar disciplinas aceitas ao histórico do aluno
         for (ClassGroup turma : relatorio.getTurmasPlanejadas()) {
@@ -267,12 +645,19 @@ public class ServicoMatricula {
             // Verificar se o aluno já cursou esta disciplina
             if (!aluno.hasCompletedSubject(disciplina)) {
                 aluno.addCompletedSubject(disciplina, nota);
+                adicionadas.add(disciplina);
                 System.out.println("✓ Disciplina " + disciplina.getCode() + " adicionada ao histórico com nota " + nota);
             } else {
                 System.out.println("⚠ Disciplina " + disciplina.getCode() + " já estava no histórico (nota: " + aluno.getGrade(disciplina) + ")");
             }
         }
         
+        // Reavaliar apenas as disciplinas afetadas pelas novas notas
+        CacheElegibilidade cache = cachesElegibilidade.get(aluno);
+        if (cache != null) {
+            cache.registrarNotas(getPreRequisitosCompilados(), aluno, versaoAnterior, adicionadas);
+        }
+        
         // Limpar o planejamento futuro, já que as disciplinas foram cursadas
         for (ClassGroup turma : relatorio.getTurmasPlanejadas()) {
             aluno.removeFromFuturePlanning(turma.getSubject());
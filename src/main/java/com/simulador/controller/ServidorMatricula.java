@@ -0,0 +1,197 @@
+package com.simulador.controller;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.exceptions.TurmaCheiaException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Modo servidor de matrícula em massa. Lê pedidos em linhas de texto, processa cada
+ * pedido em uma thread virtual e responde uma linha por pedido.
+ *
+ * Protocolo de entrada: {@code <matricula> <TURMA1>,<TURMA2>,...}
+ * Respostas: {@code <matricula> OK <turmas matriculadas>} ou {@code <matricula> FALHA <motivo>}
+ *
+ * Pedidos de um mesmo aluno são serializados por um bloqueio por aluno; pedidos de alunos
+ * diferentes rodam em paralelo e disputam vagas apenas pelos contadores atômicos das turmas.
+ */
+public class ServidorMatricula {
+
+    private static final int MAX_PEDIDOS_EM_ANDAMENTO = 10_000;
+
+    private final Registration registration;
+    private final Supplier<ExecutorService> fabricaExecutor;
+    private final ConcurrentHashMap<String, ReentrantLock> bloqueiosPorAluno;
+    private final EstatisticasLatencia latencias;
+    private final LongAdder aceitos;
+    private final LongAdder recusados;
+    private long duracaoNanos;
+
+    public ServidorMatricula(Registration registration) {
+        this(registration, Executors::newVirtualThreadPerTaskExecutor);
+    }
+
+    /**
+     * Cria o servidor com uma fábrica de executores específica (ex.: para testes)
+     */
+    public ServidorMatricula(Registration registration, Supplier<ExecutorService> fabricaExecutor) {
+        this.registration = registration;
+        this.fabricaExecutor = fabricaExecutor;
+        this.bloqueiosPorAluno = new ConcurrentHashMap<>();
+        this.latencias = new EstatisticasLatencia();
+        this.aceitos = new LongAdder();
+        this.recusados = new LongAdder();
+    }
+
+    /**
+     * Processa todos os pedidos da entrada até o fim do fluxo, escrevendo as respostas na saída
+     */
+    public void executar(BufferedReader entrada, PrintWriter saida) throws IOException {
+        ReentrantLock bloqueioSaida = new ReentrantLock();
+        Semaphore emAndamento = new Semaphore(MAX_PEDIDOS_EM_ANDAMENTO);
+        long inicio = System.nanoTime();
+
+        ExecutorService executor = fabricaExecutor.get();
+        try {
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                String pedido = linha;
+                emAndamento.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        String resposta = processarPedido(pedido);
+                        bloqueioSaida.lock();
+                        try {
+                            saida.println(resposta);
+                        } finally {
+                            bloqueioSaida.unlock();
+                        }
+                    } finally {
+                        emAndamento.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            aguardarTermino(executor);
+        }
+
+        duracaoNanos = System.nanoTime() - inicio;
+        saida.flush();
+    }
+
+    private static void aguardarTermino(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // continua aguardando os pedidos em andamento
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Processa um único pedido e retorna a linha de resposta
+     */
+    String processarPedido(String pedido) {
+        long inicio = System.nanoTime();
+        String[] partes = pedido.trim().split("\\s+", 2);
+        String matricula = partes[0];
+        String resposta;
+
+        if (partes.length < 2) {
+            resposta = matricula + " FALHA Nenhuma turma informada";
+        } else {
+            List<String> idsTurmas = new ArrayList<>();
+            for (String id : partes[1].split(",")) {
+                if (!id.isBlank()) {
+                    idsTurmas.add(id.trim());
+                }
+            }
+            ReentrantLock bloqueio = bloqueiosPorAluno.computeIfAbsent(matricula, chave -> new ReentrantLock());
+            bloqueio.lock();
+            try {
+                resposta = matricular(matricula, idsTurmas);
+            } finally {
+                bloqueio.unlock();
+            }
+        }
+
+        latencias.registrar(System.nanoTime() - inicio);
+        return resposta;
+    }
+
+    private String matricular(String matricula, List<String> idsTurmas) {
+        RelatorioSimulacao relatorio = registration.processarMatricula(matricula, idsTurmas);
+        if (!relatorio.isSucesso()) {
+            recusados.increment();
+            List<String> erros = relatorio.getErros();
+            return matricula + " FALHA " + (erros.isEmpty() ? "Nenhuma turma aceita" : erros.get(0));
+        }
+
+        try {
+            registration.getServicoMatricula().efetivarMatricula(relatorio);
+        } catch (TurmaCheiaException e) {
+            // As vagas acabaram entre o planejamento e a efetivação: desfaz o planejamento
+            registration.getServicoMatricula().desfazerPlanejamento(relatorio);
+            recusados.increment();
+            return matricula + " FALHA " + e.getMessage();
+        }
+
+        aceitos.increment();
+        StringBuilder sb = new StringBuilder(matricula).append(" OK");
+        String separador = " ";
+        for (ClassGroup turma : relatorio.getTurmasPlanejadas()) {
+            sb.append(separador).append(turma.getId());
+            separador = ",";
+        }
+        return sb.toString();
+    }
+
+    public EstatisticasLatencia getLatencias() {
+        return latencias;
+    }
+
+    public long getAceitos() {
+        return aceitos.sum();
+    }
+
+    public long getRecusados() {
+        return recusados.sum();
+    }
+
+    /**
+     * Vazão da última execução, em pedidos por segundo
+     */
+    public double getVazao() {
+        if (duracaoNanos == 0) {
+            return 0.0;
+        }
+        return latencias.getTotal() / (duracaoNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Resumo de desempenho da última execução
+     */
+    public String resumo() {
+        return String.format("Pedidos: %d (aceitos: %d, recusados: %d) em %.3fs | vazão: %.0f pedidos/s | %s",
+                latencias.getTotal(), getAceitos(), getRecusados(),
+                duracaoNanos / (double) TimeUnit.SECONDS.toNanos(1), getVazao(), latencias);
+    }
+}
@@ -0,0 +1,97 @@
+package com.simulador.controller;
+
+import com.simulador.model.exceptions.TurmaCheiaException;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Motor de simulação em lote para uma turma de ingresso inteira.
+ *
+ * Os pedidos são lidos de um fluxo em janelas de tamanho fixo; cada janela é ordenada
+ * pela prioridade configurada, planejada com ServicoMatricula.planejar e efetivada nas
+ * turmas. Os relatórios individuais são entregues ao consumidor e descartados, de modo
+ * que a memória usada depende do tamanho da janela e não do tamanho da coorte.
+ * Para uma ordenação global exata, basta usar uma janela maior que a coorte.
+ */
+public class SimulacaoLote {
+    
+    /** Prioridade para alunos com mais créditos acumulados */
+    public static final Comparator<PedidoLote> POR_CREDITOS =
+            Comparator.comparingInt((PedidoLote pedido) -> pedido.getAluno().getCreditosAcumulados()).reversed();
+    
+    /** Mantém a ordem de chegada dos pedidos */
+    public static final Comparator<PedidoLote> ORDEM_DE_CHEGADA = (a, b) -> 0;
+    
+    public static final int JANELA_PADRAO = 4096;
+    
+    private final ServicoMatricula servicoMatricula;
+    private final Comparator<PedidoLote> prioridade;
+    private final int tamanhoJanela;
+    
+    public SimulacaoLote(ServicoMatricula servicoMatricula) {
+        this(servicoMatricula, POR_CREDITOS, JANELA_PADRAO);
+    }
+    
+    public SimulacaoLote(ServicoMatricula servicoMatricula, Comparator<PedidoLote> prioridade, int tamanhoJanela) {
+        if (servicoMatricula == null) {
+            throw new IllegalArgumentException("Serviço de matrícula não pode ser nulo");
+        }
+        if (prioridade == null) {
+            throw new IllegalArgumentException("Prioridade não pode ser nula; use ORDEM_DE_CHEGADA");
+        }
+        if (tamanhoJanela <= 0) {
+            throw new IllegalArgumentException("Tamanho da janela deve ser positivo");
+        }
+        this.servicoMatricula = servicoMatricula;
+        this.prioridade = prioridade;
+        this.tamanhoJanela = tamanhoJanela;
+    }
+    
+    /**
+     * Executa a simulação sobre todos os pedidos da entrada
+     * @param entrada fluxo de pedidos (lido sob demanda)
+     * @param saida consumidor dos relatórios individuais, na ordem de processamento
+     * @return estatísticas agregadas da simulação
+     */
+    public EstatisticasLote executar(Iterator<PedidoLote> entrada, Consumer<RelatorioSimulacao> saida) {
+        EstatisticasLote estatisticas = new EstatisticasLote();
+        List<PedidoLote> janela = new ArrayList<>(Math.min(tamanhoJanela, JANELA_PADRAO));
+        long inicio = System.nanoTime();
+        
+        while (entrada.hasNext()) {
+            janela.add(entrada.next());
+            if (janela.size() == tamanhoJanela) {
+                processarJanela(janela, estatisticas, saida);
+            }
+        }
+        processarJanela(janela, estatisticas, saida);
+        
+        estatisticas.setDuracaoNanos(System.nanoTime() - inicio);
+        return estatisticas;
+    }
+    
+    private void processarJanela(List<PedidoLote> janela, EstatisticasLote estatisticas,
+                                 Consumer<RelatorioSimulacao> saida) {
+        // List.sort é estável: pedidos de mesma prioridade mantêm a ordem de chegada
+        janela.sort(prioridade);
+        for (PedidoLote pedido : janela) {
+            RelatorioSimulacao relatorio = servicoMatricula.planejar(pedido.getAluno(), pedido.getTurmas());
+            boolean matriculado = false;
+            if (relatorio.isSucesso()) {
+                try {
+                    servicoMatricula.efetivarMatricula(relatorio);
+                    matriculado = true;
+                } catch (TurmaCheiaException e) {
+                    servicoMatricula.desfazerPlanejamento(relatorio);
+                    relatorio.setSucesso(false);
+                    relatorio.adicionarErro("Matrícula não efetivada: " + e.getMessage());
+                    estatisticas.registrarFalhaEfetivacao();
+                }
+            }
+            estatisticas.registrar(pedido, relatorio, matriculado);
+            saida.accept(relatorio);
+        }
+        janela.clear();
+    }
+}
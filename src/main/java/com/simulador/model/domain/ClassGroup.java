@@ -2,13 +2,25 @@ package com.simulador.model.domain;
 
 import com.simulador.model.exceptions.TurmaCheiaException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ClassGroup {
+    // Atribuídos por DenseIdSpace.register; o espaço é publicado depois do identificador
+    volatile int denseId = -1;
+    volatile DenseIdSpace idSpace;
     private final String id;
     private final Subject subject;
     private final int capacity;
     private final List<Schedule> schedules;
+    private final TimetableMask occupancy;
     private final Set<Student> enrolledStudents;
+    private final Set<Student> enrolledStudentsView;
+    private final AtomicInteger occupiedSlots;
+    // Lista de espera em ordem de chegada; a fila e o conjunto são protegidos pelo monitor da fila
+    private final Deque<Student> waitlist;
+    private final Set<Student> waitlisted;
 
     public ClassGroup(String id, Subject subject, int capacity, List<Schedule> schedules) {
         this.id = id;
@@ -18,7 +30,20 @@ public class ClassGroup {
             throw new IllegalArgumentException("at least one schedule is required");
         this.capacity = capacity;
         this.schedules = List.copyOf(schedules);
-        this.enrolledStudents = new HashSet<>();
+        this.occupancy = TimetableMask.of(this.schedules);
+        this.enrolledStudents = ConcurrentHashMap.newKeySet();
+        this.enrolledStudentsView = Collections.unmodifiableSet(enrolledStudents);
+        this.occupiedSlots = new AtomicInteger();
+        this.waitlist = new ArrayDeque<>();
+        this.waitlisted = new HashSet<>();
+    }
+
+    /**
+     * Identificador inteiro sequencial no catálogo em que a turma foi registrada, ou -1 se ela
+     * não foi registrada; usado como índice em vetores
+     */
+    public int getDenseId() {
+        return denseId;
     }
 
     public String getId() {
@@ -33,57 +58,245 @@ public class ClassGroup {
         return capacity;
     }
 
+    /**
+     * Horários da turma (lista imutável)
+     */
     public List<Schedule> getSchedules() {
-        return new ArrayList<>(schedules);
+        return schedules;
+    }
+
+    /**
+     * Obtém a máscara de ocupação semanal pré-calculada dos horários da turma
+     */
+    public TimetableMask getOccupancy() {
+        return occupancy;
     }
 
     public boolean conflictsWith(ClassGroup other) {
-        for (Schedule s1 : schedules)
-            for (Schedule s2 : other.schedules)
-                if (s1.conflicts(s2)) return true;
-        return false;
+        return occupancy.intersects(other.occupancy);
     }
 
     /**
      * Verifica se há vagas disponíveis na turma
      */
     public boolean hasAvailableSlots() {
-        return enrolledStudents.size() < capacity;
+        return occupiedSlots.get() < capacity;
     }
 
     /**
      * Obtém o número de vagas disponíveis
      */
     public int getAvailableSlots() {
-        return capacity - enrolledStudents.size();
+        return capacity - occupiedSlots.get();
     }
 
     /**
      * Obtém o número de alunos matriculados
      */
     public int getEnrolledStudentsCount() {
-        return enrolledStudents.size();
+        return occupiedSlots.get();
     }
 
     /**
-     * Matricula um aluno na turma
+     * Matricula um aluno na turma.
+     * Seguro para uso concorrente: a vaga é reservada por CAS no contador de vagas
+     * ocupadas antes da inclusão no conjunto, de modo que a capacidade nunca é excedida.
      * @throws TurmaCheiaException se a turma estiver cheia ou aluno já matriculado
      */
     public void enrollStudent(Student student) throws TurmaCheiaException {
         if (isStudentEnrolled(student)) {
             throw new TurmaCheiaException("Aluno já está matriculado na turma " + id);
         }
-        if (!hasAvailableSlots()) {
+        if (!tryReserveSlot()) {
             throw new TurmaCheiaException("Turma " + id + " está cheia. Capacidade: " + capacity);
         }
-        enrolledStudents.add(student);
+        if (!confirmReservedSlot(student)) {
+            // Outra matrícula concorrente do mesmo aluno venceu a disputa
+            throw new TurmaCheiaException("Aluno já está matriculado na turma " + id);
+        }
+    }
+
+    /**
+     * Matricula o aluno se houver vaga; caso contrário, coloca-o no fim da lista de espera
+     * (um aluno já na lista mantém a posição). Vagas livres vão antes para quem já espera
+     * @return true se o aluno foi matriculado, false se está na lista de espera
+     * @throws TurmaCheiaException se o aluno já estiver matriculado na turma
+     */
+    public boolean enrollOrWaitlist(Student student) throws TurmaCheiaException {
+        synchronized (waitlist) {
+            if (isStudentEnrolled(student)) {
+                throw new TurmaCheiaException("Aluno já está matriculado na turma " + id);
+            }
+            promoteFromWaitlist();
+            if (isStudentEnrolled(student)) {
+                // Já estava na lista de espera e foi promovido
+                return true;
+            }
+            if (waitlist.isEmpty()) {
+                try {
+                    enrollStudent(student);
+                    return true;
+                } catch (TurmaCheiaException e) {
+                    if (isStudentEnrolled(student)) {
+                        throw e;
+                    }
+                }
+            }
+            joinWaitlist(student);
+            return false;
+        }
+    }
+
+    /**
+     * Coloca o aluno no fim da lista de espera, se ele ainda não estiver nela
+     */
+    public void joinWaitlist(Student student) {
+        synchronized (waitlist) {
+            if (waitlisted.add(student)) {
+                waitlist.addLast(student);
+            }
+        }
     }
 
     /**
-     * Remove um aluno da turma
+     * Retira o aluno da lista de espera
+     */
+    public void leaveWaitlist(Student student) {
+        synchronized (waitlist) {
+            if (waitlisted.remove(student)) {
+                waitlist.remove(student);
+            }
+        }
+    }
+
+    public boolean isWaitlisted(Student student) {
+        synchronized (waitlist) {
+            return waitlisted.contains(student);
+        }
+    }
+
+    /**
+     * Cópia da lista de espera, do primeiro ao último
+     */
+    public List<Student> getWaitlist() {
+        synchronized (waitlist) {
+            return new ArrayList<>(waitlist);
+        }
+    }
+
+    public int getWaitlistSize() {
+        synchronized (waitlist) {
+            return waitlist.size();
+        }
+    }
+
+    /**
+     * Remove um aluno da turma. A vaga liberada vai para a lista de espera (promoteFromWaitlist)
      */
     public void removeStudent(Student student) {
-        enrolledStudents.remove(student);
+        if (enrolledStudents.remove(student)) {
+            student.removeEnrolledClassGroup(this);
+            occupiedSlots.decrementAndGet();
+            promoteFromWaitlist();
+        }
+    }
+
+    /**
+     * Preenche as vagas livres com a lista de espera, em ordem. Sai da lista, sem ser matriculado,
+     * quem já tem turma da disciplina, não atende aos pré-requisitos, tem conflito de horário com
+     * as turmas em que está matriculado ou passaria da carga horária máxima. Chamado por todo
+     * caminho que libera uma vaga
+     */
+    private void promoteFromWaitlist() {
+        synchronized (waitlist) {
+            Student candidato;
+            while ((candidato = waitlist.peekFirst()) != null) {
+                // Verificação e matrícula sob o monitor do aluno: duas turmas da mesma disciplina
+                // não promovem o mesmo aluno ao mesmo tempo
+                synchronized (candidato) {
+                    boolean apto = !candidato.isEnrolledInSubject(subject)
+                            && subject.requisitosAtendidos(candidato)
+                            && !candidato.conflictsWithEnrolled(this)
+                            && candidato.getEnrolledWeeklyHours() + subject.getWeeklyHours()
+                                    <= candidato.getMaxWeeklyHours();
+                    if (apto && !tryReserveSlot()) {
+                        // Sem vaga: o candidato continua no início da fila
+                        return;
+                    }
+                    waitlist.pollFirst();
+                    waitlisted.remove(candidato);
+                    if (apto && !attachStudent(candidato)) {
+                        // Matriculado por outro caminho entre a verificação e a reserva
+                        unreserveSlot();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserva uma vaga sem associá-la a um aluno, se ainda houver alguma disponível.
+     * A reserva deve ser confirmada com Reservation.confirm ou devolvida com Reservation.release
+     * @return a reserva, ou null se a turma estiver cheia
+     */
+    public Reservation reserveSlot() {
+        return tryReserveSlot() ? new Reservation() : null;
+    }
+
+    private boolean tryReserveSlot() {
+        int ocupadas;
+        do {
+            ocupadas = occupiedSlots.get();
+            if (ocupadas >= capacity) {
+                return false;
+            }
+        } while (!occupiedSlots.compareAndSet(ocupadas, ocupadas + 1));
+        return true;
+    }
+
+    /**
+     * Devolve uma vaga reservada e a oferece à lista de espera
+     */
+    private void releaseSlot() {
+        if (unreserveSlot()) {
+            promoteFromWaitlist();
+        }
+    }
+
+    /**
+     * Devolve uma vaga reservada; o contador nunca fica abaixo do número de matriculados
+     * @return true se o contador foi decrementado
+     */
+    private boolean unreserveSlot() {
+        int ocupadas;
+        do {
+            ocupadas = occupiedSlots.get();
+            if (ocupadas <= enrolledStudents.size()) {
+                return false;
+            }
+        } while (!occupiedSlots.compareAndSet(ocupadas, ocupadas - 1));
+        return true;
+    }
+
+    /**
+     * Associa uma vaga previamente reservada ao aluno.
+     * Se o aluno já estiver matriculado, a reserva é devolvida e retorna false.
+     */
+    private boolean confirmReservedSlot(Student student) {
+        if (attachStudent(student)) {
+            return true;
+        }
+        releaseSlot();
+        return false;
+    }
+
+    private boolean attachStudent(Student student) {
+        if (!enrolledStudents.add(student)) {
+            return false;
+        }
+        student.addEnrolledClassGroup(this);
+        leaveWaitlist(student);
+        return true;
     }
 
     /**
@@ -94,9 +307,49 @@ public class ClassGroup {
     }
 
     /**
-     * Obtém a lista de alunos matriculados
+     * Obtém os alunos matriculados, como visão somente leitura que acompanha as matrículas
      */
     public Set<Student> getEnrolledStudents() {
-        return new HashSet<>(enrolledStudents);
+        return enrolledStudentsView;
+    }
+
+    /**
+     * Vaga reservada por reserveSlot. Cada reserva é usada uma única vez: confirmada para um
+     * aluno ou devolvida à turma
+     */
+    public final class Reservation {
+        private final AtomicBoolean usada = new AtomicBoolean();
+
+        private Reservation() {
+        }
+
+        public ClassGroup getClassGroup() {
+            return ClassGroup.this;
+        }
+
+        /**
+         * Associa a vaga ao aluno. Se ele já estiver matriculado, a vaga é devolvida
+         * @return true se o aluno foi matriculado
+         * @throws IllegalStateException se a reserva já foi usada
+         */
+        public boolean confirm(Student student) {
+            usar();
+            return confirmReservedSlot(student);
+        }
+
+        /**
+         * Devolve a vaga à turma
+         * @throws IllegalStateException se a reserva já foi usada
+         */
+        public void release() {
+            usar();
+            releaseSlot();
+        }
+
+        private void usar() {
+            if (!usada.compareAndSet(false, true)) {
+                throw new IllegalStateException("Reserva da turma " + id + " já foi usada");
+            }
+        }
     }
 }
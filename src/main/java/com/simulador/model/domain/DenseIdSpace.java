@@ -0,0 +1,108 @@
+package com.simulador.model.domain;
+
+/**
+ * Espaço de identificadores densos de um catálogo: disciplinas, turmas e alunos recebem
+ * 0, 1, 2... na ordem em que são registrados, de modo que vetores indexados por esses
+ * identificadores têm o tamanho do catálogo.
+ *
+ * Cada objeto pertence a no máximo um espaço; antes do registro, getDenseId devolve -1.
+ * O espaço também guarda a versão das regras de pré-requisito das suas disciplinas.
+ */
+public final class DenseIdSpace {
+
+    private int subjects;
+    private int classGroups;
+    private int students;
+    private volatile int rulesVersion;
+
+    /**
+     * Registra a disciplina, se ainda não estiver registrada neste espaço
+     * @return o identificador da disciplina neste espaço
+     * @throws IllegalArgumentException se a disciplina pertence a outro espaço
+     */
+    public synchronized int register(Subject subject) {
+        if (subject.idSpace == this) {
+            return subject.denseId;
+        }
+        verificarLivre(subject.idSpace, "Disciplina " + subject.getCode());
+        subject.denseId = subjects++;
+        subject.idSpace = this;
+        return subject.denseId;
+    }
+
+    /**
+     * Registra a turma, se ainda não estiver registrada neste espaço
+     * @return o identificador da turma neste espaço
+     * @throws IllegalArgumentException se a turma pertence a outro espaço
+     */
+    public synchronized int register(ClassGroup classGroup) {
+        if (classGroup.idSpace == this) {
+            return classGroup.denseId;
+        }
+        verificarLivre(classGroup.idSpace, "Turma " + classGroup.getId());
+        classGroup.denseId = classGroups++;
+        classGroup.idSpace = this;
+        return classGroup.denseId;
+    }
+
+    /**
+     * Registra o aluno, se ainda não estiver registrado neste espaço
+     * @return o identificador do aluno neste espaço
+     * @throws IllegalArgumentException se o aluno pertence a outro espaço
+     */
+    public synchronized int register(Student student) {
+        if (student.idSpace == this) {
+            return student.denseId;
+        }
+        verificarLivre(student.idSpace, "Aluno " + student.getRegistration());
+        student.denseId = students++;
+        student.idSpace = this;
+        return student.denseId;
+    }
+
+    public boolean contains(Subject subject) {
+        return subject.idSpace == this;
+    }
+
+    public boolean contains(ClassGroup classGroup) {
+        return classGroup.idSpace == this;
+    }
+
+    public boolean contains(Student student) {
+        return student.idSpace == this;
+    }
+
+    /**
+     * Quantidade de disciplinas registradas (maior identificador + 1)
+     */
+    public synchronized int getSubjectCount() {
+        return subjects;
+    }
+
+    public synchronized int getClassGroupCount() {
+        return classGroups;
+    }
+
+    public synchronized int getStudentCount() {
+        return students;
+    }
+
+    /**
+     * Versão das regras de pré-requisito do catálogo, incrementada sempre que os validadores de
+     * uma disciplina registrada neste espaço são trocados; permite invalidar resultados
+     * calculados antes da troca sem afetar outros catálogos
+     */
+    public int getRulesVersion() {
+        return rulesVersion;
+    }
+
+    synchronized void rulesChanged() {
+        rulesVersion++;
+    }
+
+    private static void verificarLivre(DenseIdSpace atual, String descricao) {
+        if (atual != null) {
+            throw new IllegalArgumentException(descricao + " já pertence a outro catálogo");
+        }
+    }
+}
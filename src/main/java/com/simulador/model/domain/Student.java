@@ -2,32 +2,51 @@ package com.simulador.model.domain;
 
 import com.simulador.model.exceptions.CargaHorariaExcedidaException;
 import com.simulador.model.exceptions.CoRequisitoNaoAtendidoException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Classe que representa um estudante no sistema
 public class Student {
+    // Atribuídos por DenseIdSpace.register; o espaço é publicado depois do identificador
+    volatile int denseId = -1;
+    volatile DenseIdSpace idSpace;
     private String name;
     private String registration;
-    private Map<Subject, Double> completedSubjects; // disciplinas cursadas com notas
+    private final Transcript transcript; // disciplinas cursadas com notas
     private int maxWeeklyHours;
     private Set<Subject> futurePlanning; // planejamento futuro
+    private int futurePlanningWeeklyHours; // soma das horas do planejamento, mantida a cada alteração
     private Map<Subject, Subject> coRequisitos; // mapeamento de co-requisitos
     private int creditosAcumulados; // créditos acumulados pelo estudante
+    private int transcriptVersion; // incrementada a cada alteração do histórico
+    private final Set<ClassGroup> enrolledClassGroups; // turmas com vaga confirmada, mantidas por ClassGroup
+    private final Set<ClassGroup> enrolledClassGroupsView;
 
     public Student(String name, String registration, int maxWeeklyHours) {
         this.name = name;
         this.registration = registration;
         this.maxWeeklyHours = maxWeeklyHours;
-        this.completedSubjects = new HashMap<>();
+        this.transcript = new Transcript();
         this.futurePlanning = new HashSet<>();
         this.coRequisitos = new HashMap<>();
         this.creditosAcumulados = 0;
+        this.enrolledClassGroups = ConcurrentHashMap.newKeySet();
+        this.enrolledClassGroupsView = Collections.unmodifiableSet(enrolledClassGroups);
     }
 
     // Getters básicos
+    /**
+     * Identificador inteiro sequencial no catálogo em que o estudante foi registrado, ou -1 se
+     * ele não foi registrado; usado como índice em vetores
+     */
+    public int getDenseId() {
+        return denseId;
+    }
+
     public String getName() {
         return name;
     }
@@ -40,12 +59,40 @@ public class Student {
         return maxWeeklyHours;
     }
 
+    /**
+     * Disciplinas cursadas com as notas (visão somente leitura do histórico), em ordem de
+     * identificador; disciplinas sem registro no catálogo vêm depois, em ordem de inclusão
+     */
     public Map<Subject, Double> getCompletedSubjects() {
-        return completedSubjects;
+        return transcript.asMap();
+    }
+
+    /**
+     * Histórico compacto, indexado pelo identificador denso das disciplinas
+     */
+    public Transcript getTranscript() {
+        return transcript;
+    }
+
+    /**
+     * Versão do histórico: muda a cada chamada de addCompletedSubject. Resultados que dependem
+     * apenas do histórico (ex.: elegibilidade) podem ser reaproveitados enquanto ela não muda
+     */
+    public int getTranscriptVersion() {
+        return transcriptVersion;
     }
 
+    /**
+     * Disciplinas do planejamento futuro (visão somente leitura; use addToFuturePlanning
+     * e removeFromFuturePlanning para alterar)
+     */
     public Set<Subject> getFuturePlanning() {
-        return futurePlanning;
+        return Collections.unmodifiableSet(futurePlanning);
+    }
+
+    // Quantidade de disciplinas no planejamento futuro
+    public int getFuturePlanningCount() {
+        return futurePlanning.size();
     }
 
     /**
@@ -65,22 +112,83 @@ public class Student {
 
     // Adiciona uma disciplina cursada com sua nota
     public void addCompletedSubject(Subject subject, double grade) {
-        completedSubjects.put(subject, grade);
+        boolean estavaAprovada = transcript.record(subject, grade);
+        transcriptVersion++;
         
-        // Se a nota for >= 6.0 (aprovado), adiciona os créditos
-        if (grade >= 6.0) {
+        // Créditos contam uma vez por disciplina aprovada (>= 6.0), mesmo se a nota for substituída
+        if (estavaAprovada) {
+            creditosAcumulados -= calcularCreditos(subject.getWeeklyHours());
+        }
+        if (transcript.hasPassed(subject)) {
             creditosAcumulados += calcularCreditos(subject.getWeeklyHours());
         }
     }
 
     // Verifica se o estudante cursou uma disciplina específica
     public boolean hasCompletedSubject(Subject subject) {
-        return completedSubjects.containsKey(subject);
+        return transcript.hasTaken(subject);
+    }
+
+    // Verifica se o estudante foi aprovado (nota informada >= 6.0) em uma disciplina
+    public boolean hasPassedSubject(Subject subject) {
+        return transcript.hasPassed(subject);
     }
 
     // Obtém a nota de uma disciplina cursada
     public Double getGrade(Subject subject) {
-        return completedSubjects.get(subject);
+        double nota = transcript.getGrade(subject);
+        return Double.isNaN(nota) ? null : nota;
+    }
+
+    /**
+     * Turmas em que o estudante está matriculado (visão somente leitura que acompanha as matrículas)
+     */
+    public Set<ClassGroup> getEnrolledClassGroups() {
+        return enrolledClassGroupsView;
+    }
+
+    /**
+     * Verifica se a turma conflita com alguma outra turma em que o estudante está matriculado
+     */
+    public boolean conflictsWithEnrolled(ClassGroup turma) {
+        for (ClassGroup matriculada : enrolledClassGroups) {
+            if (matriculada != turma && matriculada.conflictsWith(turma)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se o estudante está matriculado em alguma turma da disciplina
+     */
+    public boolean isEnrolledInSubject(Subject disciplina) {
+        for (ClassGroup matriculada : enrolledClassGroups) {
+            if (matriculada.getSubject() == disciplina) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Soma das horas semanais das turmas em que o estudante está matriculado
+     */
+    public int getEnrolledWeeklyHours() {
+        int total = 0;
+        for (ClassGroup matriculada : enrolledClassGroups) {
+            total += matriculada.getSubject().getWeeklyHours();
+        }
+        return total;
+    }
+
+    // Chamados por ClassGroup ao confirmar e ao liberar uma vaga
+    void addEnrolledClassGroup(ClassGroup turma) {
+        enrolledClassGroups.add(turma);
+    }
+
+    void removeEnrolledClassGroup(ClassGroup turma) {
+        enrolledClassGroups.remove(turma);
     }
 
     // Adiciona uma disciplina ao planejamento futuro
@@ -91,12 +199,30 @@ public class Student {
                 "Carga horária excedida: " + novaCargaHoraria + "h > " + maxWeeklyHours + "h"
             );
         }
-        futurePlanning.add(subject);
+        if (futurePlanning.add(subject)) {
+            futurePlanningWeeklyHours += subject.getWeeklyHours();
+        }
+        assert planejamentoConsistente() : "Carga horária planejada inconsistente";
     }
 
     // Remove uma disciplina do planejamento futuro
     public void removeFromFuturePlanning(Subject subject) {
-        futurePlanning.remove(subject);
+        if (futurePlanning.remove(subject)) {
+            futurePlanningWeeklyHours -= subject.getWeeklyHours();
+        }
+        assert planejamentoConsistente() : "Carga horária planejada inconsistente";
+    }
+
+    /**
+     * Recalcula a carga horária planejada e compara com o total mantido incrementalmente.
+     * Usado em asserções (habilitadas com -ea, como nos testes)
+     */
+    boolean planejamentoConsistente() {
+        int total = 0;
+        for (Subject subject : futurePlanning) {
+            total += subject.getWeeklyHours();
+        }
+        return total == futurePlanningWeeklyHours;
     }
 
     /**
@@ -114,7 +240,7 @@ public class Student {
         if (coRequisito == null) {
             return true; // Não há co-requisito
         }
-        return futurePlanning.contains(coRequisito) || completedSubjects.containsKey(coRequisito);
+        return futurePlanning.contains(coRequisito) || hasCompletedSubject(coRequisito);
     }
 
     /**
@@ -135,13 +261,9 @@ public class Student {
         addToFuturePlanning(disciplina);
     }
 
-    // Calcula o total de horas semanais do planejamento futuro
+    // Total de horas semanais do planejamento futuro (O(1), mantido em add/remove)
     public int getFuturePlanningWeeklyHours() {
-        int total = 0;
-        for (Subject subject : futurePlanning) {
-            total += subject.getWeeklyHours();
-        }
-        return total;
+        return futurePlanningWeeklyHours;
     }
 
     // Verifica se o planejamento futuro está dentro do limite de horas
@@ -1,10 +1,14 @@
 package com.simulador.model.domain;
 
 import com.simulador.model.validator.ValidadorPreRequisito;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
 public abstract class Subject {
+    // Atribuídos por DenseIdSpace.register; o espaço é publicado depois do identificador
+    volatile int denseId = -1;
+    volatile DenseIdSpace idSpace;
     private final String code;
     private final String name;
     private final int weeklyHours;
@@ -19,6 +23,21 @@ public abstract class Subject {
         this.coRequisitos = new HashSet<>();
     }
 
+    /**
+     * Identificador inteiro sequencial (0, 1, 2...) no catálogo em que a disciplina foi
+     * registrada, ou -1 se ela não foi registrada; usado como índice em vetores e conjuntos de bits
+     */
+    public int getDenseId() {
+        return denseId;
+    }
+
+    /**
+     * Espaço de identificadores em que a disciplina foi registrada, ou null
+     */
+    public DenseIdSpace getIdSpace() {
+        return idSpace;
+    }
+
     public String getCode() {
         return code;
     }
@@ -32,9 +51,9 @@ public abstract class Subject {
     }
 
     public Set<ValidadorPreRequisito> getValidadores() {
-        return validadores;
+        return Collections.unmodifiableSet(validadores);
     }
-    
+
     public Set<Subject> getCoRequisitos() {
         return coRequisitos;
     }
@@ -54,10 +73,20 @@ public abstract class Subject {
     public void setValidadores(ValidadorPreRequisito validador) {
         this.validadores.clear();
         this.validadores.add(validador);
+        regrasAlteradas();
     }
 
     public void setValidadores(Set<ValidadorPreRequisito> validadores) {
-        this.validadores = validadores;
+        this.validadores = new HashSet<>(validadores);
+        regrasAlteradas();
+    }
+
+    // Só o catálogo da disciplina precisa recompilar os pré-requisitos
+    private void regrasAlteradas() {
+        DenseIdSpace espaco = idSpace;
+        if (espaco != null) {
+            espaco.rulesChanged();
+        }
     }
 
     /**
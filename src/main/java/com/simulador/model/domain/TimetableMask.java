@@ -0,0 +1,134 @@
+package com.simulador.model.domain;
+
+import java.util.List;
+
+/**
+ * Máscara compacta de ocupação semanal (7 dias x 22 faixas de uma hora).
+ * Cada bit representa uma hora de um dia: o bit (dia - 1) * 22 + hora indica
+ * que o intervalo [hora, hora + 1) está ocupado. Como os horários usam horas
+ * inteiras, dois conjuntos de horários conflitam exatamente quando suas máscaras
+ * têm algum bit em comum.
+ */
+public final class TimetableMask {
+
+    /** Quantidade de faixas de uma hora por dia (horários terminam no máximo às 22h) */
+    public static final int SLOTS_PER_DAY = 22;
+    public static final int DAYS = 7;
+    public static final int WORDS = 3;
+
+    public static final TimetableMask EMPTY = new TimetableMask(0L, 0L, 0L);
+
+    // Bits de cada dia, por palavra: DAY_MASKS[dia - 1][palavra]
+    private static final long[][] DAY_MASKS = new long[DAYS][WORDS];
+
+    static {
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 0; hour < SLOTS_PER_DAY; hour++) {
+                int bit = day * SLOTS_PER_DAY + hour;
+                DAY_MASKS[day][bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    private final long word0;
+    private final long word1;
+    private final long word2;
+
+    private TimetableMask(long word0, long word1, long word2) {
+        this.word0 = word0;
+        this.word1 = word1;
+        this.word2 = word2;
+    }
+
+    /**
+     * Constrói a máscara correspondente a uma lista de horários
+     */
+    public static TimetableMask of(List<Schedule> schedules) {
+        long[] words = new long[WORDS];
+        for (Schedule schedule : schedules) {
+            int base = (schedule.getDayOfWeek() - 1) * SLOTS_PER_DAY;
+            for (int hour = schedule.getStartMinute(); hour < schedule.getEndMinute(); hour++) {
+                int bit = base + hour;
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new TimetableMask(words[0], words[1], words[2]);
+    }
+
+    /**
+     * Verifica se as duas máscaras possuem alguma hora em comum
+     */
+    public boolean intersects(TimetableMask other) {
+        return (word0 & other.word0) != 0
+                || (word1 & other.word1) != 0
+                || (word2 & other.word2) != 0;
+    }
+
+    /**
+     * Retorna a união das duas máscaras
+     */
+    public TimetableMask union(TimetableMask other) {
+        return new TimetableMask(word0 | other.word0, word1 | other.word1, word2 | other.word2);
+    }
+
+    public boolean isEmpty() {
+        return (word0 | word1 | word2) == 0;
+    }
+
+    /**
+     * Total de horas semanais ocupadas
+     */
+    public int occupiedHours() {
+        return Long.bitCount(word0) + Long.bitCount(word1) + Long.bitCount(word2);
+    }
+
+    /**
+     * Quantidade de dias entre segunda (1) e {@code lastDay} sem nenhuma hora ocupada
+     */
+    public int countFreeDays(int lastDay) {
+        return countFreeDays(word0, word1, word2, lastDay);
+    }
+
+    /**
+     * Mesmo que countFreeDays(int), a partir das palavras de uma máscara (ver getWord)
+     */
+    public static int countFreeDays(long word0, long word1, long word2, int lastDay) {
+        int free = 0;
+        for (int day = 0; day < lastDay && day < DAYS; day++) {
+            long[] mask = DAY_MASKS[day];
+            if ((word0 & mask[0]) == 0 && (word1 & mask[1]) == 0 && (word2 & mask[2]) == 0) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Obtém uma das palavras de 64 bits da máscara (0 a WORDS - 1)
+     */
+    public long getWord(int index) {
+        switch (index) {
+            case 0:
+                return word0;
+            case 1:
+                return word1;
+            case 2:
+                return word2;
+            default:
+                throw new IndexOutOfBoundsException("index must be 0–" + (WORDS - 1));
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof TimetableMask)) return false;
+        TimetableMask other = (TimetableMask) obj;
+        return word0 == other.word0 && word1 == other.word1 && word2 == other.word2;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(word0) * 961 + Long.hashCode(word1) * 31 + Long.hashCode(word2);
+    }
+}
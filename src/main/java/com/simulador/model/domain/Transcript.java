@@ -0,0 +1,308 @@
+package com.simulador.model.domain;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Histórico acadêmico compacto de um estudante, indexado pelo identificador denso das disciplinas.
+ *
+ * Dois conjuntos de bits indicam as disciplinas cursadas e as aprovadas. As notas ficam em
+ * centésimos ({@code short}), em ordem de identificador: a posição da nota de uma disciplina é a
+ * quantidade de disciplinas cursadas com identificador menor. A aprovação é decidida pela nota
+ * informada, antes do arredondamento; uma reprovação nunca é armazenada como 6.00 (5.999 fica
+ * 5.99), de modo que getGrade e a aprovação sempre concordam.
+ *
+ * Os identificadores são os do espaço (DenseIdSpace) da primeira disciplina registrada que entra
+ * no histórico. Disciplinas sem registro ou de outro espaço ficam em uma pequena lista à parte,
+ * procurada por identidade.
+ */
+public final class Transcript {
+
+    /** Nota mínima para aprovação */
+    public static final double PASSING_GRADE = 6.0;
+
+    private static final double ESCALA = 100.0;
+    private static final long NOTA_MINIMA_CENTESIMOS = Math.round(PASSING_GRADE * ESCALA);
+    private static final long[] VAZIO = new long[0];
+
+    private DenseIdSpace space;
+    private long[] taken = VAZIO;
+    private long[] passed = VAZIO;
+    private short[] grades = new short[0];
+    private Subject[] subjects = new Subject[0];
+    private int size;
+    // Disciplinas fora do espaço, em ordem de registro
+    private Subject[] outras = new Subject[0];
+    private short[] notasOutras = new short[0];
+    private boolean[] aprovadasOutras = new boolean[0];
+    private int quantidadeOutras;
+
+    Transcript() {
+    }
+
+    /**
+     * Registra (ou substitui) a nota de uma disciplina
+     * @return true se a disciplina já estava aprovada antes deste registro
+     */
+    boolean record(Subject subject, double grade) {
+        if (Double.isNaN(grade) || Math.abs(grade) * ESCALA > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Nota fora do intervalo suportado: " + grade);
+        }
+        if (space == null && subject.getIdSpace() != null) {
+            space = subject.getIdSpace();
+        }
+        boolean estavaAprovada = hasPassed(subject);
+        boolean aprovada = grade >= PASSING_GRADE;
+        short centesimos = (short) Math.round(grade * ESCALA);
+        if (!aprovada && centesimos >= NOTA_MINIMA_CENTESIMOS) {
+            centesimos = (short) (NOTA_MINIMA_CENTESIMOS - 1);
+        }
+        int outra = posicaoOutra(subject);
+        if (space == null || subject.getIdSpace() != space) {
+            if (outra < 0) {
+                if (quantidadeOutras == outras.length) {
+                    int novoTamanho = Math.max(4, quantidadeOutras * 2);
+                    outras = Arrays.copyOf(outras, novoTamanho);
+                    notasOutras = Arrays.copyOf(notasOutras, novoTamanho);
+                    aprovadasOutras = Arrays.copyOf(aprovadasOutras, novoTamanho);
+                }
+                outra = quantidadeOutras++;
+                outras[outra] = subject;
+            }
+            notasOutras[outra] = centesimos;
+            aprovadasOutras[outra] = aprovada;
+            return estavaAprovada;
+        }
+        if (outra >= 0) {
+            // Registrada no espaço depois de entrar no histórico: passa para os vetores indexados
+            removerOutra(outra);
+        }
+        int id = subject.getDenseId();
+        garantirCapacidade(id);
+        int posicao = rank(id);
+        if (!hasTaken(id)) {
+            if (size == grades.length) {
+                int novoTamanho = Math.max(8, size + (size >> 1));
+                grades = Arrays.copyOf(grades, novoTamanho);
+                subjects = Arrays.copyOf(subjects, novoTamanho);
+            }
+            System.arraycopy(grades, posicao, grades, posicao + 1, size - posicao);
+            System.arraycopy(subjects, posicao, subjects, posicao + 1, size - posicao);
+            taken[id >>> 6] |= 1L << id;
+            size++;
+        }
+        grades[posicao] = centesimos;
+        subjects[posicao] = subject;
+        if (aprovada) {
+            passed[id >>> 6] |= 1L << id;
+        } else {
+            passed[id >>> 6] &= ~(1L << id);
+        }
+        return estavaAprovada;
+    }
+
+    /**
+     * Espaço dos identificadores usados nos conjuntos de bits, ou null se nenhuma disciplina
+     * registrada entrou no histórico
+     */
+    public DenseIdSpace getIdSpace() {
+        return space;
+    }
+
+    public boolean hasTaken(Subject subject) {
+        return emEspaco(subject) || posicaoOutra(subject) >= 0;
+    }
+
+    public boolean hasPassed(Subject subject) {
+        if (emEspaco(subject)) {
+            return hasPassed(subject.getDenseId());
+        }
+        int outra = posicaoOutra(subject);
+        return outra >= 0 && aprovadasOutras[outra];
+    }
+
+    /**
+     * Nota da disciplina (em centésimos de precisão), ou NaN se ela não foi cursada
+     */
+    public double getGrade(Subject subject) {
+        if (emEspaco(subject)) {
+            return getGrade(subject.getDenseId());
+        }
+        int outra = posicaoOutra(subject);
+        return outra < 0 ? Double.NaN : notasOutras[outra] / ESCALA;
+    }
+
+    /**
+     * Aplica a ação às disciplinas aprovadas que não estão nos conjuntos de bits
+     * (sem registro ou de outro espaço)
+     */
+    public void forEachPassedOutsideSpace(Consumer<Subject> acao) {
+        for (int i = 0; i < quantidadeOutras; i++) {
+            if (aprovadasOutras[i]) {
+                acao.accept(outras[i]);
+            }
+        }
+    }
+
+    /**
+     * Aplica a ação a todas as disciplinas aprovadas
+     */
+    public void forEachPassed(Consumer<Subject> acao) {
+        for (int i = 0; i < size; i++) {
+            if (hasPassed(subjects[i].getDenseId())) {
+                acao.accept(subjects[i]);
+            }
+        }
+        forEachPassedOutsideSpace(acao);
+    }
+
+    /**
+     * Consultas por identificador denso, válidas para disciplinas do espaço getIdSpace()
+     */
+    public boolean hasTaken(int subjectId) {
+        int palavra = subjectId >>> 6;
+        return palavra < taken.length && (taken[palavra] & (1L << subjectId)) != 0;
+    }
+
+    public boolean hasPassed(int subjectId) {
+        int palavra = subjectId >>> 6;
+        return palavra < passed.length && (passed[palavra] & (1L << subjectId)) != 0;
+    }
+
+    /**
+     * Nota da disciplina (em centésimos de precisão), ou NaN se ela não foi cursada
+     */
+    public double getGrade(int subjectId) {
+        return hasTaken(subjectId) ? grades[rank(subjectId)] / ESCALA : Double.NaN;
+    }
+
+    /**
+     * Quantidade de disciplinas cursadas
+     */
+    public int size() {
+        return size + quantidadeOutras;
+    }
+
+    /**
+     * Quantidade de palavras de 64 bits dos conjuntos de cursadas e aprovadas
+     */
+    public int wordCount() {
+        return passed.length;
+    }
+
+    /**
+     * Palavra {@code index} do conjunto de aprovadas (bit {@code id % 64} da palavra {@code id / 64})
+     */
+    public long passedWord(int index) {
+        return passed[index];
+    }
+
+    /**
+     * Disciplinas cursadas com as notas, em ordem de identificador, como mapa somente leitura
+     */
+    Map<Subject, Double> asMap() {
+        return new AbstractMap<Subject, Double>() {
+            @Override
+            public int size() {
+                return Transcript.this.size();
+            }
+
+            @Override
+            public boolean containsKey(Object chave) {
+                return chave instanceof Subject && hasTaken((Subject) chave);
+            }
+
+            @Override
+            public Double get(Object chave) {
+                if (!(chave instanceof Subject)) {
+                    return null;
+                }
+                double nota = getGrade((Subject) chave);
+                return Double.isNaN(nota) ? null : nota;
+            }
+
+            @Override
+            public Set<Entry<Subject, Double>> entrySet() {
+                return new AbstractSet<Entry<Subject, Double>>() {
+                    @Override
+                    public int size() {
+                        return Transcript.this.size();
+                    }
+
+                    @Override
+                    public Iterator<Entry<Subject, Double>> iterator() {
+                        return new Iterator<Entry<Subject, Double>>() {
+                            private int posicao;
+
+                            @Override
+                            public boolean hasNext() {
+                                return posicao < Transcript.this.size();
+                            }
+
+                            @Override
+                            public Entry<Subject, Double> next() {
+                                if (posicao >= Transcript.this.size()) {
+                                    throw new NoSuchElementException();
+                                }
+                                Entry<Subject, Double> entrada = posicao < size
+                                        ? new AbstractMap.SimpleImmutableEntry<>(subjects[posicao], grades[posicao] / ESCALA)
+                                        : new AbstractMap.SimpleImmutableEntry<>(outras[posicao - size],
+                                                notasOutras[posicao - size] / ESCALA);
+                                posicao++;
+                                return entrada;
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Indica se a disciplina é do espaço do histórico e foi cursada
+     */
+    private boolean emEspaco(Subject subject) {
+        return space != null && subject.getIdSpace() == space && hasTaken(subject.getDenseId());
+    }
+
+    private int posicaoOutra(Subject subject) {
+        for (int i = 0; i < quantidadeOutras; i++) {
+            if (outras[i] == subject) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removerOutra(int posicao) {
+        int depois = quantidadeOutras - posicao - 1;
+        System.arraycopy(outras, posicao + 1, outras, posicao, depois);
+        System.arraycopy(notasOutras, posicao + 1, notasOutras, posicao, depois);
+        System.arraycopy(aprovadasOutras, posicao + 1, aprovadasOutras, posicao, depois);
+        outras[--quantidadeOutras] = null;
+    }
+
+    /**
+     * Quantidade de disciplinas cursadas com identificador menor que {@code id}
+     */
+    private int rank(int id) {
+        int palavra = id >>> 6;
+        int total = 0;
+        for (int i = 0; i < palavra && i < taken.length; i++) {
+            total += Long.bitCount(taken[i]);
+        }
+        if (palavra < taken.length) {
+            total += Long.bitCount(taken[palavra] & ((1L << id) - 1));
+        }
+        return total;
+    }
+
+    private void garantirCapacidade(int id) {
+        int palavras = (id >>> 6) + 1;
+        if (palavras > taken.length) {
+            int novoTamanho = Math.max(palavras, taken.length + (taken.length >> 1));
+            taken = Arrays.copyOf(taken, novoTamanho);
+            passed = Arrays.copyOf(passed, novoTamanho);
+        }
+    }
+}
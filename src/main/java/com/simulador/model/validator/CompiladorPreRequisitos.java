@@ -0,0 +1,210 @@
+package com.simulador.model.validator;
+
+import com.simulador.model.domain.DenseIdSpace;
+import com.simulador.model.domain.Subject;
+import java.util.*;
+
+/**
+ * Compila as árvores de validadores de um catálogo em um único vetor de instruções
+ * ({@link ProgramaPreRequisitos}).
+ *
+ * ValidadorSimples, ValidadorLogicoAND, ValidadorLogicoOR e ValidadorCreditosMinimos viram
+ * instruções, e as folhas ValidadorSimples alimentam o índice reverso (pré-requisito →
+ * dependentes); qualquer outra implementação (ou subclasse) de ValidadorPreRequisito, e
+ * pré-requisitos fora do catálogo, são mantidos como chamadas ao validador original.
+ */
+public final class CompiladorPreRequisitos {
+
+    private final DenseIdSpace espaco;
+    private final int[] indicePorId;
+    private final Map<Subject, Integer> indicePorDisciplina;
+    private final List<ValidadorPreRequisito> externos;
+    private int[] codigo;
+    private int tamanho;
+    // Pares (pré-requisito, dependente) das folhas APROVADA, para o índice reverso
+    private int[] arestas = new int[64];
+    private int quantidadeArestas;
+    private int disciplinaAtual;
+    private boolean usaCreditos;
+
+    private CompiladorPreRequisitos(DenseIdSpace espaco, int[] indicePorId, Map<Subject, Integer> indicePorDisciplina) {
+        this.espaco = espaco;
+        this.indicePorId = indicePorId;
+        this.indicePorDisciplina = indicePorDisciplina;
+        this.externos = new ArrayList<>();
+        this.codigo = new int[64];
+    }
+
+    /**
+     * Compila os pré-requisitos das disciplinas informadas; a ordem da coleção define os
+     * índices usados pelo programa
+     */
+    public static ProgramaPreRequisitos compilar(Collection<Subject> disciplinas) {
+        Subject[] ordem = disciplinas.toArray(new Subject[0]);
+        // Com todas as disciplinas registradas no mesmo espaço, o índice no programa é um vetor
+        // por identificador denso (-1 fora do catálogo); senão, um mapa por identidade
+        DenseIdSpace espaco = ordem.length > 0 ? ordem[0].getIdSpace() : null;
+        int maiorId = -1;
+        for (Subject disciplina : ordem) {
+            if (disciplina.getIdSpace() != espaco) {
+                espaco = null;
+                break;
+            }
+            maiorId = Math.max(maiorId, disciplina.getDenseId());
+        }
+        int[] indicePorId = null;
+        Map<Subject, Integer> indicePorDisciplina = null;
+        if (espaco != null) {
+            indicePorId = new int[maiorId + 1];
+            Arrays.fill(indicePorId, -1);
+        } else {
+            indicePorDisciplina = new IdentityHashMap<>(ordem.length * 2);
+        }
+        for (int i = 0; i < ordem.length; i++) {
+            boolean repetida;
+            if (espaco != null) {
+                repetida = indicePorId[ordem[i].getDenseId()] >= 0;
+                indicePorId[ordem[i].getDenseId()] = i;
+            } else {
+                repetida = indicePorDisciplina.put(ordem[i], i) != null;
+            }
+            if (repetida) {
+                throw new IllegalArgumentException("Disciplina repetida no catálogo: " + ordem[i].getCode());
+            }
+        }
+
+        int versaoRegras = espaco != null ? espaco.getRulesVersion() : 0;
+        CompiladorPreRequisitos compilador = new CompiladorPreRequisitos(espaco, indicePorId, indicePorDisciplina);
+        int[] inicios = new int[ordem.length];
+        long[] comExternos = new long[(ordem.length + 63) >>> 6];
+        List<Integer> dependentesDeCreditos = new ArrayList<>();
+        for (int i = 0; i < ordem.length; i++) {
+            inicios[i] = compilador.tamanho;
+            int externosAntes = compilador.externos.size();
+            compilador.disciplinaAtual = i;
+            compilador.usaCreditos = false;
+            compilador.emitirDisciplina(ordem[i]);
+            if (compilador.externos.size() > externosAntes) {
+                comExternos[i >>> 6] |= 1L << i;
+            }
+            if (compilador.usaCreditos) {
+                dependentesDeCreditos.add(i);
+            }
+        }
+
+        // Índice reverso em formato compacto: dependentes[inicioDependentes[j] .. inicioDependentes[j + 1])
+        int[] inicioDependentes = new int[ordem.length + 1];
+        for (int a = 0; a < compilador.quantidadeArestas; a++) {
+            inicioDependentes[compilador.arestas[2 * a] + 1]++;
+        }
+        for (int j = 0; j < ordem.length; j++) {
+            inicioDependentes[j + 1] += inicioDependentes[j];
+        }
+        int[] dependentes = new int[compilador.quantidadeArestas];
+        int[] proximo = Arrays.copyOf(inicioDependentes, ordem.length);
+        for (int a = 0; a < compilador.quantidadeArestas; a++) {
+            dependentes[proximo[compilador.arestas[2 * a]]++] = compilador.arestas[2 * a + 1];
+        }
+
+        return new ProgramaPreRequisitos(ordem, espaco, indicePorId, indicePorDisciplina, Arrays.copyOf(compilador.codigo, compilador.tamanho),
+                inicios, compilador.externos.toArray(new ValidadorPreRequisito[0]), comExternos, versaoRegras,
+                inicioDependentes, dependentes, dependentesDeCreditos.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Todos os validadores da disciplina precisam ser atendidos (mesma regra de Subject.requisitosAtendidos)
+     */
+    private void emitirDisciplina(Subject disciplina) {
+        Set<ValidadorPreRequisito> validadores = disciplina.getValidadores();
+        if (validadores.isEmpty()) {
+            emitirFolha(ProgramaPreRequisitos.VERDADEIRO, 0);
+        } else if (validadores.size() == 1) {
+            emitir(validadores.iterator().next());
+        } else {
+            emitirComposto(ProgramaPreRequisitos.E, validadores);
+        }
+    }
+
+    /**
+     * Índice da disciplina no programa, ou -1 fora do catálogo
+     * (mesma regra de ProgramaPreRequisitos.getIndice)
+     */
+    private int indice(Subject disciplina) {
+        if (espaco == null) {
+            return indicePorDisciplina.getOrDefault(disciplina, -1);
+        }
+        int id = disciplina.getDenseId();
+        return espaco.contains(disciplina) && id < indicePorId.length ? indicePorId[id] : -1;
+    }
+
+    private void emitir(ValidadorPreRequisito validador) {
+        Class<?> tipo = validador.getClass();
+        if (tipo == ValidadorSimples.class) {
+            int indice = indice(((ValidadorSimples) validador).getPreRequisito());
+            if (indice >= 0) {
+                emitirFolha(ProgramaPreRequisitos.APROVADA, indice);
+                registrarAresta(indice);
+                return;
+            }
+        } else if (tipo == ValidadorCreditosMinimos.class) {
+            emitirFolha(ProgramaPreRequisitos.CREDITOS, ((ValidadorCreditosMinimos) validador).getCreditosMinimos());
+            usaCreditos = true;
+            return;
+        } else if (tipo == ValidadorLogicoAND.class) {
+            emitirComposto(ProgramaPreRequisitos.E, ((ValidadorLogicoAND) validador).getValidadores());
+            return;
+        } else if (tipo == ValidadorLogicoOR.class) {
+            emitirComposto(ProgramaPreRequisitos.OU, ((ValidadorLogicoOR) validador).getValidadores());
+            return;
+        }
+        externos.add(validador);
+        emitirFolha(ProgramaPreRequisitos.EXTERNO, externos.size() - 1);
+    }
+
+    private void emitirComposto(int operacao, Collection<ValidadorPreRequisito> filhos) {
+        if (filhos.isEmpty()) {
+            // AND vazio é sempre atendido; OR vazio nunca
+            emitirFolha(operacao == ProgramaPreRequisitos.E ? ProgramaPreRequisitos.VERDADEIRO
+                    : ProgramaPreRequisitos.FALSO, 0);
+            return;
+        }
+        int inicio = reservar();
+        codigo[inicio] = operacao;
+        codigo[inicio + 1] = filhos.size();
+        for (ValidadorPreRequisito filho : filhos) {
+            emitir(filho);
+        }
+        codigo[inicio + 2] = tamanho - inicio;
+    }
+
+    private void registrarAresta(int preRequisito) {
+        // A mesma disciplina pode aparecer em várias folhas: registra o par uma única vez
+        for (int a = quantidadeArestas - 1; a >= 0 && arestas[2 * a + 1] == disciplinaAtual; a--) {
+            if (arestas[2 * a] == preRequisito) {
+                return;
+            }
+        }
+        if (2 * quantidadeArestas + 2 > arestas.length) {
+            arestas = Arrays.copyOf(arestas, arestas.length * 2);
+        }
+        arestas[2 * quantidadeArestas] = preRequisito;
+        arestas[2 * quantidadeArestas + 1] = disciplinaAtual;
+        quantidadeArestas++;
+    }
+
+    private void emitirFolha(int operacao, int argumento) {
+        int inicio = reservar();
+        codigo[inicio] = operacao;
+        codigo[inicio + 1] = argumento;
+        codigo[inicio + 2] = ProgramaPreRequisitos.CABECALHO;
+    }
+
+    private int reservar() {
+        if (tamanho + ProgramaPreRequisitos.CABECALHO > codigo.length) {
+            codigo = Arrays.copyOf(codigo, codigo.length * 2);
+        }
+        int inicio = tamanho;
+        tamanho += ProgramaPreRequisitos.CABECALHO;
+        return inicio;
+    }
+}
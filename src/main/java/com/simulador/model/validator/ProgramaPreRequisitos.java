@@ -0,0 +1,334 @@
+package com.simulador.model.validator;
+
+import com.simulador.model.domain.DenseIdSpace;
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.domain.Transcript;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Pré-requisitos de um catálogo compilados por {@link CompiladorPreRequisitos}.
+ *
+ * Cada nó ocupa três inteiros em prefixo: operação, argumento e tamanho do nó com seus
+ * filhos (para pular o nó inteiro). A avaliação usa um conjunto de bits com as disciplinas
+ * em que o aluno foi aprovado, montado uma vez por aluno a partir do Transcript; a
+ * verificação do catálogo inteiro não aloca memória e não passa pela interface
+ * ValidadorPreRequisito, exceto para validadores externos.
+ */
+public final class ProgramaPreRequisitos {
+
+    static final int CABECALHO = 3;
+
+    static final int VERDADEIRO = 0;
+    static final int FALSO = 1;
+    /** argumento: índice da disciplina que precisa estar aprovada */
+    static final int APROVADA = 2;
+    /** argumento: créditos mínimos */
+    static final int CREDITOS = 3;
+    /** argumento: quantidade de filhos */
+    static final int E = 4;
+    /** argumento: quantidade de filhos */
+    static final int OU = 5;
+    /** argumento: posição do validador original em {@code externos} */
+    static final int EXTERNO = 6;
+
+    private final Subject[] disciplinas;
+    // Com todas as disciplinas no mesmo espaço, o índice vem de indicePorId; caso contrário,
+    // do mapa por identidade
+    private final DenseIdSpace espaco;
+    private final int[] indicePorId;
+    private final Map<Subject, Integer> indicePorDisciplina;
+    private final int[] codigo;
+    private final int[] inicios;
+    private final ValidadorPreRequisito[] externos;
+    private final long[] comExternos;
+    private final int versaoRegras;
+    private final int[] inicioDependentes;
+    private final int[] dependentes;
+    private final int[] dependentesDeCreditos;
+
+    ProgramaPreRequisitos(Subject[] disciplinas, DenseIdSpace espaco, int[] indicePorId,
+                          Map<Subject, Integer> indicePorDisciplina, int[] codigo, int[] inicios,
+                          ValidadorPreRequisito[] externos, long[] comExternos, int versaoRegras,
+                          int[] inicioDependentes, int[] dependentes, int[] dependentesDeCreditos) {
+        this.disciplinas = disciplinas;
+        this.espaco = espaco;
+        this.indicePorId = indicePorId;
+        this.indicePorDisciplina = indicePorDisciplina;
+        this.codigo = codigo;
+        this.inicios = inicios;
+        this.externos = externos;
+        this.comExternos = comExternos;
+        this.versaoRegras = versaoRegras;
+        this.inicioDependentes = inicioDependentes;
+        this.dependentes = dependentes;
+        this.dependentesDeCreditos = dependentesDeCreditos;
+    }
+
+    /**
+     * Versão das regras do catálogo ({@link DenseIdSpace#getRulesVersion()}) lida antes da
+     * compilação, ou 0 se as disciplinas não estão todas registradas no mesmo espaço
+     */
+    public int getVersaoRegras() {
+        return versaoRegras;
+    }
+
+    /**
+     * Indica se os validadores de alguma disciplina do catálogo foram trocados depois da
+     * compilação. Sem espaço de identificadores, trocas não são detectadas
+     */
+    public boolean isRegrasAlteradas() {
+        return espaco != null && espaco.getRulesVersion() != versaoRegras;
+    }
+
+    /**
+     * Indica se o resultado da disciplina depende só do histórico e dos créditos do aluno,
+     * isto é, se não há validadores externos no seu programa
+     */
+    public boolean dependeApenasDoHistorico(int indice) {
+        return (comExternos[indice >>> 6] & (1L << indice)) == 0;
+    }
+
+    public int getQuantidadeDisciplinas() {
+        return disciplinas.length;
+    }
+
+    public Subject getDisciplina(int indice) {
+        return disciplinas[indice];
+    }
+
+    /**
+     * Índice da disciplina no programa, ou -1 se ela não faz parte do catálogo compilado
+     */
+    public int getIndice(Subject disciplina) {
+        if (espaco == null) {
+            return indicePorDisciplina.getOrDefault(disciplina, -1);
+        }
+        int id = disciplina.getDenseId();
+        return espaco.contains(disciplina) && id < indicePorId.length ? indicePorId[id] : -1;
+    }
+
+    /**
+     * Quantidade de disciplinas que citam a disciplina {@code indice} como pré-requisito
+     * (em um ValidadorSimples)
+     */
+    public int getQuantidadeDependentes(int indice) {
+        return inicioDependentes[indice + 1] - inicioDependentes[indice];
+    }
+
+    /**
+     * k-ésima disciplina que cita a disciplina {@code indice} como pré-requisito
+     */
+    public int getDependente(int indice, int k) {
+        return dependentes[inicioDependentes[indice] + k];
+    }
+
+    /**
+     * Disciplinas com ValidadorCreditosMinimos, afetadas por qualquer nova aprovação
+     */
+    public int[] getDependentesDeCreditos() {
+        return dependentesDeCreditos.clone();
+    }
+
+    /**
+     * Disciplinas que o aluno passaria a atender se fosse aprovado na disciplina {@code indice}
+     * (com a carga horária dela somada aos créditos) e que hoje não atende. Só as dependentes
+     * da disciplina e as que exigem créditos mínimos são avaliadas; disciplinas com validadores
+     * externos não são consideradas
+     */
+    public List<Subject> desbloqueadasPor(int indice, Student aluno) {
+        long[] atuais = aprovadas(aluno);
+        long[] hipoteticas = atuais.clone();
+        hipoteticas[indice >>> 6] |= 1L << indice;
+        int creditosAtuais = aluno.getCreditosAcumulados();
+        int creditosHipoteticos = aluno.hasPassedSubject(disciplinas[indice])
+                ? creditosAtuais
+                : creditosAtuais + disciplinas[indice].getWeeklyHours();
+
+        long[] candidatas = new long[atuais.length];
+        for (int p = inicioDependentes[indice]; p < inicioDependentes[indice + 1]; p++) {
+            candidatas[dependentes[p] >>> 6] |= 1L << dependentes[p];
+        }
+        for (int dependente : dependentesDeCreditos) {
+            candidatas[dependente >>> 6] |= 1L << dependente;
+        }
+
+        List<Subject> desbloqueadas = new ArrayList<>();
+        for (int palavra = 0; palavra < candidatas.length; palavra++) {
+            long bits = candidatas[palavra];
+            while (bits != 0) {
+                int d = (palavra << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (dependeApenasDoHistorico(d)
+                        && executar(inicios[d], d, aluno, hipoteticas, creditosHipoteticos)
+                        && !executar(inicios[d], d, aluno, atuais, creditosAtuais)) {
+                    desbloqueadas.add(disciplinas[d]);
+                }
+            }
+        }
+        return desbloqueadas;
+    }
+
+    /**
+     * Cria o conjunto de bits das disciplinas do catálogo em que o aluno foi aprovado
+     */
+    public long[] aprovadas(Student aluno) {
+        long[] aprovadas = new long[(disciplinas.length + 63) >>> 6];
+        aprovadas(aluno, aprovadas);
+        return aprovadas;
+    }
+
+    /**
+     * Preenche {@code destino} com as disciplinas do catálogo em que o aluno foi aprovado
+     */
+    public void aprovadas(Student aluno, long[] destino) {
+        Arrays.fill(destino, 0L);
+        Transcript historico = aluno.getTranscript();
+        if (espaco == null || historico.getIdSpace() != espaco) {
+            historico.forEachPassed(disciplina -> marcar(disciplina, destino));
+            return;
+        }
+        for (int palavra = 0; palavra < historico.wordCount(); palavra++) {
+            long bits = historico.passedWord(palavra);
+            while (bits != 0) {
+                int id = (palavra << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int indice = id < indicePorId.length ? indicePorId[id] : -1;
+                if (indice >= 0) {
+                    destino[indice >>> 6] |= 1L << indice;
+                }
+            }
+        }
+        historico.forEachPassedOutsideSpace(disciplina -> marcar(disciplina, destino));
+    }
+
+    private void marcar(Subject disciplina, long[] destino) {
+        int indice = getIndice(disciplina);
+        if (indice >= 0) {
+            destino[indice >>> 6] |= 1L << indice;
+        }
+    }
+
+    /**
+     * Equivale a {@code getDisciplina(indice).requisitosAtendidos(aluno)}
+     * @param aprovadas conjunto montado por {@link #aprovadas(Student)} para o mesmo aluno
+     */
+    public boolean atendidos(int indice, Student aluno, long[] aprovadas) {
+        return executar(inicios[indice], indice, aluno, aprovadas, aluno.getCreditosAcumulados());
+    }
+
+    /**
+     * Como atendidos(int, Student, long[]), mas com créditos hipotéticos no lugar dos créditos
+     * acumulados do aluno (ex.: ao simular períodos futuros). Validadores externos continuam
+     * avaliados sobre o aluno real
+     */
+    public boolean atendidos(int indice, Student aluno, long[] aprovadas, int creditos) {
+        return executar(inicios[indice], indice, aluno, aprovadas, creditos);
+    }
+
+    /**
+     * Avalia os pré-requisitos da disciplina {@code indice} com um custo por disciplina: a folha
+     * "aprovada em j" vale {@code custo(j)}, E vale o maior custo dos filhos e OU o menor; créditos
+     * mínimos, validadores externos e disciplinas sem pré-requisitos valem 0, e OU vazio vale
+     * Integer.MAX_VALUE. Com custo(j) = períodos até a aprovação em j, o resultado é um limite
+     * inferior dos períodos até a disciplina poder ser cursada
+     */
+    public int custoMinimo(int indice, IntUnaryOperator custo) {
+        return custo(inicios[indice], custo);
+    }
+
+    /**
+     * Marca em {@code destino} as disciplinas cujos pré-requisitos o aluno atende
+     * @return quantidade de disciplinas elegíveis
+     */
+    public int elegiveis(Student aluno, long[] aprovadas, long[] destino) {
+        Arrays.fill(destino, 0L);
+        int creditos = aluno.getCreditosAcumulados();
+        int elegiveis = 0;
+        for (int i = 0; i < disciplinas.length; i++) {
+            if (executar(inicios[i], i, aluno, aprovadas, creditos)) {
+                destino[i >>> 6] |= 1L << i;
+                elegiveis++;
+            }
+        }
+        return elegiveis;
+    }
+
+    /**
+     * Disciplinas do catálogo cujos pré-requisitos o aluno atende, na ordem do catálogo
+     */
+    public List<Subject> disciplinasElegiveis(Student aluno) {
+        long[] aprovadas = aprovadas(aluno);
+        int creditos = aluno.getCreditosAcumulados();
+        List<Subject> elegiveis = new ArrayList<>();
+        for (int i = 0; i < disciplinas.length; i++) {
+            if (executar(inicios[i], i, aluno, aprovadas, creditos)) {
+                elegiveis.add(disciplinas[i]);
+            }
+        }
+        return elegiveis;
+    }
+
+    private int custo(int pc, IntUnaryOperator custo) {
+        int[] c = codigo;
+        switch (c[pc]) {
+            case APROVADA:
+                return custo.applyAsInt(c[pc + 1]);
+            case E:
+            case OU: {
+                boolean e = c[pc] == E;
+                int resultado = e ? 0 : Integer.MAX_VALUE;
+                int filho = pc + CABECALHO;
+                for (int k = c[pc + 1]; k > 0; k--) {
+                    int valor = custo(filho, custo);
+                    resultado = e ? Math.max(resultado, valor) : Math.min(resultado, valor);
+                    filho += c[filho + 2];
+                }
+                return resultado;
+            }
+            case FALSO:
+                return Integer.MAX_VALUE;
+            default:
+                return 0;
+        }
+    }
+
+    private boolean executar(int pc, int disciplina, Student aluno, long[] aprovadas, int creditos) {
+        int[] c = codigo;
+        switch (c[pc]) {
+            case APROVADA: {
+                int indice = c[pc + 1];
+                return (aprovadas[indice >>> 6] & (1L << indice)) != 0;
+            }
+            case CREDITOS:
+                return creditos >= c[pc + 1];
+            case E: {
+                int filho = pc + CABECALHO;
+                for (int k = c[pc + 1]; k > 0; k--) {
+                    if (!executar(filho, disciplina, aluno, aprovadas, creditos)) {
+                        return false;
+                    }
+                    filho += c[filho + 2];
+                }
+                return true;
+            }
+            case OU: {
+                int filho = pc + CABECALHO;
+                for (int k = c[pc + 1]; k > 0; k--) {
+                    if (executar(filho, disciplina, aluno, aprovadas, creditos)) {
+                        return true;
+                    }
+                    filho += c[filho + 2];
+                }
+                return false;
+            }
+            case VERDADEIRO:
+                return true;
+            case FALSO:
+                return false;
+            default:
+                return externos[c[pc + 1]].validar(aluno, disciplinas[disciplina]);
+        }
+    }
+}
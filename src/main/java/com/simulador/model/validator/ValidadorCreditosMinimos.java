@@ -12,6 +12,10 @@ public class ValidadorCreditosMinimos implements ValidadorPreRequisito {
         this.creditosMinimos = creditosMinimos;
     }
     
+    public int getCreditosMinimos() {
+        return creditosMinimos;
+    }
+    
     @Override
     public boolean validar(Student student, Subject subject) {
         // Usa os créditos acumulados pelo estudante
@@ -7,10 +7,15 @@ import java.util.List;
 // Valida se TODOS os pré-requisitos foram atendidos
 public class ValidadorLogicoAND implements ValidadorPreRequisito {
     
-    private List<ValidadorPreRequisito> validadores;
+    private final List<ValidadorPreRequisito> validadores;
     
     public ValidadorLogicoAND(List<ValidadorPreRequisito> validadores) {
-        this.validadores = validadores;
+        // Cópia imutável: alterar a lista do chamador depois não muda a regra
+        this.validadores = List.copyOf(validadores);
+    }
+    
+    public List<ValidadorPreRequisito> getValidadores() {
+        return validadores;
     }
     
     @Override
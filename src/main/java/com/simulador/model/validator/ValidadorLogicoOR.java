@@ -7,10 +7,14 @@ import java.util.List;
 // Valida se PELO MENOS UM dos pré-requisitos foi atendido
 public class ValidadorLogicoOR implements ValidadorPreRequisito {
     
-    private List<ValidadorPreRequisito> validadores;
+    private final List<ValidadorPreRequisito> validadores;
     
     public ValidadorLogicoOR(List<ValidadorPreRequisito> validadores) {
-        this.validadores = validadores;
+        this.validadores = List.copyOf(validadores);
+    }
+    
+    public List<ValidadorPreRequisito> getValidadores() {
+        return validadores;
     }
     
     @Override
@@ -13,16 +13,14 @@ public class ValidadorSimples implements ValidadorPreRequisito {
         this.preRequisito = preRequisito;
     }
     
+    public Subject getPreRequisito() {
+        return preRequisito;
+    }
+    
     @Override
     public boolean validar(Student student, Subject subject) {
-        // Verifica se o aluno cursou a disciplina pré-requisito
-        if (!student.hasCompletedSubject(preRequisito)) {
-            return false;
-        }
-        
-        // Verifica se a nota é >= 6.0 (aprovado)
-        Double nota = student.getGrade(preRequisito);
-        return nota != null && nota >= 6.0;
+        // Verifica se o aluno cursou a disciplina pré-requisito com nota >= 6.0 (aprovado)
+        return student.hasPassedSubject(preRequisito);
     }
     
     /**
@@ -35,8 +33,8 @@ public class ValidadorSimples implements ValidadorPreRequisito {
             );
         }
         
-        Double nota = student.getGrade(preRequisito);
-        if (nota == null || nota < 6.0) {
+        if (!student.hasPassedSubject(preRequisito)) {
+            Double nota = student.getGrade(preRequisito);
             throw new PreRequisitoNaoCumpridoException(
                 "Pré-requisito não aprovado: " + preRequisito.getCode() + 
                 " - Nota: " + nota + " (mínimo: 6.0)"
@@ -0,0 +1,17 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Estratégia de detecção de conflitos de horário entre um conjunto de turmas
+ */
+public interface ConflictDetector {
+
+    /**
+     * Detecta todos os pares de turmas com horários sobrepostos.
+     * Cada par é reportado uma única vez, ordenado pela posição das turmas na coleção.
+     */
+    List<ConflictPair> detectConflicts(Collection<ClassGroup> turmas);
+}
@@ -0,0 +1,32 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+
+/**
+ * Par de turmas com conflito de horário detectado.
+ * A primeira turma é sempre a que aparece antes na coleção analisada.
+ */
+public final class ConflictPair {
+
+    private final ClassGroup first;
+    private final ClassGroup second;
+
+    public ConflictPair(ClassGroup first, ClassGroup second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public ClassGroup getFirst() {
+        return first;
+    }
+
+    public ClassGroup getSecond() {
+        return second;
+    }
+
+    @Override
+    public String toString() {
+        return first.getSubject().getCode() + " (" + first.getId() + ") conflita com "
+                + second.getSubject().getCode() + " (" + second.getId() + ")";
+    }
+}
@@ -1,106 +1,480 @@
 package com.simulador.services;
 
 import com.simulador.model.domain.ClassGroup;
-import com.simulador.model.domain.Subject;
+import com.simulador.model.domain.Schedule;
 import com.simulador.model.exceptions.ConflitoDeHorarioException;
 import java.util.*;
 
 /**
  * Serviço responsável por resolver conflitos de horário entre disciplinas
  * baseado na precedência: Obrigatória > Eletiva > Optativa
+ *
+ * As turmas formam um grafo de conflitos (arestas = horários sobrepostos, em qualquer dia e
+ * com qualquer sobreposição parcial), dividido em componentes conexos. Em cada componente as
+ * turmas são aceitas nível a nível de precedência: uma turma é aceita se não conflita com
+ * nenhuma turma já aceita, e duas turmas do mesmo nível que restam em conflito entre si não
+ * podem ser decididas pela precedência. O modo resolveMaximumWeight escolhe, em vez disso, o
+ * subconjunto sem conflitos de maior peso em cada componente (ou o melhor encontrado dentro do
+ * limite de nós da busca, o que o resultado informa).
  */
 public class ConflictResolutionService {
-    
+
+    /** Limite padrão de nós da busca por componente em resolveMaximumWeight */
+    public static final long DEFAULT_NODE_LIMIT = 200_000;
+
+    private final ConflictDetector conflictDetector;
+    private final long nodeLimit;
+
+    /**
+     * Cria o serviço com o detector par a par, o mais rápido nos tamanhos medidos
+     * (ver benchmarks/README.md)
+     */
+    public ConflictResolutionService() {
+        this(new PairwiseConflictDetector());
+    }
+
+    /**
+     * Cria o serviço com uma estratégia específica de detecção de conflitos
+     */
+    public ConflictResolutionService(ConflictDetector conflictDetector) {
+        this(conflictDetector, DEFAULT_NODE_LIMIT);
+    }
+
+    /**
+     * @param nodeLimit nós visitados por componente antes de a busca de resolveMaximumWeight ser
+     *                  interrompida com o melhor conjunto até então
+     */
+    public ConflictResolutionService(ConflictDetector conflictDetector, long nodeLimit) {
+        if (nodeLimit <= 0) {
+            throw new IllegalArgumentException("Limite de nós deve ser positivo");
+        }
+        this.conflictDetector = conflictDetector;
+        this.nodeLimit = nodeLimit;
+    }
+
     /**
      * Resolve conflitos de horário entre turmas baseado na precedência
      * @param turmas Lista de turmas candidatas
-     * @return Lista de turmas aceitas após resolução de conflitos
+     * @return Lista de turmas aceitas após resolução de conflitos, na ordem da entrada
      * @throws ConflitoDeHorarioException se há conflito entre disciplinas de mesma precedência
      */
     public List<ClassGroup> resolveConflicts(List<ClassGroup> turmas) throws ConflitoDeHorarioException {
         if (turmas == null || turmas.isEmpty()) {
             return new ArrayList<>();
         }
-        
-        // Agrupar turmas por horário
-        Map<String, List<ClassGroup>> turmasPorHorario = groupBySchedule(turmas);
-        
-        List<ClassGroup> turmasAceitas = new ArrayList<>();
-        
-        // Para cada horário, resolver conflitos
-        for (List<ClassGroup> turmasNoHorario : turmasPorHorario.values()) {
-            if (turmasNoHorario.size() == 1) {
-                // Sem conflito
-                turmasAceitas.add(turmasNoHorario.get(0));
+
+        GrafoConflitos grafo = new GrafoConflitos(turmas, conflictDetector);
+        boolean[] bloqueadas = new boolean[grafo.turmas.size()];
+        for (List<Integer> componente : grafo.componentes) {
+            resolveComponentByPrecedence(grafo, componente, bloqueadas);
+        }
+        return grafo.aceitas();
+    }
+
+    /**
+     * Resolve conflitos escolhendo o subconjunto sem conflitos de maior peso, com peso
+     * PlanScoring.PRECEDENCE_WEIGHTED (ver resolveMaximumWeight(List, PlanScoring)). Se a busca
+     * de algum componente é interrompida pelo limite de nós, o resultado não é garantidamente
+     * o de maior peso e isOptimal() devolve false
+     */
+    public MaximumWeightResolution resolveMaximumWeight(List<ClassGroup> turmas) {
+        return resolveMaximumWeight(turmas, PlanScoring.PRECEDENCE_WEIGHTED);
+    }
+
+    /**
+     * Resolve conflitos escolhendo, em cada componente do grafo de conflitos, o conjunto
+     * independente de peso máximo: nunca lança exceção por empate e não descarta turmas
+     * compatíveis entre si. Componentes em que cada turma tem um único horário são intervalos
+     * de um mesmo dia e são resolvidos por programação dinâmica sobre intervalos (O(m log m));
+     * os demais, por busca com poda que parte da solução gulosa. Se a busca de um componente
+     * passa de nodeLimit nós, ela é interrompida e fica o melhor conjunto encontrado até ali
+     * (nunca pior que o guloso, mas não necessariamente o de maior peso): nesse caso o
+     * resultado informa isOptimal() == false
+     * @param criterio peso de cada turma; turmas com peso menor ou igual a zero só são aceitas sem conflitos
+     * @return Turmas aceitas, na ordem da entrada, com o peso total e se a busca foi completa
+     */
+    public MaximumWeightResolution resolveMaximumWeight(List<ClassGroup> turmas, PlanScoring criterio) {
+        if (turmas == null || turmas.isEmpty()) {
+            return new MaximumWeightResolution(new ArrayList<>(), 0, true);
+        }
+
+        GrafoConflitos grafo = new GrafoConflitos(turmas, conflictDetector);
+        boolean completa = true;
+        for (List<Integer> componente : grafo.componentes) {
+            int[] pesos = new int[componente.size()];
+            boolean intervalos = true;
+            for (int i = 0; i < pesos.length; i++) {
+                ClassGroup turma = grafo.turmas.get(componente.get(i));
+                pesos[i] = Math.max(0, criterio.score(turma.getSubject()));
+                intervalos &= turma.getSchedules().size() == 1;
+            }
+            if (intervalos) {
+                resolveIntervalsByWeight(grafo, componente, pesos);
             } else {
-                // Há conflito - aplicar precedência
-                ClassGroup turmaVencedora = resolveConflictByPrecedence(turmasNoHorario);
-                if (turmaVencedora != null) {
-                    turmasAceitas.add(turmaVencedora);
+                completa &= new ConjuntoIndependente(grafo, componente, pesos, nodeLimit).resolver();
+            }
+        }
+        List<ClassGroup> aceitas = grafo.aceitas();
+        int peso = 0;
+        for (ClassGroup turma : aceitas) {
+            peso += Math.max(0, criterio.score(turma.getSubject()));
+        }
+        return new MaximumWeightResolution(aceitas, peso, completa);
+    }
+
+    /**
+     * Resolve um componente do grafo de conflitos: percorre os níveis de precedência do maior
+     * para o menor, aceitando as turmas sem conflito com as já aceitas
+     * @throws ConflitoDeHorarioException se duas turmas de mesma precedência ainda em disputa conflitam
+     */
+    private void resolveComponentByPrecedence(GrafoConflitos grafo, List<Integer> componente, boolean[] bloqueadas)
+            throws ConflitoDeHorarioException {
+
+        List<ClassGroup> turmas = grafo.turmas;
+        componente.sort(Comparator.comparingInt(i -> turmas.get(i).getSubject().getPrecedence()));
+        int inicio = 0;
+        while (inicio < componente.size()) {
+            int precedencia = turmas.get(componente.get(inicio)).getSubject().getPrecedence();
+            int fim = inicio;
+            while (fim < componente.size()
+                    && turmas.get(componente.get(fim)).getSubject().getPrecedence() == precedencia) {
+                fim++;
+            }
+
+            // Turmas do nível que ainda não conflitam com nenhuma aceita
+            List<Integer> emDisputa = new ArrayList<>();
+            for (int i = inicio; i < fim; i++) {
+                int turma = componente.get(i);
+                if (!bloqueadas[turma]) {
+                    emDisputa.add(turma);
+                    grafo.aceitas[turma] = true;
+                }
+            }
+
+            // Se duas delas conflitam entre si, a precedência não decide
+            List<ClassGroup> turmasMesmaPrecedencia = new ArrayList<>();
+            for (int turma : emDisputa) {
+                for (int v = grafo.grau[turma]; v < grafo.grau[turma + 1]; v++) {
+                    if (grafo.aceitas[grafo.vizinhos[v]]) {
+                        turmasMesmaPrecedencia.add(turmas.get(turma));
+                        break;
+                    }
+                }
+            }
+            if (!turmasMesmaPrecedencia.isEmpty()) {
+                throw new ConflitoDeHorarioException(
+                    "Conflito entre disciplinas de mesma precedência: " +
+                    turmasMesmaPrecedencia.stream()
+                        .map(t -> t.getSubject().getCode() + " (" + t.getSubject().getType() + ")")
+                        .reduce((a, b) -> a + ", " + b)
+                        .orElse("")
+                );
+            }
+
+            for (int turma : emDisputa) {
+                for (int v = grafo.grau[turma]; v < grafo.grau[turma + 1]; v++) {
+                    bloqueadas[grafo.vizinhos[v]] = true;
                 }
             }
+            inicio = fim;
         }
-        
-        return turmasAceitas;
     }
-    
+
     /**
-     * Agrupa turmas por horário
+     * Escalonamento de intervalos ponderados: com os intervalos ordenados pelo fim, o melhor
+     * valor até o j-ésimo é max(melhor até j-1, peso de j + melhor até o último que termina
+     * antes do início de j)
      */
-    private Map<String, List<ClassGroup>> groupBySchedule(List<ClassGroup> turmas) {
-        Map<String, List<ClassGroup>> grupos = new HashMap<>();
-        
-        for (ClassGroup turma : turmas) {
-            String horario = turma.getSchedules().toString(); // Simplificado
-            grupos.computeIfAbsent(horario, k -> new ArrayList<>()).add(turma);
-        }
-        
-        return grupos;
+    private void resolveIntervalsByWeight(GrafoConflitos grafo, List<Integer> componente, int[] pesos) {
+        int m = componente.size();
+        Integer[] ordem = new Integer[m];
+        int[] inicios = new int[m];
+        int[] fins = new int[m];
+        for (int i = 0; i < m; i++) {
+            Schedule horario = grafo.turmas.get(componente.get(i)).getSchedules().get(0);
+            ordem[i] = i;
+            inicios[i] = horario.getStartMinute();
+            fins[i] = horario.getEndMinute();
+        }
+        Arrays.sort(ordem, Comparator.comparingInt(i -> fins[i]));
+
+        int[] fimOrdenado = new int[m];
+        for (int j = 0; j < m; j++) {
+            fimOrdenado[j] = fins[ordem[j]];
+        }
+        int[] melhor = new int[m + 1];
+        int[] anterior = new int[m];
+        for (int j = 0; j < m; j++) {
+            // Quantidade de intervalos que terminam até o início de j
+            int baixo = 0;
+            int alto = j;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (fimOrdenado[meio] <= inicios[ordem[j]]) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            anterior[j] = baixo;
+            melhor[j + 1] = Math.max(melhor[j], pesos[ordem[j]] + melhor[baixo]);
+        }
+
+        for (int j = m; j > 0; ) {
+            if (melhor[j] == melhor[j - 1]) {
+                j--;
+            } else {
+                grafo.aceitas[componente.get(ordem[j - 1])] = true;
+                j = anterior[j - 1];
+            }
+        }
+    }
+
+    private static int encontrar(int[] pai, int i) {
+        while (pai[i] != i) {
+            pai[i] = pai[pai[i]];
+            i = pai[i];
+        }
+        return i;
+    }
+
+    private static void unir(int[] pai, int a, int b) {
+        int raizA = encontrar(pai, a);
+        int raizB = encontrar(pai, b);
+        if (raizA != raizB) {
+            // A menor posição vira a raiz: os componentes ficam na ordem da entrada
+            pai[Math.max(raizA, raizB)] = Math.min(raizA, raizB);
+        }
     }
-    
     /**
-     * Resolve conflito baseado na precedência das disciplinas
-     * @param turmasConflitantes Lista de turmas no mesmo horário
-     * @return Turma com maior precedência, ou null se há conflito entre mesma precedência
-     * @throws ConflitoDeHorarioException se há conflito entre disciplinas de mesma precedência
+     * Grafo de conflitos entre as turmas distintas da entrada: listas de adjacência compactas
+     * (vizinhos de i em vizinhos[grau[i]..grau[i+1])) e componentes com conflitos por
+     * união-busca. Turmas sem conflito já saem aceitas
      */
-    private ClassGroup resolveConflictByPrecedence(List<ClassGroup> turmasConflitantes) 
-            throws ConflitoDeHorarioException {
-        
-        if (turmasConflitantes.size() == 1) {
-            return turmasConflitantes.get(0);
-        }
-        
-        // Encontrar a disciplina com maior precedência
-        ClassGroup turmaVencedora = null;
-        int maiorPrecedencia = Integer.MAX_VALUE;
-        
-        for (ClassGroup turma : turmasConflitantes) {
-            int precedencia = turma.getSubject().getPrecedence();
-            if (precedencia < maiorPrecedencia) {
-                maiorPrecedencia = precedencia;
-                turmaVencedora = turma;
-            }
-        }
-        
-        // Verificar se há múltiplas disciplinas com a mesma precedência
-        List<ClassGroup> turmasMesmaPrecedencia = new ArrayList<>();
-        for (ClassGroup turma : turmasConflitantes) {
-            if (turma.getSubject().getPrecedence() == maiorPrecedencia) {
-                turmasMesmaPrecedencia.add(turma);
-            }
-        }
-        
-        // Se há mais de uma disciplina com a mesma precedência, há conflito
-        if (turmasMesmaPrecedencia.size() > 1) {
-            throw new ConflitoDeHorarioException(
-                "Conflito entre disciplinas de mesma precedência: " + 
-                turmasMesmaPrecedencia.stream()
-                    .map(t -> t.getSubject().getCode() + " (" + t.getSubject().getType() + ")")
-                    .reduce("", (a, b) -> a + ", " + b)
-            );
-        }
-        
-        return turmaVencedora;
+    private static final class GrafoConflitos {
+        final List<ClassGroup> turmas;
+        final int[] grau;
+        final int[] vizinhos;
+        final boolean[] aceitas;
+        final Collection<List<Integer>> componentes;
+
+        GrafoConflitos(List<ClassGroup> entrada, ConflictDetector detector) {
+            // Posição de cada turma; uma turma repetida na entrada é considerada uma só vez
+            Map<ClassGroup, Integer> posicoes = new IdentityHashMap<>(entrada.size() * 2);
+            turmas = new ArrayList<>(entrada.size());
+            for (ClassGroup turma : entrada) {
+                if (posicoes.putIfAbsent(turma, turmas.size()) == null) {
+                    turmas.add(turma);
+                }
+            }
+            int n = turmas.size();
+
+            List<ConflictPair> conflitos = detector.detectConflicts(turmas);
+            grau = new int[n + 1];
+            int[] pai = new int[n];
+            for (int i = 0; i < n; i++) {
+                pai[i] = i;
+            }
+            int[] origens = new int[conflitos.size()];
+            int[] destinos = new int[conflitos.size()];
+            for (int p = 0; p < conflitos.size(); p++) {
+                int a = posicoes.get(conflitos.get(p).getFirst());
+                int b = posicoes.get(conflitos.get(p).getSecond());
+                origens[p] = a;
+                destinos[p] = b;
+                grau[a + 1]++;
+                grau[b + 1]++;
+                unir(pai, a, b);
+            }
+            for (int i = 0; i < n; i++) {
+                grau[i + 1] += grau[i];
+            }
+            vizinhos = new int[2 * conflitos.size()];
+            int[] proximo = Arrays.copyOf(grau, n);
+            for (int p = 0; p < origens.length; p++) {
+                vizinhos[proximo[origens[p]]++] = destinos[p];
+                vizinhos[proximo[destinos[p]]++] = origens[p];
+            }
+
+            aceitas = new boolean[n];
+            Map<Integer, List<Integer>> porRaiz = new LinkedHashMap<>();
+            for (int i = 0; i < n; i++) {
+                if (grau[i] == grau[i + 1]) {
+                    // Sem conflito
+                    aceitas[i] = true;
+                } else {
+                    porRaiz.computeIfAbsent(encontrar(pai, i), k -> new ArrayList<>()).add(i);
+                }
+            }
+            componentes = porRaiz.values();
+        }
+
+        boolean conflitam(int a, int b) {
+            for (int v = grau[a]; v < grau[a + 1]; v++) {
+                if (vizinhos[v] == b) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<ClassGroup> aceitas() {
+            List<ClassGroup> turmasAceitas = new ArrayList<>();
+            for (int i = 0; i < turmas.size(); i++) {
+                if (aceitas[i]) {
+                    turmasAceitas.add(turmas.get(i));
+                }
+            }
+            return turmasAceitas;
+        }
+    }
+
+    /**
+     * Conjunto independente de peso máximo em um componente qualquer: busca em profundidade
+     * que decide cada turma (em ordem decrescente de peso) entre aceitar, removendo as vizinhas,
+     * ou descartar. O ponto de partida é a solução gulosa, e a poda usa uma cobertura do
+     * componente por cliques de turmas que conflitam duas a duas: como no máximo uma turma de
+     * cada clique é aceita, o peso atual mais a maior turma livre de cada clique limita o ramo
+     */
+    private static final class ConjuntoIndependente {
+        private final GrafoConflitos grafo;
+        private final int[] membros;
+        private final int[] pesos;
+        // Membros posteriores em conflito com cada membro (vizinhosPosteriores[k][...] > k)
+        private final int[][] vizinhosPosteriores;
+        private final int[] clique;
+        private final int[] maiorPorClique;
+        private final int[] livres;
+        private final boolean[] escolhidas;
+        private final long nodeLimit;
+        private boolean[] melhorEscolha;
+        private int melhorPeso;
+        private long nos;
+
+        ConjuntoIndependente(GrafoConflitos grafo, List<Integer> componente, int[] pesosPorMembro, long nodeLimit) {
+            this.grafo = grafo;
+            this.nodeLimit = nodeLimit;
+            int m = componente.size();
+            Integer[] ordem = new Integer[m];
+            for (int i = 0; i < m; i++) {
+                ordem[i] = i;
+            }
+            Arrays.sort(ordem, (a, b) -> Integer.compare(pesosPorMembro[b], pesosPorMembro[a]));
+            membros = new int[m];
+            pesos = new int[m];
+            for (int i = 0; i < m; i++) {
+                membros[i] = componente.get(ordem[i]);
+                pesos[i] = pesosPorMembro[ordem[i]];
+            }
+            Map<Integer, Integer> posicoes = new HashMap<>(m * 2);
+            for (int i = 0; i < m; i++) {
+                posicoes.put(membros[i], i);
+            }
+            vizinhosPosteriores = new int[m][];
+            for (int k = 0; k < m; k++) {
+                int turma = membros[k];
+                int[] posteriores = new int[grafo.grau[turma + 1] - grafo.grau[turma]];
+                int quantidade = 0;
+                for (int v = grafo.grau[turma]; v < grafo.grau[turma + 1]; v++) {
+                    int i = posicoes.get(grafo.vizinhos[v]);
+                    if (i > k) {
+                        posteriores[quantidade++] = i;
+                    }
+                }
+                vizinhosPosteriores[k] = Arrays.copyOf(posteriores, quantidade);
+            }
+            // Quantas escolhas bloqueiam cada membro (0 = livre)
+            livres = new int[m];
+            escolhidas = new boolean[m];
+
+            // Cobertura gulosa por cliques: cada membro entra na primeira clique em que conflita
+            // com todos os membros já presentes
+            clique = new int[m];
+            List<List<Integer>> cliques = new ArrayList<>();
+            for (int i = 0; i < m; i++) {
+                int c = 0;
+                while (c < cliques.size() && !conflitaComTodos(i, cliques.get(c))) {
+                    c++;
+                }
+                if (c == cliques.size()) {
+                    cliques.add(new ArrayList<>());
+                }
+                cliques.get(c).add(i);
+                clique[i] = c;
+            }
+            maiorPorClique = new int[cliques.size()];
+
+            // Solução gulosa: membros em ordem decrescente de peso, aceitos se ainda livres
+            melhorEscolha = new boolean[m];
+            for (int i = 0; i < m; i++) {
+                if (livres[i] == 0 && pesos[i] > 0) {
+                    melhorEscolha[i] = true;
+                    melhorPeso += pesos[i];
+                    bloquear(i, 1);
+                }
+            }
+            Arrays.fill(livres, 0);
+        }
+
+        private boolean conflitaComTodos(int i, List<Integer> outros) {
+            for (int outro : outros) {
+                if (!grafo.conflitam(membros[i], membros[outro])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Marca as turmas escolhidas como aceitas
+         * @return false se a busca foi interrompida pelo limite de nós
+         */
+        boolean resolver() {
+            buscar(0, 0);
+            for (int i = 0; i < membros.length; i++) {
+                if (melhorEscolha[i]) {
+                    grafo.aceitas[membros[i]] = true;
+                }
+            }
+            return nos <= nodeLimit;
+        }
+
+        private void buscar(int k, int peso) {
+            if (++nos > nodeLimit) {
+                return;
+            }
+            Arrays.fill(maiorPorClique, 0);
+            for (int i = k; i < membros.length; i++) {
+                if (livres[i] == 0 && pesos[i] > maiorPorClique[clique[i]]) {
+                    maiorPorClique[clique[i]] = pesos[i];
+                }
+            }
+            int restante = 0;
+            for (int maior : maiorPorClique) {
+                restante += maior;
+            }
+            if (peso + restante <= melhorPeso) {
+                return;
+            }
+            if (k == membros.length) {
+                melhorPeso = peso;
+                melhorEscolha = escolhidas.clone();
+                return;
+            }
+            if (livres[k] == 0 && pesos[k] > 0) {
+                escolhidas[k] = true;
+                bloquear(k, 1);
+                buscar(k + 1, peso + pesos[k]);
+                bloquear(k, -1);
+                escolhidas[k] = false;
+            }
+            buscar(k + 1, peso);
+        }
+
+        private void bloquear(int k, int delta) {
+            for (int i : vizinhosPosteriores[k]) {
+                livres[i] += delta;
+            }
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,379 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.domain.TimetableMask;
+import java.util.*;
+
+/**
+ * Alocação estável de turmas para uma turma de ingressantes inteira, por aceitação adiada com
+ * propostas dos alunos (Gale-Shapley, na variante em que cada aluno pode ficar com várias turmas).
+ *
+ * Cada aluno percorre a própria lista de turmas, em ordem de preferência, propondo-se às que
+ * são viáveis com as que ele já retém: sem conflito de horário, dentro de maxWeeklyHours e sem
+ * outra turma da mesma disciplina (as turmas em que ele já está matriculado contam). Turmas de
+ * disciplinas cujos pré-requisitos o aluno não atende são descartadas de saída. Cada turma
+ * retém as melhores propostas até a capacidade livre (getAvailableSlots), com a mesma
+ * prioridade do SeatAllocationEngine: mais créditos acumulados e, no empate, o sorteio. Um aluno
+ * desalojado volta à fila e percorre a lista de novo, já que turmas antes inviáveis podem ter
+ * passado a caber; como o pior aluno retido por uma turma só melhora, cada par (aluno, turma)
+ * é aceito no máximo uma vez. No resultado, nenhum aluno prefere uma turma viável com as que
+ * recebeu que o aceitaria.
+ *
+ * Tudo é feito sobre vetores de primitivos com índices locais: preferências em listas
+ * compactas, ocupação semanal em três palavras por aluno, um heap de máximo (pior aluno na raiz)
+ * por turma e uma fila circular de alunos com propostas pendentes. Nada é matriculado; o
+ * resultado pode ser efetivado, por exemplo, com EnrollmentTransactionService.
+ */
+public class DeferredAcceptanceAllocator {
+
+    private final long seed;
+
+    /**
+     * @param seed semente do sorteio de desempate
+     */
+    public DeferredAcceptanceAllocator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Calcula a alocação estável
+     * @param preferences turmas de cada aluno em ordem decrescente de preferência; turmas
+     *                    repetidas ou nulas são ignoradas
+     */
+    public StableAllocation allocate(Map<Student, List<ClassGroup>> preferences) {
+        if (preferences == null) {
+            throw new IllegalArgumentException("Preferências não podem ser nulas");
+        }
+        return new Execucao(preferences, seed).executar();
+    }
+
+    private static final class Execucao {
+        private final Student[] alunos;
+        private final Map<Student, Integer> indiceAluno;
+        private final List<ClassGroup> turmas = new ArrayList<>();
+        private final Map<ClassGroup, Integer> indiceTurma = new HashMap<>();
+
+        // Preferências do aluno s em prefTurma[prefInicio[s]..prefInicio[s+1])
+        private final int[] prefInicio;
+        private final int[] prefTurma;
+        // Preferência já retida pela turma, ou bloqueada por matrícula em turma da mesma disciplina
+        // ou por pré-requisitos não atendidos
+        private final boolean[] retida;
+        private final boolean[] bloqueada;
+        private final int[] proxima;
+
+        private final long[] ocupacao;
+        private final int[] horas;
+        private final int[] maxHoras;
+        private final int[] posicao;
+
+        private long[] mascaras;
+        private int[] horasTurma;
+        private int[] disciplinaTurma;
+        // Heap da turma t em heap[heapInicio[t]..heapInicio[t] + heapTamanho[t]); heapInicio[t+1]
+        // - heapInicio[t] é a capacidade efetiva
+        private int[] heapInicio;
+        private int[] heapTamanho;
+        private int[] heap;
+
+        Execucao(Map<Student, List<ClassGroup>> preferences, long seed) {
+            int quantidadeAlunos = preferences.size();
+            alunos = new Student[quantidadeAlunos];
+            indiceAluno = new HashMap<>(quantidadeAlunos * 2);
+            prefInicio = new int[quantidadeAlunos + 1];
+
+            // Preferências sem repetição, com índices locais de turma
+            int[] marca = new int[16];
+            int[] temporario = new int[16];
+            int quantidade = 0;
+            int s = 0;
+            for (Map.Entry<Student, List<ClassGroup>> entrada : preferences.entrySet()) {
+                alunos[s] = entrada.getKey();
+                indiceAluno.put(entrada.getKey(), s);
+                prefInicio[s] = quantidade;
+                for (ClassGroup turma : entrada.getValue()) {
+                    if (turma == null) {
+                        continue;
+                    }
+                    Integer t = indiceTurma.get(turma);
+                    if (t == null) {
+                        t = turmas.size();
+                        indiceTurma.put(turma, t);
+                        turmas.add(turma);
+                        if (t == marca.length) {
+                            marca = Arrays.copyOf(marca, t * 2);
+                        }
+                    }
+                    if (marca[t] != s + 1) {
+                        marca[t] = s + 1;
+                        if (quantidade == temporario.length) {
+                            temporario = Arrays.copyOf(temporario, quantidade * 2);
+                        }
+                        temporario[quantidade++] = t;
+                    }
+                }
+                s++;
+            }
+            prefInicio[quantidadeAlunos] = quantidade;
+            prefTurma = Arrays.copyOf(temporario, quantidade);
+            retida = new boolean[quantidade];
+            bloqueada = new boolean[quantidade];
+            proxima = Arrays.copyOf(prefInicio, quantidadeAlunos);
+
+            prepararTurmas();
+
+            // Pré-requisitos avaliados uma vez por (aluno, disciplina); as preferências de um aluno
+            // são poucas, então turmas repetidas da disciplina são achadas na própria lista
+            for (s = 0; s < quantidadeAlunos; s++) {
+                for (int p = prefInicio[s]; p < prefInicio[s + 1]; p++) {
+                    int anterior = prefInicio[s];
+                    while (anterior < p && disciplinaTurma[prefTurma[anterior]] != disciplinaTurma[prefTurma[p]]) {
+                        anterior++;
+                    }
+                    bloqueada[p] = anterior < p
+                            ? bloqueada[anterior]
+                            : !turmas.get(prefTurma[p]).getSubject().requisitosAtendidos(alunos[s]);
+                }
+            }
+
+            // Estado inicial de cada aluno: as turmas em que já está matriculado
+            ocupacao = new long[3 * quantidadeAlunos];
+            horas = new int[quantidadeAlunos];
+            maxHoras = new int[quantidadeAlunos];
+            for (s = 0; s < quantidadeAlunos; s++) {
+                maxHoras[s] = alunos[s].getMaxWeeklyHours();
+                for (ClassGroup matriculada : alunos[s].getEnrolledClassGroups()) {
+                    TimetableMask mascara = matriculada.getOccupancy();
+                    for (int k = 0; k < 3; k++) {
+                        ocupacao[3 * s + k] |= mascara.getWord(k);
+                    }
+                    horas[s] += matriculada.getSubject().getWeeklyHours();
+                    for (int p = prefInicio[s]; p < prefInicio[s + 1]; p++) {
+                        if (turmas.get(prefTurma[p]).getSubject() == matriculada.getSubject()) {
+                            bloqueada[p] = true;
+                        }
+                    }
+                }
+            }
+
+            // Prioridade das turmas sobre os alunos: posição na ordem global (menor = melhor)
+            long[] sorteios = new long[quantidadeAlunos];
+            Integer[] ordem = new Integer[quantidadeAlunos];
+            for (s = 0; s < quantidadeAlunos; s++) {
+                sorteios[s] = SeatAllocationEngine.sorteio(seed, alunos[s]);
+                ordem[s] = s;
+            }
+            Arrays.sort(ordem, (a, b) -> {
+                int creditosA = alunos[a].getCreditosAcumulados();
+                int creditosB = alunos[b].getCreditosAcumulados();
+                if (creditosA != creditosB) {
+                    return Integer.compare(creditosB, creditosA);
+                }
+                if (sorteios[a] != sorteios[b]) {
+                    return Long.compare(sorteios[a], sorteios[b]);
+                }
+                return alunos[a].getRegistration().compareTo(alunos[b].getRegistration());
+            });
+            posicao = new int[quantidadeAlunos];
+            for (int i = 0; i < quantidadeAlunos; i++) {
+                posicao[ordem[i]] = i;
+            }
+        }
+
+        private void prepararTurmas() {
+            int quantidadeTurmas = turmas.size();
+            mascaras = new long[3 * quantidadeTurmas];
+            horasTurma = new int[quantidadeTurmas];
+            disciplinaTurma = new int[quantidadeTurmas];
+            Map<Subject, Integer> indiceDisciplina = new IdentityHashMap<>();
+            for (int t = 0; t < quantidadeTurmas; t++) {
+                ClassGroup turma = turmas.get(t);
+                for (int k = 0; k < 3; k++) {
+                    mascaras[3 * t + k] = turma.getOccupancy().getWord(k);
+                }
+                horasTurma[t] = turma.getSubject().getWeeklyHours();
+                disciplinaTurma[t] = indiceDisciplina.computeIfAbsent(turma.getSubject(), d -> indiceDisciplina.size());
+            }
+
+            // Capacidade efetiva: vagas livres, limitadas à demanda da turma
+            int[] demanda = new int[quantidadeTurmas];
+            for (int t : prefTurma) {
+                demanda[t]++;
+            }
+            heapInicio = new int[quantidadeTurmas + 1];
+            for (int t = 0; t < quantidadeTurmas; t++) {
+                int capacidade = Math.min(Math.max(0, turmas.get(t).getAvailableSlots()), demanda[t]);
+                heapInicio[t + 1] = heapInicio[t] + capacidade;
+            }
+            heapTamanho = new int[quantidadeTurmas];
+            heap = new int[heapInicio[quantidadeTurmas]];
+        }
+
+        StableAllocation executar() {
+            int quantidadeAlunos = alunos.length;
+            int[] fila = new int[Math.max(1, quantidadeAlunos)];
+            boolean[] naFila = new boolean[quantidadeAlunos];
+            int cabeca = 0;
+            int tamanhoFila = 0;
+            for (int s = 0; s < quantidadeAlunos; s++) {
+                if (prefInicio[s] < prefInicio[s + 1]) {
+                    fila[tamanhoFila++] = s;
+                    naFila[s] = true;
+                }
+            }
+
+            while (tamanhoFila > 0) {
+                int s = fila[cabeca];
+                cabeca = cabeca + 1 == fila.length ? 0 : cabeca + 1;
+                tamanhoFila--;
+                naFila[s] = false;
+
+                while (proxima[s] < prefInicio[s + 1]) {
+                    int p = proxima[s]++;
+                    if (retida[p] || bloqueada[p] || !viavel(s, prefTurma[p])) {
+                        continue;
+                    }
+                    int t = prefTurma[p];
+                    int capacidade = heapInicio[t + 1] - heapInicio[t];
+                    if (heapTamanho[t] < capacidade) {
+                        inserir(t, s);
+                    } else if (capacidade > 0 && posicao[s] < posicao[heap[heapInicio[t]]]) {
+                        int desalojado = heap[heapInicio[t]];
+                        heap[heapInicio[t]] = s;
+                        descer(t, 0);
+                        liberar(desalojado, t);
+                        if (!naFila[desalojado]) {
+                            int fim = cabeca + tamanhoFila;
+                            fila[fim >= fila.length ? fim - fila.length : fim] = desalojado;
+                            tamanhoFila++;
+                            naFila[desalojado] = true;
+                        }
+                    } else {
+                        continue;
+                    }
+                    retida[p] = true;
+                    for (int k = 0; k < 3; k++) {
+                        ocupacao[3 * s + k] |= mascaras[3 * t + k];
+                    }
+                    horas[s] += horasTurma[t];
+                }
+            }
+            return montarResultado();
+        }
+
+        private boolean viavel(int s, int t) {
+            if (horas[s] + horasTurma[t] > maxHoras[s]) {
+                return false;
+            }
+            for (int k = 0; k < 3; k++) {
+                if ((ocupacao[3 * s + k] & mascaras[3 * t + k]) != 0) {
+                    return false;
+                }
+            }
+            for (int p = prefInicio[s]; p < prefInicio[s + 1]; p++) {
+                if (retida[p] && disciplinaTurma[prefTurma[p]] == disciplinaTurma[t]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Desfaz a retenção da turma t pelo aluno, que volta a percorrer as preferências do início
+         */
+        private void liberar(int s, int t) {
+            for (int p = prefInicio[s]; p < prefInicio[s + 1]; p++) {
+                if (prefTurma[p] == t && retida[p]) {
+                    retida[p] = false;
+                    break;
+                }
+            }
+            // As turmas retidas não se sobrepõem: remover os bits da turma não afeta as demais
+            for (int k = 0; k < 3; k++) {
+                ocupacao[3 * s + k] &= ~mascaras[3 * t + k];
+            }
+            horas[s] -= horasTurma[t];
+            proxima[s] = prefInicio[s];
+        }
+
+        private void inserir(int t, int s) {
+            int base = heapInicio[t];
+            int i = heapTamanho[t]++;
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (posicao[heap[base + pai]] >= posicao[s]) {
+                    break;
+                }
+                heap[base + i] = heap[base + pai];
+                i = pai;
+            }
+            heap[base + i] = s;
+        }
+
+        private void descer(int t, int i) {
+            int base = heapInicio[t];
+            int tamanho = heapTamanho[t];
+            int s = heap[base + i];
+            while (true) {
+                int filho = 2 * i + 1;
+                if (filho >= tamanho) {
+                    break;
+                }
+                if (filho + 1 < tamanho && posicao[heap[base + filho + 1]] > posicao[heap[base + filho]]) {
+                    filho++;
+                }
+                if (posicao[heap[base + filho]] <= posicao[s]) {
+                    break;
+                }
+                heap[base + i] = heap[base + filho];
+                i = filho;
+            }
+            heap[base + i] = s;
+        }
+
+        private StableAllocation montarResultado() {
+            int quantidadeAlunos = alunos.length;
+            int[] inicioAluno = new int[quantidadeAlunos + 1];
+            int total = 0;
+            for (int s = 0; s < quantidadeAlunos; s++) {
+                inicioAluno[s] = total;
+                for (int p = prefInicio[s]; p < prefInicio[s + 1]; p++) {
+                    if (retida[p]) {
+                        total++;
+                    }
+                }
+            }
+            inicioAluno[quantidadeAlunos] = total;
+            int[] turmasPorAluno = new int[total];
+            int k = 0;
+            for (int p = 0; p < prefTurma.length; p++) {
+                if (retida[p]) {
+                    turmasPorAluno[k++] = prefTurma[p];
+                }
+            }
+
+            // Alunos de cada turma em ordem de prioridade (o heap tem o pior na raiz)
+            int quantidadeTurmas = turmas.size();
+            int[] inicioTurma = new int[quantidadeTurmas + 1];
+            int[] alunosPorTurma = new int[total];
+            k = 0;
+            for (int t = 0; t < quantidadeTurmas; t++) {
+                inicioTurma[t] = k;
+                int base = heapInicio[t];
+                long[] chaves = new long[heapTamanho[t]];
+                for (int i = 0; i < chaves.length; i++) {
+                    chaves[i] = ((long) posicao[heap[base + i]] << 32) | heap[base + i];
+                }
+                Arrays.sort(chaves);
+                for (long chave : chaves) {
+                    alunosPorTurma[k++] = (int) chave;
+                }
+            }
+            inicioTurma[quantidadeTurmas] = k;
+            return new StableAllocation(alunos, turmas.toArray(new ClassGroup[0]), indiceAluno, indiceTurma,
+                    inicioAluno, turmasPorAluno, inicioTurma, alunosPorTurma);
+        }
+    }
+}
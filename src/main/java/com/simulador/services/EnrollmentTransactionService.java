@@ -0,0 +1,75 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+import com.simulador.model.exceptions.TurmaCheiaException;
+import java.util.*;
+
+/**
+ * Serviço de matrícula transacional em várias turmas: o aluno obtém vaga em todas
+ * as turmas solicitadas ou em nenhuma.
+ *
+ * As vagas são reservadas pelos contadores atômicos das turmas, sempre na mesma
+ * ordem global (por id), sem bloqueios e portanto sem risco de deadlock. Em caso de
+ * falha, as reservas parciais são devolvidas antes de lançar a exceção.
+ */
+public class EnrollmentTransactionService {
+
+    private static final Comparator<ClassGroup> ORDEM_GLOBAL =
+            Comparator.comparing(ClassGroup::getId).thenComparingInt(System::identityHashCode);
+
+    /**
+     * Matricula o aluno em todas as turmas de forma atômica
+     * @throws TurmaCheiaException se alguma turma estiver cheia ou o aluno já estiver matriculado nela;
+     *         nesse caso nenhuma matrícula é mantida
+     */
+    public void enrollAll(Student student, Collection<ClassGroup> turmas) throws TurmaCheiaException {
+        if (student == null) {
+            throw new IllegalArgumentException("Aluno não pode ser nulo");
+        }
+        if (turmas == null || turmas.isEmpty()) {
+            return;
+        }
+
+        List<ClassGroup> ordenadas = new ArrayList<>(new LinkedHashSet<>(turmas));
+        ordenadas.sort(ORDEM_GLOBAL);
+
+        for (ClassGroup turma : ordenadas) {
+            if (turma.isStudentEnrolled(student)) {
+                throw new TurmaCheiaException("Aluno já está matriculado na turma " + turma.getId());
+            }
+        }
+
+        // Fase 1: reservar uma vaga em cada turma
+        List<ClassGroup.Reservation> reservas = new ArrayList<>(ordenadas.size());
+        for (ClassGroup turma : ordenadas) {
+            ClassGroup.Reservation reserva = turma.reserveSlot();
+            if (reserva == null) {
+                liberarReservas(reservas, 0);
+                throw new TurmaCheiaException(
+                    "Turma " + turma.getId() + " está cheia. Capacidade: " + turma.getCapacity()
+                );
+            }
+            reservas.add(reserva);
+        }
+
+        // Fase 2: confirmar as reservas para o aluno
+        for (int i = 0; i < reservas.size(); i++) {
+            ClassGroup turma = ordenadas.get(i);
+            if (!reservas.get(i).confirm(student)) {
+                // Matrícula concorrente do mesmo aluno: desfaz as confirmações e as reservas restantes
+                for (int j = 0; j < i; j++) {
+                    ordenadas.get(j).removeStudent(student);
+                }
+                liberarReservas(reservas, i + 1);
+                throw new TurmaCheiaException("Aluno já está matriculado na turma " + turma.getId());
+            }
+        }
+    }
+
+    private void liberarReservas(List<ClassGroup.Reservation> reservas, int inicio) {
+        for (int i = inicio; i < reservas.size(); i++) {
+            reservas.get(i).release();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de ConflictResolutionService.resolveMaximumWeight: as turmas aceitas, sem conflitos
+ * entre si, e se a busca garantiu o peso máximo em todos os componentes
+ */
+public final class MaximumWeightResolution {
+
+    private final List<ClassGroup> classGroups;
+    private final int weight;
+    private final boolean optimal;
+
+    MaximumWeightResolution(List<ClassGroup> classGroups, int weight, boolean optimal) {
+        this.classGroups = Collections.unmodifiableList(classGroups);
+        this.weight = weight;
+        this.optimal = optimal;
+    }
+
+    /**
+     * Turmas aceitas, na ordem da entrada (lista somente leitura)
+     */
+    public List<ClassGroup> getClassGroups() {
+        return classGroups;
+    }
+
+    /**
+     * Soma dos pesos das turmas aceitas, segundo o PlanScoring usado
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Indica se a busca foi completa em todos os componentes, isto é, se nenhum conjunto sem
+     * conflitos tem peso maior. Quando o limite de nós é atingido em algum componente, o
+     * conjunto desse componente é o melhor encontrado até então
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Peso ").append(weight);
+        if (!optimal) {
+            sb.append(" (busca interrompida)");
+        }
+        sb.append(':');
+        for (ClassGroup turma : classGroups) {
+            sb.append(' ').append(turma.getId());
+        }
+        return sb.toString();
+    }
+}
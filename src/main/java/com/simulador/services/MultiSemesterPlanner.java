@@ -0,0 +1,568 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.validator.ProgramaPreRequisitos;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Planejamento de vários períodos: a sequência com o menor número de períodos até o aluno
+ * ser aprovado em todas as disciplinas-alvo, respeitando pré-requisitos (ProgramaPreRequisitos),
+ * co-requisitos (cursados no mesmo período ou antes) e a carga horária máxima por período.
+ * Conflitos de horário não são considerados, já que as turmas de períodos futuros não existem.
+ * Supõe-se aprovação em todas as disciplinas cursadas.
+ *
+ * Só entram na busca os alvos e as disciplinas citadas, direta ou indiretamente, nos seus
+ * pré-requisitos e co-requisitos. Em cada período são considerados apenas conjuntos maximais
+ * de disciplinas (aprovação a mais nunca atrasa o plano), e alvos dos quais nada depende são
+ * intercambiáveis com os de mesma carga horária. A busca em profundidade é dividida
+ * em tarefas do ForkJoinPool nos primeiros níveis e compartilha entre as tarefas o melhor
+ * número de períodos encontrado (ponto de partida: um plano guloso) e um mapa de memorização
+ * (disciplinas aprovadas → limite inferior dos períodos restantes). O limite inferior de cada
+ * estado combina o caminho crítico de pré-requisitos e a carga horária pendente.
+ */
+public class MultiSemesterPlanner {
+
+    /** Limite padrão de estados visitados e conjuntos de período enumerados por planejamento */
+    public static final long DEFAULT_NODE_LIMIT = 200_000;
+
+    // Níveis da busca divididos em tarefas do ForkJoinPool; abaixo deles a busca é sequencial
+    private static final int PROFUNDIDADE_PARALELA = 2;
+
+    private final ForkJoinPool pool;
+    private final long nodeLimit;
+
+    public MultiSemesterPlanner() {
+        this(ForkJoinPool.commonPool(), DEFAULT_NODE_LIMIT);
+    }
+
+    /**
+     * @param nodeLimit estados e conjuntos de período antes de a busca ser interrompida com o
+     *                  melhor plano até então
+     */
+    public MultiSemesterPlanner(ForkJoinPool pool, long nodeLimit) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool de execução não pode ser nulo");
+        }
+        if (nodeLimit <= 0) {
+            throw new IllegalArgumentException("Limite de nós deve ser positivo");
+        }
+        this.pool = pool;
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Planeja os períodos até a aprovação do aluno nas disciplinas-alvo ainda não aprovadas
+     * @param programa pré-requisitos compilados do catálogo
+     * @param aluno estudante (histórico, créditos e carga horária máxima por período)
+     * @param targets disciplinas a concluir (ex.: todas as obrigatórias)
+     * @throws IllegalArgumentException se algum alvo não faz parte do catálogo do programa
+     */
+    public SemesterPlan plan(ProgramaPreRequisitos programa, Student aluno, Collection<Subject> targets) {
+        if (programa == null || aluno == null || targets == null) {
+            throw new IllegalArgumentException("Programa, aluno e disciplinas-alvo não podem ser nulos");
+        }
+        return new Busca(programa, aluno, targets, nodeLimit).executar(pool);
+    }
+
+    /**
+     * Disciplinas aprovadas, como chave do mapa de memorização
+     */
+    private static final class Estado {
+        private final long[] aprovadas;
+        private final int hash;
+
+        Estado(long[] aprovadas) {
+            this.aprovadas = aprovadas;
+            this.hash = Arrays.hashCode(aprovadas);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Estado && Arrays.equals(aprovadas, ((Estado) obj).aprovadas);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Períodos já escolhidos, do último para o primeiro (lista persistente compartilhada entre ramos)
+     */
+    private static final class Caminho {
+        final int[] disciplinas;
+        final Caminho anterior;
+        final int tamanho;
+
+        Caminho(int[] disciplinas, Caminho anterior) {
+            this.disciplinas = disciplinas;
+            this.anterior = anterior;
+            this.tamanho = anterior == null ? 1 : anterior.tamanho + 1;
+        }
+    }
+
+    private static final class Ramo extends RecursiveAction {
+        private final Busca busca;
+        private final long[] aprovadas;
+        private final int creditos;
+        private final int periodo;
+        private final Caminho caminho;
+
+        Ramo(Busca busca, long[] aprovadas, int creditos, int periodo, Caminho caminho) {
+            this.busca = busca;
+            this.aprovadas = aprovadas;
+            this.creditos = creditos;
+            this.periodo = periodo;
+            this.caminho = caminho;
+        }
+
+        @Override
+        protected void compute() {
+            busca.explorar(aprovadas, creditos, periodo, caminho);
+        }
+    }
+
+    /**
+     * Estado compartilhado de um planejamento. Os índices de disciplina são os do programa
+     */
+    private static final class Busca {
+        private static final int EM_CALCULO = -2;
+        private static final int DESCONHECIDO = -1;
+
+        private final ProgramaPreRequisitos programa;
+        private final Student aluno;
+        private final int maxHoras;
+        private final long nodeLimit;
+        private final int[] horas;
+        private final int[][] coRequisitos;
+        private final boolean[] impossivel;
+        private final long[] aprovadasIniciais;
+        private final int creditosIniciais;
+        private final long[] alvos;
+        private final int[] universo;
+        private final List<Subject> inalcancaveis = new ArrayList<>();
+        // Maior cadeia de disciplinas do universo que depende de cada disciplina (prioridade de escolha)
+        private final int[] altura;
+        // Disciplinas do universo que não são pré-requisito nem co-requisito de outra nem têm
+        // co-requisitos: são alvos intercambiáveis com os de mesma carga horária
+        private final boolean[] folha;
+
+        private final ConcurrentHashMap<Estado, Integer> memo = new ConcurrentHashMap<>();
+        private final AtomicInteger melhor = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicLong nos = new AtomicLong();
+        private volatile boolean interrompida;
+        private Caminho melhorCaminho;
+
+        Busca(ProgramaPreRequisitos programa, Student aluno, Collection<Subject> targets, long nodeLimit) {
+            this.programa = programa;
+            this.aluno = aluno;
+            this.maxHoras = aluno.getMaxWeeklyHours();
+            this.nodeLimit = nodeLimit;
+            int n = programa.getQuantidadeDisciplinas();
+            this.horas = new int[n];
+            this.coRequisitos = new int[n][];
+            this.impossivel = new boolean[n];
+            this.aprovadasIniciais = programa.aprovadas(aluno);
+            this.creditosIniciais = aluno.getCreditosAcumulados();
+            this.alvos = new long[aprovadasIniciais.length];
+
+            // Pré-requisitos diretos de cada disciplina, a partir do índice reverso do programa
+            List<List<Integer>> preRequisitos = new ArrayList<>(n);
+            for (int d = 0; d < n; d++) {
+                preRequisitos.add(new ArrayList<>());
+            }
+            for (int j = 0; j < n; j++) {
+                horas[j] = programa.getDisciplina(j).getWeeklyHours();
+                for (int k = programa.getQuantidadeDependentes(j) - 1; k >= 0; k--) {
+                    preRequisitos.get(programa.getDependente(j, k)).add(j);
+                }
+            }
+
+            List<Integer> pendentes = new ArrayList<>();
+            for (Subject alvo : targets) {
+                int indice = programa.getIndice(alvo);
+                if (indice < 0) {
+                    throw new IllegalArgumentException("Disciplina fora do catálogo: " + alvo.getCode());
+                }
+                if (!aprovada(aprovadasIniciais, indice) && !aprovada(alvos, indice)) {
+                    alvos[indice >>> 6] |= 1L << indice;
+                    pendentes.add(indice);
+                }
+            }
+
+            // Fecho dos alvos por pré-requisitos e co-requisitos ainda não aprovados
+            boolean[] noUniverso = new boolean[n];
+            Deque<Integer> pilha = new ArrayDeque<>(pendentes);
+            List<Integer> membros = new ArrayList<>();
+            while (!pilha.isEmpty()) {
+                int d = pilha.pop();
+                if (noUniverso[d] || aprovada(aprovadasIniciais, d)) {
+                    continue;
+                }
+                noUniverso[d] = true;
+                membros.add(d);
+                pilha.addAll(preRequisitos.get(d));
+                List<Integer> co = new ArrayList<>();
+                for (Subject coRequisito : programa.getDisciplina(d).getCoRequisitos()) {
+                    int c = programa.getIndice(coRequisito);
+                    if (c < 0) {
+                        impossivel[d] = true;
+                    } else if (!aprovada(aprovadasIniciais, c)) {
+                        co.add(c);
+                        pilha.push(c);
+                    }
+                }
+                coRequisitos[d] = co.stream().mapToInt(Integer::intValue).toArray();
+            }
+            Collections.sort(membros);
+            universo = membros.stream().mapToInt(Integer::intValue).toArray();
+
+            altura = new int[n];
+            folha = new boolean[n];
+            for (int d : universo) {
+                folha[d] = coRequisitos[d].length == 0;
+            }
+            for (int d : universo) {
+                for (int j : preRequisitos.get(d)) {
+                    folha[j] = false;
+                }
+                for (int c : coRequisitos[d]) {
+                    folha[c] = false;
+                }
+            }
+            for (int d : universo) {
+                calcularAltura(d, noUniverso);
+            }
+            descartarInalcancaveis();
+        }
+
+        private int calcularAltura(int d, boolean[] noUniverso) {
+            if (altura[d] == EM_CALCULO) {
+                return 1;
+            }
+            if (altura[d] > 0) {
+                return altura[d];
+            }
+            altura[d] = EM_CALCULO;
+            int resultado = 1;
+            for (int k = programa.getQuantidadeDependentes(d) - 1; k >= 0; k--) {
+                int dependente = programa.getDependente(d, k);
+                if (noUniverso[dependente]) {
+                    resultado = Math.max(resultado, calcularAltura(dependente, noUniverso) + 1);
+                }
+            }
+            altura[d] = resultado;
+            for (int c : coRequisitos[d]) {
+                // O co-requisito precisa ser cursado até o mesmo período
+                calcularAltura(c, noUniverso);
+                altura[c] = Math.max(altura[c], resultado);
+            }
+            return altura[d];
+        }
+
+        /**
+         * Remove dos alvos as disciplinas que nunca ficam elegíveis, nem aprovando todo o resto
+         */
+        private void descartarInalcancaveis() {
+            long[] alcancadas = aprovadasIniciais.clone();
+            int creditos = creditosIniciais;
+            boolean mudou = true;
+            while (mudou) {
+                mudou = false;
+                for (int d : universo) {
+                    if (!aprovada(alcancadas, d) && !impossivel[d] && horas[d] <= maxHoras
+                            && programa.atendidos(d, aluno, alcancadas, creditos)) {
+                        alcancadas[d >>> 6] |= 1L << d;
+                        creditos += horas[d];
+                        mudou = true;
+                    }
+                }
+            }
+            for (int d : universo) {
+                if (aprovada(alvos, d) && !aprovada(alcancadas, d)) {
+                    descartarAlvo(d);
+                }
+            }
+        }
+
+        private void descartarAlvo(int d) {
+            alvos[d >>> 6] &= ~(1L << d);
+            inalcancaveis.add(programa.getDisciplina(d));
+        }
+
+        SemesterPlan executar(ForkJoinPool pool) {
+            // Plano guloso: primeiro conjunto maximal em cada período. Se ele travar (co-requisitos
+            // incompatíveis), os alvos pendentes são considerados inalcançáveis
+            long[] aprovadas = aprovadasIniciais.clone();
+            int creditos = creditosIniciais;
+            Caminho guloso = null;
+            while (haAlvosPendentes(aprovadas)) {
+                List<int[]> semestres = semestres(aprovadas, creditos, 1);
+                if (semestres.isEmpty()) {
+                    for (int d : universo) {
+                        if (aprovada(alvos, d) && !aprovada(aprovadas, d)) {
+                            descartarAlvo(d);
+                        }
+                    }
+                    break;
+                }
+                int[] semestre = semestres.get(0);
+                aprovadas = aplicar(aprovadas, semestre);
+                creditos += horas(semestre);
+                guloso = new Caminho(semestre, guloso);
+            }
+            melhorCaminho = guloso;
+            melhor.set(guloso == null ? 0 : guloso.tamanho);
+
+            if (melhor.get() > 1) {
+                pool.invoke(new Ramo(this, aprovadasIniciais, creditosIniciais, 0, null));
+            }
+            return montarPlano();
+        }
+
+        void explorar(long[] aprovadas, int creditos, int periodo, Caminho caminho) {
+            if (interrompida) {
+                return;
+            }
+            if (nos.incrementAndGet() > nodeLimit) {
+                interrompida = true;
+                return;
+            }
+            if (!haAlvosPendentes(aprovadas)) {
+                registrar(periodo, caminho);
+                return;
+            }
+            Estado estado = new Estado(aprovadas);
+            int limite = limiteInferior(aprovadas);
+            Integer memorizado = memo.get(estado);
+            if (memorizado != null) {
+                limite = Math.max(limite, memorizado);
+            }
+            if (limite == Integer.MAX_VALUE || periodo + limite >= melhor.get()) {
+                return;
+            }
+
+            List<int[]> semestres = semestres(aprovadas, creditos, Integer.MAX_VALUE);
+            if (periodo < PROFUNDIDADE_PARALELA) {
+                List<Ramo> ramos = new ArrayList<>(semestres.size());
+                for (int[] semestre : semestres) {
+                    ramos.add(new Ramo(this, aplicar(aprovadas, semestre), creditos + horas(semestre),
+                            periodo + 1, new Caminho(semestre, caminho)));
+                }
+                ForkJoinTask.invokeAll(ramos);
+            } else {
+                for (int[] semestre : semestres) {
+                    explorar(aplicar(aprovadas, semestre), creditos + horas(semestre),
+                            periodo + 1, new Caminho(semestre, caminho));
+                }
+            }
+            // Busca completa a partir deste estado: nenhum plano termina antes de melhor - periodo
+            if (!interrompida) {
+                memo.merge(estado, melhor.get() - periodo, Math::max);
+            }
+        }
+
+        private synchronized void registrar(int periodo, Caminho caminho) {
+            if (periodo < melhor.get()) {
+                melhorCaminho = caminho;
+                melhor.set(periodo);
+            }
+        }
+
+        /**
+         * Limite inferior dos períodos restantes: o maior caminho crítico entre os alvos pendentes
+         * e a carga horária pendente dos alvos dividida pelo limite por período
+         */
+        private int limiteInferior(long[] aprovadas) {
+            int[] periodos = periodosAteAprovacao(aprovadas);
+            int limite = 0;
+            int horasPendentes = 0;
+            for (int d : universo) {
+                if (aprovada(alvos, d) && !aprovada(aprovadas, d)) {
+                    limite = Math.max(limite, periodos[d]);
+                    horasPendentes += horas[d];
+                }
+            }
+            return Math.max(limite, (horasPendentes + maxHoras - 1) / maxHoras);
+        }
+
+        /**
+         * Limite inferior, para cada disciplina do universo, dos períodos até a sua aprovação
+         */
+        private int[] periodosAteAprovacao(long[] aprovadas) {
+            int[] periodos = new int[programa.getQuantidadeDisciplinas()];
+            Arrays.fill(periodos, DESCONHECIDO);
+            for (int d : universo) {
+                periodos(d, aprovadas, periodos);
+            }
+            return periodos;
+        }
+
+        private int periodos(int d, long[] aprovadas, int[] periodos) {
+            if (aprovada(aprovadas, d)) {
+                return 0;
+            }
+            if (periodos[d] == EM_CALCULO) {
+                // Ciclo de co-requisitos: a própria disciplina ainda precisa de um período
+                return 1;
+            }
+            if (periodos[d] != DESCONHECIDO) {
+                return periodos[d];
+            }
+            periodos[d] = EM_CALCULO;
+            int antes = programa.custoMinimo(d, j -> periodos(j, aprovadas, periodos));
+            int resultado = antes == Integer.MAX_VALUE ? Integer.MAX_VALUE : antes + 1;
+            for (int c : coRequisitos[d]) {
+                resultado = Math.max(resultado, periodos(c, aprovadas, periodos));
+            }
+            periodos[d] = resultado;
+            return resultado;
+        }
+
+        /**
+         * Conjuntos de disciplinas que podem ser cursados no próximo período e aos quais não se
+         * pode acrescentar mais nenhuma disciplina, no máximo {@code limite} deles
+         */
+        private List<int[]> semestres(long[] aprovadas, int creditos, int limite) {
+            List<Integer> lista = new ArrayList<>();
+            for (int d : universo) {
+                if (!aprovada(aprovadas, d) && !impossivel[d] && horas[d] <= maxHoras
+                        && programa.atendidos(d, aluno, aprovadas, creditos)) {
+                    lista.add(d);
+                }
+            }
+            // Cadeia de dependentes mais longa primeiro, folhas por último e agrupadas por carga horária
+            lista.sort((a, b) -> {
+                if (altura[a] != altura[b]) {
+                    return Integer.compare(altura[b], altura[a]);
+                }
+                if (folha[a] != folha[b]) {
+                    return folha[a] ? 1 : -1;
+                }
+                return Integer.compare(horas[b], horas[a]);
+            });
+            int[] elegiveis = lista.stream().mapToInt(Integer::intValue).toArray();
+            // Folhas de mesma carga horária são intercambiáveis: só os prefixos de cada grupo são
+            // enumerados (excluir uma folha exclui as seguintes do grupo)
+            int[] proxima = new int[elegiveis.length];
+            for (int k = elegiveis.length - 1; k >= 0; k--) {
+                int d = elegiveis[k];
+                boolean mesmoGrupo = k + 1 < elegiveis.length && folha[d] && folha[elegiveis[k + 1]]
+                        && horas[d] == horas[elegiveis[k + 1]];
+                proxima[k] = mesmoGrupo ? proxima[k + 1] : k + 1;
+            }
+            List<int[]> resultado = new ArrayList<>();
+            escolher(elegiveis, proxima, 0, new int[elegiveis.length], 0, 0, aprovadas, resultado, limite);
+            return resultado;
+        }
+
+        private void escolher(int[] elegiveis, int[] proxima, int k, int[] escolhidas, int quantidade,
+                              int horasUsadas, long[] aprovadas, List<int[]> resultado, int limite) {
+            if (resultado.size() >= limite || interrompida) {
+                return;
+            }
+            if (k == elegiveis.length) {
+                // Só a busca completa conta os conjuntos no limite de nós; o plano guloso sempre termina
+                if (limite == Integer.MAX_VALUE && nos.incrementAndGet() > nodeLimit) {
+                    interrompida = true;
+                } else if (quantidade > 0 && valido(escolhidas, quantidade, elegiveis, horasUsadas, aprovadas)) {
+                    resultado.add(Arrays.copyOf(escolhidas, quantidade));
+                }
+                return;
+            }
+            int d = elegiveis[k];
+            if (horasUsadas + horas[d] <= maxHoras) {
+                escolhidas[quantidade] = d;
+                escolher(elegiveis, proxima, k + 1, escolhidas, quantidade + 1, horasUsadas + horas[d],
+                        aprovadas, resultado, limite);
+            }
+            escolher(elegiveis, proxima, folha[d] ? proxima[k] : k + 1, escolhidas, quantidade, horasUsadas,
+                    aprovadas, resultado, limite);
+        }
+
+        /**
+         * Co-requisitos atendidos por todas as escolhidas e nenhuma elegível de fora que ainda
+         * caiba sozinha no período (conjunto maximal)
+         */
+        private boolean valido(int[] escolhidas, int quantidade, int[] elegiveis, int horasUsadas,
+                               long[] aprovadas) {
+            long[] periodo = aplicar(aprovadas, Arrays.copyOf(escolhidas, quantidade));
+            for (int i = 0; i < quantidade; i++) {
+                if (!coRequisitosAtendidos(escolhidas[i], periodo)) {
+                    return false;
+                }
+            }
+            for (int d : elegiveis) {
+                if (!aprovada(periodo, d) && horasUsadas + horas[d] <= maxHoras
+                        && coRequisitosAtendidos(d, periodo)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean coRequisitosAtendidos(int d, long[] aprovadas) {
+            for (int c : coRequisitos[d]) {
+                if (!aprovada(aprovadas, c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean haAlvosPendentes(long[] aprovadas) {
+            for (int i = 0; i < alvos.length; i++) {
+                if ((alvos[i] & ~aprovadas[i]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int horas(int[] semestre) {
+            int total = 0;
+            for (int d : semestre) {
+                total += horas[d];
+            }
+            return total;
+        }
+
+        private static long[] aplicar(long[] aprovadas, int[] semestre) {
+            long[] resultado = aprovadas.clone();
+            for (int d : semestre) {
+                resultado[d >>> 6] |= 1L << d;
+            }
+            return resultado;
+        }
+
+        private static boolean aprovada(long[] aprovadas, int d) {
+            return (aprovadas[d >>> 6] & (1L << d)) != 0;
+        }
+
+        private SemesterPlan montarPlano() {
+            Caminho caminho;
+            synchronized (this) {
+                caminho = melhorCaminho;
+            }
+            LinkedList<List<Subject>> periodos = new LinkedList<>();
+            for (Caminho c = caminho; c != null; c = c.anterior) {
+                int[] indices = c.disciplinas.clone();
+                Arrays.sort(indices);
+                List<Subject> periodo = new ArrayList<>(indices.length);
+                for (int d : indices) {
+                    periodo.add(programa.getDisciplina(d));
+                }
+                periodos.addFirst(periodo);
+            }
+            return new SemesterPlan(periodos, new ArrayList<>(inalcancaveis), !interrompida);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Detector que compara todos os pares de turmas usando as máscaras de ocupação.
+ * Indicado para conjuntos pequenos, em que o custo quadrático é desprezível.
+ */
+public class PairwiseConflictDetector implements ConflictDetector {
+
+    @Override
+    public List<ConflictPair> detectConflicts(Collection<ClassGroup> turmas) {
+        List<ConflictPair> conflitos = new ArrayList<>();
+        ClassGroup[] turmasArray = turmas.toArray(new ClassGroup[0]);
+
+        for (int i = 0; i < turmasArray.length; i++) {
+            for (int j = i + 1; j < turmasArray.length; j++) {
+                if (turmasArray[i].conflictsWith(turmasArray[j])) {
+                    conflitos.add(new ConflictPair(turmasArray[i], turmasArray[j]));
+                }
+            }
+        }
+
+        return conflitos;
+    }
+}
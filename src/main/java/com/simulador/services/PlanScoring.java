@@ -0,0 +1,25 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.Subject;
+
+/**
+ * Critério de valor de uma disciplina em um plano de turmas: o ScheduleSolver maximiza
+ * a soma dos valores das disciplinas escolhidas
+ */
+@FunctionalInterface
+public interface PlanScoring {
+
+    /** Valor igual à carga horária semanal da disciplina */
+    PlanScoring HOURS = Subject::getWeeklyHours;
+
+    /**
+     * Carga horária ponderada pela precedência: obrigatórias valem 3x, eletivas 2x e optativas 1x
+     */
+    PlanScoring PRECEDENCE_WEIGHTED = subject -> subject.getWeeklyHours() * (4 - subject.getPrecedence());
+
+    /**
+     * Valor de incluir a disciplina no plano; disciplinas com valor menor ou igual a zero
+     * nunca são escolhidas
+     */
+    int score(Subject subject);
+}
@@ -0,0 +1,75 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.TimetableMask;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plano de turmas sem conflitos de horário, com no máximo uma turma por disciplina,
+ * encontrado pelo ScheduleSolver
+ */
+public final class SchedulePlan {
+
+    private final List<ClassGroup> classGroups;
+    private final int score;
+    private final int weeklyHours;
+    private final int freeDays;
+    private final TimetableMask occupancy;
+
+    SchedulePlan(List<ClassGroup> classGroups, int score, int weeklyHours, int freeDays, TimetableMask occupancy) {
+        this.classGroups = Collections.unmodifiableList(classGroups);
+        this.score = score;
+        this.weeklyHours = weeklyHours;
+        this.freeDays = freeDays;
+        this.occupancy = occupancy;
+    }
+
+    /**
+     * Turmas escolhidas (lista somente leitura)
+     */
+    public List<ClassGroup> getClassGroups() {
+        return classGroups;
+    }
+
+    /**
+     * Valor do plano: soma dos valores das disciplinas escolhidas, segundo o PlanScoring usado,
+     * mais o peso dos dias livres
+     */
+    public int getScore() {
+        return score;
+    }
+
+    public int getWeeklyHours() {
+        return weeklyHours;
+    }
+
+    /**
+     * Dias de segunda a sábado sem nenhuma aula no plano
+     */
+    public int getFreeDays() {
+        return freeDays;
+    }
+
+    /**
+     * União das máscaras de ocupação das turmas escolhidas
+     */
+    public TimetableMask getOccupancy() {
+        return occupancy;
+    }
+
+    public boolean isEmpty() {
+        return classGroups.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Plano (valor ").append(score)
+                .append(", ").append(weeklyHours).append("h, ")
+                .append(freeDays).append(" dias livres):");
+        for (ClassGroup turma : classGroups) {
+            sb.append(' ').append(turma.getId());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,468 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.domain.TimetableMask;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Busca o plano de turmas de maior valor: no máximo uma turma por disciplina, sem conflitos
+ * de horário, apenas turmas com vagas e carga horária total dentro do limite informado.
+ * O valor do plano é a soma dos valores das disciplinas (PlanScoring) mais um peso opcional
+ * por dia letivo livre (segunda a sábado sem aulas).
+ *
+ * A busca é um branch-and-bound sobre as disciplinas, ordenadas por valor por hora. A grade
+ * parcial é mantida nas três palavras da TimetableMask, de modo que testar um conflito custa
+ * três operações AND. O limite superior de cada nó é a mochila fracionária das disciplinas
+ * restantes que ainda têm alguma turma compatível com a grade parcial, mais os dias ainda
+ * livres na grade parcial. Turmas da mesma disciplina com horários idênticos são equivalentes
+ * e só uma delas é explorada.
+ *
+ * As alternativas em ordem de valor (alternatives) seguem o particionamento de Lawler/Murty:
+ * cada plano emitido divide o seu subespaço em subproblemas disjuntos (prefixo de escolhas
+ * fixado e uma escolha excluída), resolvidos pela mesma busca. Só os subproblemas que ainda
+ * podem entrar entre os planos pedidos ficam na fila.
+ *
+ * A instância não guarda estado entre buscas e pode ser compartilhada entre threads.
+ */
+public class ScheduleSolver {
+
+    /** Dias considerados na contagem de dias livres: segunda (1) a sábado (6) */
+    public static final int TEACHING_DAYS = 6;
+
+    private final PlanScoring scoring;
+    private final int freeDayWeight;
+
+    public ScheduleSolver() {
+        this(PlanScoring.HOURS);
+    }
+
+    public ScheduleSolver(PlanScoring scoring) {
+        this(scoring, 0);
+    }
+
+    /**
+     * @param freeDayWeight valor somado ao plano por dia letivo sem aulas
+     */
+    public ScheduleSolver(PlanScoring scoring, int freeDayWeight) {
+        if (scoring == null) {
+            throw new IllegalArgumentException("Critério de valor não pode ser nulo");
+        }
+        if (freeDayWeight < 0) {
+            throw new IllegalArgumentException("Peso dos dias livres não pode ser negativo");
+        }
+        this.scoring = scoring;
+        this.freeDayWeight = freeDayWeight;
+    }
+
+    public PlanScoring getScoring() {
+        return scoring;
+    }
+
+    public int getFreeDayWeight() {
+        return freeDayWeight;
+    }
+
+    /**
+     * Encontra o plano de maior valor entre as turmas candidatas.
+     * Em caso de empate, prevalece o primeiro plano encontrado (disciplinas de maior valor por
+     * hora primeiro e, em cada disciplina, turmas na ordem da coleção).
+     * @param candidates turmas candidatas, de uma ou mais disciplinas
+     * @param hourBudget horas semanais disponíveis para o plano
+     * @return o melhor plano, vazio se nenhuma turma couber
+     */
+    public SchedulePlan solve(Collection<ClassGroup> candidates, int hourBudget) {
+        Problem problem = problem(candidates, hourBudget);
+        Search search = new Search(problem, freeDayWeight, new int[0], new int[0],
+                Integer.MIN_VALUE, Integer.MAX_VALUE);
+        search.run();
+        return problem.plan(search.bestChoice, freeDayWeight);
+    }
+
+    /**
+     * Os {@code limit} melhores planos não vazios, em ordem decrescente de valor
+     */
+    public List<SchedulePlan> solveTopK(Collection<ClassGroup> candidates, int hourBudget, int limit) {
+        return alternatives(candidates, hourBudget, limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Planos não vazios em ordem decrescente de valor, no máximo {@code limit}, calculados sob
+     * demanda: cada plano só é buscado quando o anterior é consumido
+     */
+    public Stream<SchedulePlan> alternatives(Collection<ClassGroup> candidates, int hourBudget, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Quantidade de planos não pode ser negativa");
+        }
+        Alternatives iterador = new Alternatives(problem(candidates, hourBudget), freeDayWeight, limit);
+        // O limite é só um teto: a quantidade real de planos não é conhecida de antemão
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterador,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private Problem problem(Collection<ClassGroup> candidates, int hourBudget) {
+        if (candidates == null) {
+            throw new IllegalArgumentException("Turmas candidatas não podem ser nulas");
+        }
+        return Problem.of(candidates, hourBudget, scoring);
+    }
+
+    /**
+     * Instância pré-processada: disciplinas em ordem decrescente de valor por hora e, para cada
+     * uma, as turmas candidatas em vetores paralelos (turmas options[start[g] .. start[g + 1]))
+     */
+    static final class Problem {
+        final int groups;
+        final int budget;
+        final Subject[] subjects;
+        final int[] score;
+        final int[] hours;
+        final int[] start;
+        final ClassGroup[] options;
+        final int[] position;
+        final long[] mask0;
+        final long[] mask1;
+        final long[] mask2;
+
+        private Problem(List<List<ClassGroup>> grupos, int[] valores, int budget,
+                        Map<ClassGroup, Integer> posicoes) {
+            this.groups = grupos.size();
+            this.budget = budget;
+            this.subjects = new Subject[groups];
+            this.score = valores;
+            this.hours = new int[groups];
+            this.start = new int[groups + 1];
+            int total = 0;
+            for (List<ClassGroup> grupo : grupos) {
+                total += grupo.size();
+            }
+            this.options = new ClassGroup[total];
+            this.position = new int[total];
+            this.mask0 = new long[total];
+            this.mask1 = new long[total];
+            this.mask2 = new long[total];
+            int o = 0;
+            for (int g = 0; g < groups; g++) {
+                List<ClassGroup> grupo = grupos.get(g);
+                subjects[g] = grupo.get(0).getSubject();
+                hours[g] = subjects[g].getWeeklyHours();
+                start[g] = o;
+                for (ClassGroup turma : grupo) {
+                    TimetableMask mascara = turma.getOccupancy();
+                    options[o] = turma;
+                    position[o] = posicoes.get(turma);
+                    mask0[o] = mascara.getWord(0);
+                    mask1[o] = mascara.getWord(1);
+                    mask2[o] = mascara.getWord(2);
+                    o++;
+                }
+            }
+            start[groups] = o;
+        }
+
+        static Problem of(Collection<ClassGroup> candidates, int budget, PlanScoring scoring) {
+            Map<Subject, List<ClassGroup>> porDisciplina = new LinkedHashMap<>();
+            Map<ClassGroup, Integer> posicoes = new IdentityHashMap<>();
+            for (ClassGroup turma : candidates) {
+                if (posicoes.containsKey(turma)) {
+                    continue;
+                }
+                posicoes.put(turma, posicoes.size());
+                Subject disciplina = turma.getSubject();
+                if (!turma.hasAvailableSlots() || disciplina.getWeeklyHours() > budget) {
+                    continue;
+                }
+                List<ClassGroup> grupo = porDisciplina.computeIfAbsent(disciplina, d -> new ArrayList<>());
+                boolean repetida = false;
+                for (ClassGroup outra : grupo) {
+                    repetida |= outra.getOccupancy().equals(turma.getOccupancy());
+                }
+                if (!repetida) {
+                    grupo.add(turma);
+                }
+            }
+
+            List<List<ClassGroup>> grupos = new ArrayList<>();
+            Map<List<ClassGroup>, Integer> valores = new IdentityHashMap<>();
+            for (List<ClassGroup> grupo : porDisciplina.values()) {
+                int valor = scoring.score(grupo.get(0).getSubject());
+                if (valor > 0) {
+                    grupos.add(grupo);
+                    valores.put(grupo, valor);
+                }
+            }
+            // Maior valor por hora primeiro (comparação cruzada, sem divisão); depois, menos turmas
+            grupos.sort((a, b) -> {
+                long porHoraA = (long) valores.get(a) * b.get(0).getSubject().getWeeklyHours();
+                long porHoraB = (long) valores.get(b) * a.get(0).getSubject().getWeeklyHours();
+                if (porHoraA != porHoraB) {
+                    return porHoraA > porHoraB ? -1 : 1;
+                }
+                return Integer.compare(a.size(), b.size());
+            });
+            int[] score = new int[grupos.size()];
+            for (int g = 0; g < score.length; g++) {
+                score[g] = valores.get(grupos.get(g));
+            }
+            return new Problem(grupos, score, budget, posicoes);
+        }
+
+        boolean fits(int option, long w0, long w1, long w2) {
+            return (mask0[option] & w0) == 0 && (mask1[option] & w1) == 0 && (mask2[option] & w2) == 0;
+        }
+
+        /**
+         * Limite superior do valor alcançável a partir da disciplina {@code g} com a grade parcial
+         * informada: mochila fracionária das disciplinas com alguma turma compatível
+         */
+        int bound(int g, int remaining, long w0, long w1, long w2) {
+            int limite = 0;
+            for (int k = g; k < groups; k++) {
+                if (!hasCompatibleOption(k, w0, w1, w2)) {
+                    continue;
+                }
+                if (hours[k] <= remaining) {
+                    limite += score[k];
+                    remaining -= hours[k];
+                } else {
+                    return limite + (int) ((long) score[k] * remaining / hours[k]);
+                }
+            }
+            return limite;
+        }
+
+        private boolean hasCompatibleOption(int g, long w0, long w1, long w2) {
+            for (int o = start[g]; o < start[g + 1]; o++) {
+                if (fits(o, w0, w1, w2)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Monta o plano a partir da turma escolhida em cada disciplina (-1 quando nenhuma),
+         * com as turmas na ordem da coleção de candidatas
+         */
+        SchedulePlan plan(int[] choice, int freeDayWeight) {
+            List<Integer> escolhidas = new ArrayList<>();
+            int valor = 0;
+            int horas = 0;
+            TimetableMask ocupacao = TimetableMask.EMPTY;
+            for (int g = 0; g < groups; g++) {
+                if (choice[g] >= 0) {
+                    escolhidas.add(choice[g]);
+                    valor += score[g];
+                    horas += hours[g];
+                    ocupacao = ocupacao.union(options[choice[g]].getOccupancy());
+                }
+            }
+            escolhidas.sort(Comparator.comparingInt(o -> position[o]));
+            List<ClassGroup> turmas = new ArrayList<>(escolhidas.size());
+            for (int o : escolhidas) {
+                turmas.add(options[o]);
+            }
+            int diasLivres = ocupacao.countFreeDays(TEACHING_DAYS);
+            return new SchedulePlan(turmas, valor + freeDayWeight * diasLivres, horas, diasLivres, ocupacao);
+        }
+    }
+
+    /**
+     * Busca em profundidade: em cada disciplina tenta as turmas compatíveis e, por último,
+     * deixá-la de fora. {@code choice} guarda a turma da disciplina em cada nível (-1 = nenhuma).
+     *
+     * Restrições de um subproblema: as disciplinas 0 .. fixed.length - 1 têm a escolha fixada e,
+     * na disciplina seguinte, as escolhas em {@code excluded} (-1 = deixá-la de fora) são proibidas.
+     * Só planos de valor maior que {@code threshold} são aceitos; bestChoice fica nulo se não houver.
+     * A busca termina assim que encontra um plano de valor {@code ceiling} (não há como superá-lo)
+     */
+    private static final class Search {
+        private final Problem problem;
+        private final int freeDayWeight;
+        private final int[] fixed;
+        private final int[] excluded;
+        private final int[] choice;
+        private final int ceiling;
+        private int[] bestChoice;
+        private int best;
+
+        Search(Problem problem, int freeDayWeight, int[] fixed, int[] excluded, int threshold, int ceiling) {
+            this.problem = problem;
+            this.freeDayWeight = freeDayWeight;
+            this.fixed = fixed;
+            this.excluded = excluded;
+            this.choice = new int[problem.groups];
+            Arrays.fill(choice, -1);
+            this.best = threshold;
+            this.ceiling = ceiling;
+        }
+
+        void run() {
+            visit(0, 0, problem.budget, 0L, 0L, 0L);
+        }
+
+        void visit(int g, int value, int remaining, long w0, long w1, long w2) {
+            Problem p = problem;
+            int diasLivres = freeDayWeight == 0 ? 0
+                    : freeDayWeight * TimetableMask.countFreeDays(w0, w1, w2, TEACHING_DAYS);
+            // Deixar de fora as disciplinas restantes só é permitido após as restrições
+            if ((g > fixed.length || g == p.groups) && value + diasLivres > best) {
+                best = value + diasLivres;
+                bestChoice = choice.clone();
+            }
+            if (g == p.groups || best >= ceiling
+                    || value + diasLivres + p.bound(g, remaining, w0, w1, w2) <= best) {
+                return;
+            }
+            if (g < fixed.length) {
+                int o = fixed[g];
+                if (o < 0) {
+                    visit(g + 1, value, remaining, w0, w1, w2);
+                } else if (p.hours[g] <= remaining && p.fits(o, w0, w1, w2)) {
+                    choice[g] = o;
+                    visit(g + 1, value + p.score[g], remaining - p.hours[g],
+                            w0 | p.mask0[o], w1 | p.mask1[o], w2 | p.mask2[o]);
+                    choice[g] = -1;
+                }
+                return;
+            }
+            boolean restrita = g == fixed.length;
+            if (p.hours[g] <= remaining) {
+                for (int o = p.start[g]; o < p.start[g + 1]; o++) {
+                    if (p.fits(o, w0, w1, w2) && !(restrita && isExcluded(o))) {
+                        choice[g] = o;
+                        visit(g + 1, value + p.score[g], remaining - p.hours[g],
+                                w0 | p.mask0[o], w1 | p.mask1[o], w2 | p.mask2[o]);
+                    }
+                }
+                choice[g] = -1;
+            }
+            if (!(restrita && isExcluded(-1))) {
+                visit(g + 1, value, remaining, w0, w1, w2);
+            }
+        }
+
+        private boolean isExcluded(int option) {
+            for (int e : excluded) {
+                if (e == option) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Subespaço de planos com o seu melhor plano ({@code choice}, de valor {@code score})
+     */
+    private static final class Subproblem {
+        final int[] fixed;
+        final int[] excluded;
+        final int[] choice;
+        final int score;
+        final long order;
+
+        Subproblem(int[] fixed, int[] excluded, int[] choice, int score, long order) {
+            this.fixed = fixed;
+            this.excluded = excluded;
+            this.choice = choice;
+            this.score = score;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Enumeração de Lawler/Murty com fila limitada: nunca guarda mais subproblemas do que os
+     * planos que ainda faltam emitir (mais um, para o plano vazio, que é descartado)
+     */
+    private static final class Alternatives implements Iterator<SchedulePlan> {
+        // Maior valor primeiro; em empate, o subproblema criado antes
+        private static final Comparator<Subproblem> ORDEM =
+                Comparator.comparingInt((Subproblem s) -> -s.score).thenComparingLong(s -> s.order);
+
+        private final Problem problem;
+        private final int freeDayWeight;
+        private final TreeSet<Subproblem> queue = new TreeSet<>(ORDEM);
+        private int remaining;
+        private long created;
+        private Subproblem toExpand;
+        private SchedulePlan next;
+
+        Alternatives(Problem problem, int freeDayWeight, int limit) {
+            this.problem = problem;
+            this.freeDayWeight = freeDayWeight;
+            this.remaining = limit;
+            if (limit > 0) {
+                offer(new int[0], new int[0], Integer.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && remaining > 0) {
+                if (toExpand != null) {
+                    expand(toExpand);
+                    toExpand = null;
+                }
+                Subproblem melhor = queue.pollFirst();
+                if (melhor == null) {
+                    return false;
+                }
+                toExpand = melhor;
+                SchedulePlan plano = problem.plan(melhor.choice, freeDayWeight);
+                if (!plano.isEmpty()) {
+                    next = plano;
+                    remaining--;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public SchedulePlan next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SchedulePlan plano = next;
+            next = null;
+            return plano;
+        }
+
+        /**
+         * Particiona o subespaço do plano emitido: para cada disciplina i a partir da primeira
+         * não fixada, fixa as escolhas anteriores do plano e exclui a escolha do plano em i
+         */
+        private void expand(Subproblem pai) {
+            int f = pai.fixed.length;
+            for (int i = f; i < problem.groups; i++) {
+                int[] excluidas;
+                if (i == f) {
+                    excluidas = Arrays.copyOf(pai.excluded, pai.excluded.length + 1);
+                    excluidas[pai.excluded.length] = pai.choice[i];
+                } else {
+                    excluidas = new int[] {pai.choice[i]};
+                }
+                // Os planos do subespaço do pai não superam o plano do pai
+                offer(Arrays.copyOf(pai.choice, i), excluidas, pai.score);
+            }
+        }
+
+        private void offer(int[] fixed, int[] excluded, int ceiling) {
+            long capacidade = (long) remaining + 1;
+            // Com a fila cheia, só interessam subproblemas melhores que o pior da fila
+            int limiar = queue.size() >= capacidade ? queue.last().score : Integer.MIN_VALUE;
+            Search search = new Search(problem, freeDayWeight, fixed, excluded, limiar, ceiling);
+            search.run();
+            if (search.bestChoice == null) {
+                return;
+            }
+            queue.add(new Subproblem(fixed, excluded, search.bestChoice, search.best, created++));
+            while (queue.size() > capacidade) {
+                queue.pollLast();
+            }
+        }
+    }
+}
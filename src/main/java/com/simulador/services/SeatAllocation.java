@@ -0,0 +1,63 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resultado de uma rodada do SeatAllocationEngine: alunos admitidos e em lista de espera
+ * por turma, em ordem de prioridade, e os pedidos recusados
+ */
+public final class SeatAllocation {
+
+    private final Map<ClassGroup, List<Student>> admitted;
+    private final Map<ClassGroup, List<Student>> waitlists;
+    private final List<String> rejections;
+
+    SeatAllocation(Map<ClassGroup, List<Student>> admitted, Map<ClassGroup, List<Student>> waitlists,
+                   List<String> rejections) {
+        this.admitted = admitted;
+        this.waitlists = waitlists;
+        this.rejections = Collections.unmodifiableList(rejections);
+    }
+
+    /**
+     * Alunos que receberam vaga na turma nesta rodada, em ordem de prioridade (lista somente leitura)
+     */
+    public List<Student> getAdmitted(ClassGroup turma) {
+        return Collections.unmodifiableList(admitted.getOrDefault(turma, Collections.emptyList()));
+    }
+
+    /**
+     * Alunos que pediram a turma, podiam cursá-la, mas ficaram sem vaga; em ordem de prioridade.
+     * Eles também entram na lista de espera da própria turma
+     */
+    public List<Student> getWaitlist(ClassGroup turma) {
+        return Collections.unmodifiableList(waitlists.getOrDefault(turma, Collections.emptyList()));
+    }
+
+    /**
+     * Turmas que tiveram pedidos nesta rodada
+     */
+    public Set<ClassGroup> getClassGroups() {
+        return Collections.unmodifiableSet(admitted.keySet());
+    }
+
+    public int getAdmittedCount() {
+        int total = 0;
+        for (List<Student> alunos : admitted.values()) {
+            total += alunos.size();
+        }
+        return total;
+    }
+
+    /**
+     * Pedidos recusados por conflito de horário, carga horária ou matrícula já existente
+     */
+    public List<String> getRejections() {
+        return rejections;
+    }
+}
@@ -0,0 +1,185 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.model.domain.TimetableMask;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Alocação de vagas em lote para turmas disputadas: os pedidos (aluno, turma) são coletados
+ * durante uma janela, sem tocar nas turmas, e as vagas são distribuídas de uma só vez em
+ * allocate, em vez da ordem de chegada de ClassGroup.enrollStudent.
+ *
+ * Cada turma tem uma fila de prioridade dos seus pedidos: mais créditos acumulados primeiro
+ * e, no empate, o sorteio (um número por aluno, derivado da semente e da matrícula, de modo
+ * que o resultado não depende da ordem de chegada). As turmas são percorridas por precedência
+ * da disciplina (obrigatórias primeiro) e por id. Um pedido é recusado se o aluno já tem turma
+ * da mesma disciplina, não atende aos pré-requisitos, ou se a turma conflita com outra dele ou
+ * ultrapassa a sua carga horária máxima; em todas essas verificações contam tanto as turmas em
+ * que ele já estava matriculado quanto as concedidas na rodada. Os pedidos viáveis que não
+ * recebem vaga entram, nessa ordem, na lista de espera da turma (ClassGroup.joinWaitlist) e são
+ * promovidos quando uma vaga for liberada.
+ */
+public class SeatAllocationEngine {
+
+    private static final Comparator<ClassGroup> ORDEM_TURMAS =
+            Comparator.comparingInt((ClassGroup turma) -> turma.getSubject().getPrecedence())
+                    .thenComparing(ClassGroup::getId);
+
+    private final long seed;
+    private final ConcurrentLinkedQueue<Pedido> janela = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param seed semente do sorteio de desempate
+     */
+    public SeatAllocationEngine(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Registra um pedido de vaga para a próxima rodada. Seguro para uso concorrente
+     */
+    public void request(Student aluno, ClassGroup turma) {
+        if (aluno == null || turma == null) {
+            throw new IllegalArgumentException("Aluno e turma não podem ser nulos");
+        }
+        janela.add(new Pedido(aluno, turma, sorteio(seed, aluno)));
+    }
+
+    /**
+     * Pedidos registrados e ainda não alocados (aproximado sob concorrência)
+     */
+    public int getPendingRequests() {
+        return janela.size();
+    }
+
+    /**
+     * Fecha a janela e aloca as vagas dos pedidos registrados até aqui; pedidos que chegarem
+     * durante a alocação ficam para a próxima rodada. Os admitidos são matriculados nas turmas
+     */
+    public SeatAllocation allocate() {
+        Map<ClassGroup, PriorityQueue<Pedido>> filas = new HashMap<>();
+        Pedido pedido;
+        while ((pedido = janela.poll()) != null) {
+            filas.computeIfAbsent(pedido.turma, t -> new PriorityQueue<>()).add(pedido);
+        }
+
+        List<ClassGroup> turmas = new ArrayList<>(filas.keySet());
+        turmas.sort(ORDEM_TURMAS);
+        Map<Student, Grade> grades = new HashMap<>();
+        Map<ClassGroup, List<Student>> admitidos = new LinkedHashMap<>();
+        Map<ClassGroup, List<Student>> esperas = new LinkedHashMap<>();
+        List<String> recusas = new ArrayList<>();
+
+        for (ClassGroup turma : turmas) {
+            PriorityQueue<Pedido> fila = filas.get(turma);
+            List<Student> admitidosTurma = new ArrayList<>();
+            List<Student> esperaTurma = new ArrayList<>();
+            Set<Student> vistos = new HashSet<>();
+            int horas = turma.getSubject().getWeeklyHours();
+
+            while ((pedido = fila.poll()) != null) {
+                Student aluno = pedido.aluno;
+                if (!vistos.add(aluno)) {
+                    continue; // Pedido repetido
+                }
+                if (turma.isStudentEnrolled(aluno)) {
+                    recusas.add(aluno.getRegistration() + " já está matriculado na turma " + turma.getId());
+                    continue;
+                }
+                Grade grade = grades.computeIfAbsent(aluno, Grade::new);
+                if (grade.disciplinas.contains(turma.getSubject())) {
+                    recusas.add(aluno.getRegistration() + " já tem turma de " + turma.getSubject().getCode());
+                    continue;
+                }
+                if (!turma.getSubject().requisitosAtendidos(aluno)) {
+                    recusas.add(aluno.getRegistration() + " não atende aos pré-requisitos de "
+                            + turma.getSubject().getCode());
+                    continue;
+                }
+                if (turma.getOccupancy().intersects(grade.ocupacao)) {
+                    recusas.add(aluno.getRegistration() + ": turma " + turma.getId()
+                            + " conflita com outra turma do aluno");
+                    continue;
+                }
+                if (grade.horas + horas > aluno.getMaxWeeklyHours()) {
+                    recusas.add(aluno.getRegistration() + ": turma " + turma.getId()
+                            + " excede a carga horária máxima");
+                    continue;
+                }
+                ClassGroup.Reservation reserva = turma.reserveSlot();
+                if (reserva == null) {
+                    esperaTurma.add(aluno);
+                    turma.joinWaitlist(aluno);
+                } else if (reserva.confirm(aluno)) {
+                    grade.incluir(turma);
+                    admitidosTurma.add(aluno);
+                } else {
+                    // Matrícula concorrente fora do lote; a reserva já foi devolvida
+                    recusas.add(aluno.getRegistration() + " já está matriculado na turma " + turma.getId());
+                }
+            }
+            admitidos.put(turma, admitidosTurma);
+            esperas.put(turma, esperaTurma);
+        }
+        return new SeatAllocation(admitidos, esperas, recusas);
+    }
+
+    /**
+     * Número do sorteio do aluno: mistura da semente com a matrícula (finalizador do SplitMix64)
+     */
+    static long sorteio(long seed, Student aluno) {
+        long z = seed + 0x9E3779B97F4A7C15L * (aluno.getRegistration().hashCode() + 1L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Turmas do aluno: as matriculadas antes da rodada e as concedidas nela
+     */
+    private static final class Grade {
+        final Set<Subject> disciplinas = Collections.newSetFromMap(new IdentityHashMap<>());
+        TimetableMask ocupacao = TimetableMask.EMPTY;
+        int horas;
+
+        Grade(Student aluno) {
+            for (ClassGroup matriculada : aluno.getEnrolledClassGroups()) {
+                incluir(matriculada);
+            }
+        }
+
+        void incluir(ClassGroup turma) {
+            disciplinas.add(turma.getSubject());
+            ocupacao = ocupacao.union(turma.getOccupancy());
+            horas += turma.getSubject().getWeeklyHours();
+        }
+    }
+
+    private static final class Pedido implements Comparable<Pedido> {
+        final Student aluno;
+        final ClassGroup turma;
+        final int creditos;
+        final long sorteio;
+
+        Pedido(Student aluno, ClassGroup turma, long sorteio) {
+            this.aluno = aluno;
+            this.turma = turma;
+            this.creditos = aluno.getCreditosAcumulados();
+            this.sorteio = sorteio;
+        }
+
+        @Override
+        public int compareTo(Pedido outro) {
+            if (creditos != outro.creditos) {
+                return Integer.compare(outro.creditos, creditos);
+            }
+            if (sorteio != outro.sorteio) {
+                return Long.compare(sorteio, outro.sorteio);
+            }
+            return aluno.getRegistration().compareTo(outro.aluno.getRegistration());
+        }
+    }
+}
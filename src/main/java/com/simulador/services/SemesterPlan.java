@@ -0,0 +1,76 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.Subject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sequência de períodos calculada pelo MultiSemesterPlanner: as disciplinas a cursar em cada
+ * período até a aprovação em todas as disciplinas-alvo alcançáveis
+ */
+public final class SemesterPlan {
+
+    private final List<List<Subject>> semesters;
+    private final List<Subject> unreachableSubjects;
+    private final boolean optimal;
+
+    SemesterPlan(List<List<Subject>> semesters, List<Subject> unreachableSubjects, boolean optimal) {
+        List<List<Subject>> periodos = new ArrayList<>(semesters.size());
+        for (List<Subject> periodo : semesters) {
+            periodos.add(Collections.unmodifiableList(periodo));
+        }
+        this.semesters = Collections.unmodifiableList(periodos);
+        this.unreachableSubjects = Collections.unmodifiableList(unreachableSubjects);
+        this.optimal = optimal;
+    }
+
+    /**
+     * Disciplinas de cada período, em ordem (listas somente leitura)
+     */
+    public List<List<Subject>> getSemesters() {
+        return semesters;
+    }
+
+    public int getSemesterCount() {
+        return semesters.size();
+    }
+
+    /**
+     * Disciplinas-alvo que o aluno não consegue concluir (carga horária acima do limite,
+     * pré-requisitos impossíveis ou co-requisitos incompatíveis); ficam fora do plano
+     */
+    public List<Subject> getUnreachableSubjects() {
+        return unreachableSubjects;
+    }
+
+    /**
+     * Indica se a busca foi completa, isto é, se nenhum plano com menos períodos existe.
+     * Quando o limite de nós da busca é atingido, o plano é o melhor encontrado até então
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Plano de ").append(semesters.size()).append(" período(s)");
+        if (!optimal) {
+            sb.append(" (busca interrompida)");
+        }
+        sb.append(':');
+        for (int i = 0; i < semesters.size(); i++) {
+            sb.append("\n  ").append(i + 1).append(':');
+            for (Subject disciplina : semesters.get(i)) {
+                sb.append(' ').append(disciplina.getCode());
+            }
+        }
+        if (!unreachableSubjects.isEmpty()) {
+            sb.append("\n  Inalcançáveis:");
+            for (Subject disciplina : unreachableSubjects) {
+                sb.append(' ').append(disciplina.getCode());
+            }
+        }
+        return sb.toString();
+    }
+}
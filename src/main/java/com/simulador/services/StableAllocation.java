@@ -0,0 +1,85 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Student;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado do DeferredAcceptanceAllocator: turmas atribuídas a cada aluno e alunos de cada
+ * turma. Os vetores são os da própria alocação (índices locais de alunos e turmas)
+ */
+public final class StableAllocation {
+
+    private final Student[] alunos;
+    private final ClassGroup[] turmas;
+    private final Map<Student, Integer> indiceAluno;
+    private final Map<ClassGroup, Integer> indiceTurma;
+    // Turmas do aluno s em turmasPorAluno[inicioAluno[s]..inicioAluno[s+1]), em ordem de preferência
+    private final int[] inicioAluno;
+    private final int[] turmasPorAluno;
+    // Alunos da turma t em alunosPorTurma[inicioTurma[t]..inicioTurma[t+1])
+    private final int[] inicioTurma;
+    private final int[] alunosPorTurma;
+
+    StableAllocation(Student[] alunos, ClassGroup[] turmas, Map<Student, Integer> indiceAluno,
+                     Map<ClassGroup, Integer> indiceTurma, int[] inicioAluno, int[] turmasPorAluno,
+                     int[] inicioTurma, int[] alunosPorTurma) {
+        this.alunos = alunos;
+        this.turmas = turmas;
+        this.indiceAluno = indiceAluno;
+        this.indiceTurma = indiceTurma;
+        this.inicioAluno = inicioAluno;
+        this.turmasPorAluno = turmasPorAluno;
+        this.inicioTurma = inicioTurma;
+        this.alunosPorTurma = alunosPorTurma;
+    }
+
+    /**
+     * Turmas atribuídas ao aluno, na ordem das preferências dele (lista somente leitura)
+     */
+    public List<ClassGroup> getAssignments(Student aluno) {
+        Integer s = indiceAluno.get(aluno);
+        if (s == null) {
+            return Collections.emptyList();
+        }
+        return fatia(turmas, turmasPorAluno, inicioAluno[s], inicioAluno[s + 1]);
+    }
+
+    /**
+     * Alunos a quem a turma foi atribuída, do de maior prioridade ao de menor (lista somente leitura)
+     */
+    public List<Student> getStudents(ClassGroup turma) {
+        Integer t = indiceTurma.get(turma);
+        if (t == null) {
+            return Collections.emptyList();
+        }
+        return fatia(alunos, alunosPorTurma, inicioTurma[t], inicioTurma[t + 1]);
+    }
+
+    /**
+     * Total de pares (aluno, turma) atribuídos
+     */
+    public int getAssignedCount() {
+        return turmasPorAluno.length;
+    }
+
+    private static <T> List<T> fatia(T[] objetos, int[] indices, int inicio, int fim) {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int i) {
+                if (i < 0 || i >= fim - inicio) {
+                    throw new IndexOutOfBoundsException(i);
+                }
+                return objetos[indices[inicio + i]];
+            }
+
+            @Override
+            public int size() {
+                return fim - inicio;
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.Schedule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Detector por linha de varredura: ordena todos os intervalos de horário por dia e
+ * início e mantém apenas os intervalos ainda ativos, reportando somente os pares que
+ * de fato se sobrepõem. Custo O(n log n + k), com k o número de sobreposições.
+ */
+public class SweepLineConflictDetector implements ConflictDetector {
+
+    @Override
+    public List<ConflictPair> detectConflicts(Collection<ClassGroup> turmas) {
+        ClassGroup[] turmasArray = turmas.toArray(new ClassGroup[0]);
+
+        int totalIntervalos = 0;
+        for (ClassGroup turma : turmasArray) {
+            totalIntervalos += turma.getSchedules().size();
+        }
+
+        // Intervalos em arrays paralelos; a chave de ordenação carrega dia, início e índice
+        int[] fim = new int[totalIntervalos];
+        int[] dono = new int[totalIntervalos];
+        long[] chaves = new long[totalIntervalos];
+        int k = 0;
+        for (int t = 0; t < turmasArray.length; t++) {
+            for (Schedule horario : turmasArray[t].getSchedules()) {
+                fim[k] = horario.getEndMinute();
+                dono[k] = t;
+                long diaInicio = horario.getDayOfWeek() * 32L + horario.getStartMinute();
+                chaves[k] = (diaInicio << 32) | k;
+                k++;
+            }
+        }
+        Arrays.sort(chaves);
+
+        int[] ativos = new int[totalIntervalos];
+        int quantidadeAtivos = 0;
+        long diaAtual = -1;
+        long[] pares = new long[16];
+        int quantidadePares = 0;
+
+        for (long chave : chaves) {
+            int intervalo = (int) chave;
+            long diaInicio = chave >>> 32;
+            long dia = diaInicio / 32;
+            int inicio = (int) (diaInicio % 32);
+
+            if (dia != diaAtual) {
+                diaAtual = dia;
+                quantidadeAtivos = 0;
+            }
+
+            // Remove os intervalos que já terminaram antes do início do atual
+            int mantidos = 0;
+            for (int a = 0; a < quantidadeAtivos; a++) {
+                if (fim[ativos[a]] > inicio) {
+                    ativos[mantidos++] = ativos[a];
+                }
+            }
+            quantidadeAtivos = mantidos;
+
+            // Todo intervalo ativo se sobrepõe ao atual
+            for (int a = 0; a < quantidadeAtivos; a++) {
+                int outro = dono[ativos[a]];
+                int atual = dono[intervalo];
+                if (outro == atual) continue;
+                if (quantidadePares == pares.length) {
+                    pares = Arrays.copyOf(pares, pares.length * 2);
+                }
+                pares[quantidadePares++] = ((long) Math.min(outro, atual) << 32) | Math.max(outro, atual);
+            }
+            ativos[quantidadeAtivos++] = intervalo;
+        }
+
+        // Turmas com vários horários podem gerar o mesmo par mais de uma vez
+        Arrays.sort(pares, 0, quantidadePares);
+        List<ConflictPair> conflitos = new ArrayList<>();
+        for (int p = 0; p < quantidadePares; p++) {
+            if (p > 0 && pares[p] == pares[p - 1]) continue;
+            int primeira = (int) (pares[p] >>> 32);
+            int segunda = (int) pares[p];
+            conflitos.add(new ConflictPair(turmasArray[primeira], turmasArray[segunda]));
+        }
+
+        return conflitos;
+    }
+}
@@ -0,0 +1,101 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.ClassGroup;
+import com.simulador.model.domain.DenseIdSpace;
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import java.util.*;
+
+/**
+ * Catálogo gerado por {@link SyntheticCatalogGenerator}: disciplinas organizadas em níveis
+ * de pré-requisitos, turmas e alunos com histórico.
+ */
+public class SyntheticCatalog {
+
+    /** Nota usada nas aprovações de {@link #createStudent(String, int, int)} */
+    private static final double NOTA_APROVACAO = 7.0;
+
+    private final DenseIdSpace idSpace;
+    private final List<Subject> subjects;
+    private final int[] levels;
+    private final int depth;
+    private final List<ClassGroup> classGroups;
+    private final List<Student> students;
+
+    SyntheticCatalog(DenseIdSpace idSpace, List<Subject> subjects, int[] levels, int depth,
+                     List<ClassGroup> classGroups, List<Student> students) {
+        this.idSpace = idSpace;
+        this.subjects = Collections.unmodifiableList(subjects);
+        this.levels = levels;
+        this.depth = depth;
+        this.classGroups = Collections.unmodifiableList(classGroups);
+        this.students = Collections.unmodifiableList(students);
+    }
+
+    /**
+     * Espaço de identificadores em que as disciplinas, turmas e alunos do catálogo foram registrados
+     */
+    public DenseIdSpace getIdSpace() {
+        return idSpace;
+    }
+
+    /**
+     * Disciplinas em ordem de nível (as de nível 0 primeiro)
+     */
+    public List<Subject> getSubjects() {
+        return subjects;
+    }
+
+    public List<ClassGroup> getClassGroups() {
+        return classGroups;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    /**
+     * Nível da disciplina na posição informada de {@link #getSubjects()}; disciplinas de
+     * nível L só exigem disciplinas de níveis menores que L
+     */
+    public int getLevel(int subjectIndex) {
+        return levels[subjectIndex];
+    }
+
+    /**
+     * Maior nível do catálogo
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Cria um aluno aprovado em todas as disciplinas abaixo do nível informado
+     */
+    public Student createStudent(String registration, int completedLevel, int maxWeeklyHours) {
+        Student student = new Student("Aluno " + registration, registration, maxWeeklyHours);
+        for (int i = 0; i < subjects.size(); i++) {
+            if (levels[i] < completedLevel) {
+                student.addCompletedSubject(subjects.get(i), NOTA_APROVACAO);
+            }
+        }
+        return student;
+    }
+
+    /**
+     * Sorteia, de forma determinística, turmas de disciplinas distintas
+     */
+    public Set<ClassGroup> sampleClassGroups(long seed, int count) {
+        Random random = new Random(seed);
+        Set<ClassGroup> sample = new LinkedHashSet<>();
+        Set<Subject> sampledSubjects = new HashSet<>();
+        int limit = Math.min(count, subjects.size());
+        while (sample.size() < limit) {
+            ClassGroup classGroup = classGroups.get(random.nextInt(classGroups.size()));
+            if (sampledSubjects.add(classGroup.getSubject())) {
+                sample.add(classGroup);
+            }
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,200 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.*;
+import com.simulador.model.validator.*;
+import java.util.*;
+
+/**
+ * Gerador determinístico de catálogos sintéticos para testes de carga.
+ *
+ * As disciplinas são distribuídas em níveis (0 até a profundidade). Cada disciplina de
+ * nível L > 0 recebe pré-requisitos dos níveis anteriores, combinando ValidadorSimples,
+ * ValidadorLogicoAND, ValidadorLogicoOR e ValidadorCreditosMinimos. As turmas ocupam
+ * blocos de 2 horas em dias distintos (ou, com schedulesPerClassGroup, a carga horária
+ * dividida nessa quantidade de encontros), concentrados nos dias úteis e nos horários usuais
+ * de aula. Os alunos recebem histórico até um nível sorteado, com algumas reprovações.
+ *
+ * A mesma semente e os mesmos parâmetros produzem sempre o mesmo catálogo; a quantidade de
+ * alunos não altera as disciplinas nem as turmas geradas.
+ */
+public class SyntheticCatalogGenerator {
+
+    private static final String[] DEPARTAMENTOS = {"MAT", "FIS", "QUI", "DCC", "EST", "ICE", "ENE", "LET"};
+    private static final int[] INICIOS_BLOCO = {7, 8, 10, 14, 16, 19, 20};
+    private static final int[] PESOS_INICIO = {2, 5, 5, 4, 4, 3, 1};
+    private static final int[] PESOS_DIA = {5, 5, 5, 5, 4, 1};
+    private static final int[] LIMITES_HORAS = {16, 20, 24, 28};
+    private static final int CREDITOS_POR_NIVEL = 16;
+
+    private final long seed;
+    private final int subjectCount;
+    private final int classGroupsPerSubject;
+    private final int prerequisiteDepth;
+    private final int studentCount;
+    private final int schedulesPerClassGroup;
+
+    public SyntheticCatalogGenerator(long seed, int subjectCount, int classGroupsPerSubject,
+                                     int prerequisiteDepth, int studentCount) {
+        this(seed, subjectCount, classGroupsPerSubject, prerequisiteDepth, studentCount, 0);
+    }
+
+    /**
+     * @param schedulesPerClassGroup encontros semanais de cada turma (1 a 6, um por dia, limitado
+     *                               à carga horária da disciplina); 0 usa blocos de 2 horas
+     */
+    public SyntheticCatalogGenerator(long seed, int subjectCount, int classGroupsPerSubject,
+                                     int prerequisiteDepth, int studentCount, int schedulesPerClassGroup) {
+        if (subjectCount < 1 || classGroupsPerSubject < 1 || prerequisiteDepth < 0 || studentCount < 0
+                || schedulesPerClassGroup < 0 || schedulesPerClassGroup > PESOS_DIA.length) {
+            throw new IllegalArgumentException("Parâmetros inválidos para o catálogo sintético");
+        }
+        this.seed = seed;
+        this.subjectCount = subjectCount;
+        this.classGroupsPerSubject = classGroupsPerSubject;
+        this.prerequisiteDepth = prerequisiteDepth;
+        this.studentCount = studentCount;
+        this.schedulesPerClassGroup = schedulesPerClassGroup;
+    }
+
+    public SyntheticCatalog generate() {
+        Random random = new Random(seed);
+        DenseIdSpace ids = new DenseIdSpace();
+        int niveis = Math.min(prerequisiteDepth + 1, subjectCount);
+        List<Subject> subjects = new ArrayList<>(subjectCount);
+        int[] levels = new int[subjectCount];
+        List<List<Subject>> porNivel = new ArrayList<>(niveis);
+        for (int n = 0; n < niveis; n++) {
+            porNivel.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < subjectCount; i++) {
+            int nivel = (int) ((long) i * niveis / subjectCount);
+            Subject subject = criarDisciplina(random, i, nivel);
+            ids.register(subject);
+            if (nivel > 0) {
+                subject.setValidadores(criarPreRequisito(random, porNivel, nivel));
+            }
+            porNivel.get(nivel).add(subject);
+            subjects.add(subject);
+            levels[i] = nivel;
+        }
+
+        List<ClassGroup> classGroups = new ArrayList<>(subjectCount * classGroupsPerSubject);
+        for (Subject subject : subjects) {
+            for (int t = 1; t <= classGroupsPerSubject; t++) {
+                String id = String.format("%s-%02d", subject.getCode(), t);
+                int capacidade = 20 + 5 * random.nextInt(9);
+                ClassGroup classGroup = new ClassGroup(id, subject, capacidade, criarHorarios(random, subject.getWeeklyHours(), schedulesPerClassGroup));
+                ids.register(classGroup);
+                classGroups.add(classGroup);
+            }
+        }
+
+        List<Student> students = criarAlunos(subjects, levels, niveis - 1);
+        students.forEach(ids::register);
+        return new SyntheticCatalog(ids, subjects, levels, niveis - 1, classGroups, students);
+    }
+
+    private static Subject criarDisciplina(Random random, int indice, int nivel) {
+        String codigo = DEPARTAMENTOS[indice % DEPARTAMENTOS.length]
+                + String.format("%04d", indice / DEPARTAMENTOS.length);
+        int sorteio = random.nextInt(10);
+        if (sorteio < 2 && nivel > 0) {
+            return new ElectiveSubject(codigo, "Eletiva " + codigo, 2 + 2 * random.nextInt(2));
+        }
+        if (sorteio < 3 && nivel > 0) {
+            return new OptionalSubject(codigo, "Optativa " + codigo, 2 + 2 * random.nextInt(2));
+        }
+        int horas = random.nextInt(8) == 0 ? 6 : 2 + 2 * random.nextInt(2);
+        return new RequiredSubject(codigo, "Obrigatória " + codigo, horas);
+    }
+
+    private static ValidadorPreRequisito criarPreRequisito(Random random, List<List<Subject>> porNivel, int nivel) {
+        List<Subject> anteriores = porNivel.get(nivel - 1);
+        int sorteio = random.nextInt(20);
+        if (sorteio < 9) {
+            return new ValidadorSimples(sortear(random, anteriores));
+        }
+        if (sorteio < 14) {
+            return new ValidadorLogicoAND(Arrays.asList(
+                new ValidadorSimples(sortear(random, anteriores)),
+                new ValidadorSimples(sortear(random, anteriores))));
+        }
+        if (sorteio < 18) {
+            // Disciplinas equivalentes, possivelmente de níveis diferentes
+            List<Subject> alternativos = nivel > 1 && random.nextBoolean() ? porNivel.get(nivel - 2) : anteriores;
+            return new ValidadorLogicoOR(Arrays.asList(
+                new ValidadorSimples(sortear(random, anteriores)),
+                new ValidadorSimples(sortear(random, alternativos))));
+        }
+        return new ValidadorLogicoAND(Arrays.asList(
+            new ValidadorSimples(sortear(random, anteriores)),
+            new ValidadorCreditosMinimos(nivel * CREDITOS_POR_NIVEL)));
+    }
+
+    private static Subject sortear(Random random, List<Subject> disciplinas) {
+        return disciplinas.get(random.nextInt(disciplinas.size()));
+    }
+
+    /**
+     * Encontros em dias distintos, totalizando a carga horária da disciplina: blocos de 2 horas
+     * (encontros = 0) ou a carga dividida na quantidade pedida, com as horas restantes nos primeiros
+     */
+    private static List<Schedule> criarHorarios(Random random, int horasSemanais, int encontros) {
+        int blocos = encontros == 0 ? Math.max(1, horasSemanais / 2) : Math.min(encontros, horasSemanais);
+        List<Schedule> horarios = new ArrayList<>(blocos);
+        boolean[] diasUsados = new boolean[PESOS_DIA.length];
+        for (int b = 0; b < blocos; b++) {
+            int dia;
+            do {
+                dia = sortearPonderado(random, PESOS_DIA);
+            } while (diasUsados[dia]);
+            diasUsados[dia] = true;
+            int duracao = encontros == 0 ? 2 : horasSemanais / blocos + (b < horasSemanais % blocos ? 1 : 0);
+            int inicio = Math.min(INICIOS_BLOCO[sortearPonderado(random, PESOS_INICIO)], 22 - duracao);
+            horarios.add(new Schedule(dia + 1, inicio, inicio + duracao));
+        }
+        return horarios;
+    }
+
+    private static int sortearPonderado(Random random, int[] pesos) {
+        int total = 0;
+        for (int peso : pesos) {
+            total += peso;
+        }
+        int valor = random.nextInt(total);
+        for (int i = 0; i < pesos.length; i++) {
+            valor -= pesos[i];
+            if (valor < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    /**
+     * Cada aluno cursou a maior parte das disciplinas abaixo de um nível sorteado,
+     * com cerca de 15% de reprovações
+     */
+    private List<Student> criarAlunos(List<Subject> subjects, int[] levels, int profundidade) {
+        Random random = new Random(seed * 31 + 17);
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int s = 0; s < studentCount; s++) {
+            String matricula = String.format("SYN%07d", s);
+            int maxHoras = LIMITES_HORAS[random.nextInt(LIMITES_HORAS.length)];
+            Student student = new Student("Aluno " + matricula, matricula, maxHoras);
+            int nivelAtual = random.nextInt(profundidade + 1);
+            for (int i = 0; i < subjects.size() && levels[i] < nivelAtual; i++) {
+                if (random.nextInt(10) == 0) {
+                    continue; // ainda não cursou
+                }
+                double nota = random.nextInt(100) < 85
+                        ? 6.0 + random.nextInt(9) * 0.5
+                        : 2.0 + random.nextInt(8) * 0.5;
+                student.addCompletedSubject(subjects.get(i), nota);
+            }
+            students.add(student);
+        }
+        return students;
+    }
+}
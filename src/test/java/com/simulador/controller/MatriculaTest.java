@@ -2,6 +2,10 @@ package com.simulador.controller;
 
 import com.simulador.model.domain.*;
 import com.simulador.model.validator.*;
+import com.simulador.services.SchedulePlan;
+import com.simulador.services.SemesterPlan;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -139,6 +143,26 @@ public class MatriculaTest {
         System.out.println("✓ Teste de ausência de conflitos passou!");
     }
 
+    @Test
+    @DisplayName("Conflitos de horário são registrados como pares de turmas")
+    void testConflitoEstruturado() {
+        // ACT: Tentar matrícula em duas turmas no mesmo horário
+        List<String> turmasConflitantes = Arrays.asList("MAT154-01", "MAT154-03");
+        RelatorioSimulacao relatorio = registration.processarMatricula("202365082A", turmasConflitantes);
+        
+        // ASSERT: Um único par de conflito com as duas turmas
+        assertEquals(1, relatorio.getConflitos().size(), "Deve haver um conflito");
+        Set<String> ids = new HashSet<>(Arrays.asList(
+            relatorio.getConflitos().get(0).getFirst().getId(),
+            relatorio.getConflitos().get(0).getSecond().getId()));
+        assertEquals(new HashSet<>(turmasConflitantes), ids);
+        
+        // A mensagem é montada a partir do par e as duas turmas são rejeitadas
+        assertTrue(relatorio.temErros());
+        assertTrue(relatorio.getErros().get(0).startsWith("Conflito de horário: MAT154 ("));
+        assertTrue(relatorio.getTurmasPlanejadas().isEmpty(), "Nenhuma turma em conflito deve ser aceita");
+    }
+
     @Test
     @DisplayName("Teste de finalização da simulação com atualização do histórico")
     void testFinalizarSimulacao() {
@@ -180,4 +204,196 @@ public class MatriculaTest {
             System.out.println("  " + entry.getKey().getCode() + " - Nota: " + entry.getValue());
         }
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Registros recebem identificadores densos distintos e estáveis")
+    void testIdentificadoresDensos() {
+        ServicoMatricula servico = registration.getServicoMatricula();
+        int idCalculoII = calculoII.getDenseId();
+        
+        assertTrue(idCalculoII >= 0);
+        assertTrue(turmaCalculoII.getDenseId() >= 0);
+        assertTrue(aluno.getDenseId() >= 0);
+        assertNotEquals(calculoI.getDenseId(), idCalculoII);
+        
+        // Registrar de novo o mesmo objeto mantém o identificador
+        servico.registrarDisciplina(calculoII);
+        assertEquals(idCalculoII, calculoII.getDenseId());
+        
+        // Substituir uma disciplina pelo mesmo código atribui um identificador novo
+        Subject novoCalculoII = new RequiredSubject("MAT156", "Cálculo II (novo)", 6);
+        servico.registrarDisciplina(novoCalculoII);
+        assertSame(novoCalculoII, servico.getDisciplina("MAT156"));
+        assertNotEquals(idCalculoII, novoCalculoII.getDenseId());
+    }
+    
+    @Test
+    @DisplayName("Identificadores densos são atribuídos por catálogo, a partir de zero")
+    void testIdentificadoresPorCatalogo() {
+        ServicoMatricula outro = new ServicoMatricula();
+        Subject disciplina = new RequiredSubject("ICE002", "Introdução à Computação", 2);
+        Student novato = new Student("Novo Aluno", "202599999A", 20);
+        assertEquals(-1, disciplina.getDenseId(), "Sem registro, não há identificador");
+        
+        outro.registrarDisciplina(disciplina);
+        outro.registrarAluno(novato);
+        assertEquals(0, disciplina.getDenseId());
+        assertEquals(0, novato.getDenseId());
+        assertThrows(IllegalArgumentException.class,
+            () -> registration.getServicoMatricula().registrarDisciplina(disciplina));
+        
+        // Um catálogo sintético registrado em um serviço vazio mantém os próprios identificadores
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(3, 30, 2, 2, 10).generate();
+        ServicoMatricula sintetico = new ServicoMatricula();
+        sintetico.registrarCatalogo(catalogo);
+        Subject ultima = catalogo.getSubjects().get(29);
+        assertEquals(29, ultima.getDenseId());
+        assertEquals(59, catalogo.getClassGroups().get(59).getDenseId());
+        assertSame(ultima, sintetico.getDisciplina(ultima.getCode()));
+    }
+    
+    @Test
+    @DisplayName("Elegibilidade repetida é servida pelo cache e invalidada por mudanças no histórico")
+    void testCacheElegibilidade() {
+        ServicoMatricula servico = registration.getServicoMatricula();
+        Subject fisicaII = servico.getDisciplina("FIS074");
+        
+        assertTrue(servico.requisitosAtendidos(aluno, calculoII));
+        assertFalse(servico.requisitosAtendidos(aluno, fisicaII));
+        long acertosAntes = servico.getAcertosCacheElegibilidade(aluno);
+        assertTrue(registration.verificarElegibilidade("202365082A", "MAT156").isSucesso());
+        assertFalse(servico.requisitosAtendidos(aluno, fisicaII));
+        assertEquals(acertosAntes + 2, servico.getAcertosCacheElegibilidade(aluno));
+        
+        // Aprovação nos pré-requisitos muda a versão do histórico
+        aluno.addCompletedSubject(servico.getDisciplina("FIS073"), 7.0);
+        aluno.addCompletedSubject(calculoII, 7.0);
+        assertTrue(servico.requisitosAtendidos(aluno, fisicaII));
+        
+        // Trocar os validadores muda a versão das regras
+        fisicaII.setValidadores(new ValidadorCreditosMinimos(1000));
+        assertFalse(servico.requisitosAtendidos(aluno, fisicaII));
+    }
+    
+    @Test
+    @DisplayName("Trocar validadores recompila só o catálogo da disciplina")
+    void testVersaoRegrasPorCatalogo() {
+        ServicoMatricula servico = registration.getServicoMatricula();
+        ServicoMatricula outro = new ServicoMatricula();
+        Subject introducao = new RequiredSubject("ICE002", "Introdução à Computação", 2);
+        outro.registrarDisciplina(introducao);
+        ProgramaPreRequisitos programa = servico.getPreRequisitosCompilados();
+        ProgramaPreRequisitos programaOutro = outro.getPreRequisitosCompilados();
+        
+        introducao.setValidadores(new ValidadorCreditosMinimos(10));
+        assertSame(programa, servico.getPreRequisitosCompilados(), "Outro catálogo não afeta este");
+        assertNotSame(programaOutro, outro.getPreRequisitosCompilados());
+        
+        calculoII.setValidadores(new ValidadorCreditosMinimos(10));
+        assertNotSame(programa, servico.getPreRequisitosCompilados());
+        assertFalse(outro.getPreRequisitosCompilados().isRegrasAlteradas());
+    }
+    
+    @Test
+    @DisplayName("Finalizar a simulação reavalia só as disciplinas afetadas")
+    void testFinalizarAtualizaElegibilidade() {
+        ServicoMatricula servico = registration.getServicoMatricula();
+        Subject fisicaI = servico.getDisciplina("FIS073");
+        Subject fisicaII = servico.getDisciplina("FIS074");
+        assertTrue(servico.disciplinasDesbloqueadas(aluno, fisicaI).isEmpty(), "Física II também exige Cálculo II");
+        assertFalse(servico.requisitosAtendidos(aluno, fisicaII));
+        assertTrue(servico.requisitosAtendidos(aluno, calculoII));
+        
+        Set<ClassGroup> turmas = new HashSet<>(Arrays.asList(servico.getTurma("FIS073-01"), turmaCalculoII));
+        RelatorioSimulacao relatorio = servico.planejar(aluno, turmas);
+        assertEquals(2, relatorio.getTurmasPlanejadas().size());
+        servico.finalizarSimulacao(relatorio, 8.0);
+        
+        long acertos = servico.getAcertosCacheElegibilidade(aluno);
+        assertTrue(servico.requisitosAtendidos(aluno, fisicaII), "Física II deve ser reavaliada");
+        assertEquals(acertos, servico.getAcertosCacheElegibilidade(aluno));
+        assertTrue(servico.requisitosAtendidos(aluno, calculoII));
+        assertEquals(acertos + 1, servico.getAcertosCacheElegibilidade(aluno), "Cálculo II não depende das novas notas");
+    }
+    
+    @Test
+    @DisplayName("Índices de turmas por disciplina, dia e tipo acompanham o registro")
+    void testIndicesDeTurmas() {
+        ServicoMatricula servico = registration.getServicoMatricula();
+        assertEquals(Arrays.asList(turmaCalculoII), servico.getTurmasPorDisciplina("MAT156"));
+        assertTrue(servico.getTurmasPorDisciplina("XXX000").isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+            () -> servico.getTurmasPorDisciplina("MAT156").clear());
+        
+        List<ClassGroup> anteriores = servico.getTurmasPorDisciplina("MAT156");
+        assertSame(anteriores, servico.getTurmasPorDisciplina("MAT156"), "Cópia reaproveitada até a próxima alteração");
+        
+        ClassGroup nova = new ClassGroup("MAT156-01", calculoII, 40, Arrays.asList(new Schedule(7, 8, 10)));
+        servico.registrarTurma(nova);
+        servico.registrarTurma(nova);
+        assertEquals(Arrays.asList(turmaCalculoII), anteriores, "Listas já entregues não mudam");
+        assertEquals(Arrays.asList(nova), servico.getTurmasPorDisciplina("MAT156"), "A turma substituída sai do índice");
+        assertEquals(Arrays.asList(nova), servico.getTurmasPorDia(7));
+        assertTrue(servico.getTurmasPorTipo(calculoII.getType()).contains(nova));
+        assertFalse(servico.getTurmasPorTipo(calculoII.getType()).contains(turmaCalculoII));
+        for (ClassGroup turma : servico.getTurmasPorDia(1)) {
+            assertTrue(turma.getSchedules().stream().anyMatch(h -> h.getDayOfWeek() == 1));
+        }
+    }
+    
+    @Test
+    @DisplayName("Melhor grade escolhe turmas sem conflito entre as disciplinas elegíveis")
+    void testMelhorGrade() {
+        RelatorioSimulacao relatorio = registration.simularMelhorGrade("202365082A",
+            Arrays.asList("MAT156", "MAT154", "DCC110"));
+        
+        assertTrue(relatorio.isSucesso(), relatorio.toString());
+        assertEquals(Arrays.asList(turmaCalculoII), relatorio.getTurmasPlanejadas());
+        assertTrue(aluno.getFuturePlanning().contains(calculoII));
+        assertTrue(relatorio.getAvisos().stream().anyMatch(a -> a.contains("MAT154")), "Cálculo I já foi aprovado");
+        assertTrue(relatorio.getErros().stream().anyMatch(e -> e.contains("DCC110")), "Monografia exige pré-requisitos");
+        
+        RelatorioSimulacao inexistente = registration.simularMelhorGrade("202365082A", Arrays.asList("XXX000"));
+        assertFalse(inexistente.isSucesso());
+    }
+    
+    @Test
+    @DisplayName("Grades alternativas em ordem de valor sem alterar o planejamento")
+    void testAlternativasDeGrade() {
+        ServicoMatricula servico = registration.getServicoMatricula();
+        Subject fisicaI = servico.getDisciplina("FIS073");
+        List<SchedulePlan> alternativas =
+            servico.alternativasDeGrade(aluno, Arrays.asList(calculoII, fisicaI, calculoI), 3);
+        
+        assertFalse(alternativas.isEmpty());
+        for (int i = 1; i < alternativas.size(); i++) {
+            assertTrue(alternativas.get(i).getScore() <= alternativas.get(i - 1).getScore());
+        }
+        assertTrue(alternativas.get(0).getClassGroups().contains(turmaCalculoII));
+        assertFalse(alternativas.get(0).getClassGroups().stream().anyMatch(t -> t.getSubject() == calculoI),
+            "Cálculo I já foi aprovado");
+        assertTrue(aluno.getFuturePlanning().isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Plano de períodos cobre as obrigatórias pendentes do catálogo")
+    void testPlanejarSemestres() {
+        ServicoMatricula servico = registration.getServicoMatricula();
+        SemesterPlan plano = servico.planejarSemestres(aluno);
+        
+        Set<Subject> planejadas = new HashSet<>();
+        for (List<Subject> periodo : plano.getSemesters()) {
+            assertTrue(periodo.stream().mapToInt(Subject::getWeeklyHours).sum() <= aluno.getMaxWeeklyHours());
+            planejadas.addAll(periodo);
+        }
+        assertTrue(plano.isOptimal());
+        assertFalse(planejadas.contains(calculoI), "Cálculo I já foi aprovado");
+        for (Subject disciplina : servico.getDisciplinasDisponiveis()) {
+            if (disciplina instanceof RequiredSubject && !aluno.hasPassedSubject(disciplina)) {
+                assertTrue(planejadas.contains(disciplina) || plano.getUnreachableSubjects().contains(disciplina),
+                    disciplina.getCode());
+            }
+        }
+        assertTrue(aluno.getFuturePlanning().isEmpty());
+    }
+}
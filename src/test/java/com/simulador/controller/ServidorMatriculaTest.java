@@ -0,0 +1,84 @@
+package com.simulador.controller;
+
+import com.simulador.model.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Testes do modo servidor de matrícula
+ */
+@DisplayName("Testes do ServidorMatricula")
+public class ServidorMatriculaTest {
+    
+    private Registration registration;
+    private ServicoMatricula servico;
+    
+    @BeforeEach
+    void setUp() {
+        registration = new Registration();
+        registration.inicializarSistema();
+        servico = registration.getServicoMatricula();
+    }
+    
+    private List<String> executar(ServidorMatricula servidor, String pedidos) throws Exception {
+        StringWriter respostas = new StringWriter();
+        servidor.executar(new BufferedReader(new StringReader(pedidos)), new PrintWriter(respostas));
+        return Arrays.asList(respostas.toString().split("\\R"));
+    }
+    
+    @Test
+    @DisplayName("Pedido válido matricula o aluno e ocupa a vaga")
+    void testPedidoValido() throws Exception {
+        ServidorMatricula servidor = new ServidorMatricula(registration);
+        
+        List<String> respostas = executar(servidor, "202365082A MAT156-01\n");
+        
+        assertEquals(List.of("202365082A OK MAT156-01"), respostas);
+        assertTrue(servico.getTurma("MAT156-01").isStudentEnrolled(servico.getAluno("202365082A")));
+        assertEquals(1, servidor.getAceitos());
+        assertEquals(1, servidor.getLatencias().getTotal());
+    }
+    
+    @Test
+    @DisplayName("Pedidos inválidos geram respostas de falha")
+    void testPedidosInvalidos() throws Exception {
+        ServidorMatricula servidor = new ServidorMatricula(registration);
+        
+        List<String> respostas = executar(servidor, "999999 MAT156-01\n202365082A XXX-01\n");
+        
+        assertEquals(2, respostas.size());
+        assertTrue(respostas.contains("999999 FALHA Aluno não encontrado: 999999"));
+        assertTrue(respostas.contains("202365082A FALHA Turma não encontrada: XXX-01"));
+        assertEquals(2, servidor.getRecusados());
+    }
+    
+    @Test
+    @DisplayName("Muitos alunos concorrentes nunca excedem a capacidade da turma")
+    void testCapacidadeSobCarga() throws Exception {
+        ClassGroup turma = servico.getTurma("MAT154-01");
+        StringBuilder pedidos = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            servico.registrarAluno(new Student("Aluno " + i, "M" + i, 20));
+            pedidos.append("M").append(i).append(" MAT154-01\n");
+        }
+        ServidorMatricula servidor = new ServidorMatricula(registration);
+        
+        List<String> respostas = executar(servidor, pedidos.toString());
+        
+        assertEquals(500, respostas.size());
+        assertEquals(turma.getCapacity(), turma.getEnrolledStudentsCount());
+        assertEquals(turma.getCapacity(), servidor.getAceitos());
+        assertEquals(500 - turma.getCapacity(), servidor.getRecusados());
+        assertTrue(servidor.getLatencias().getPercentilMicros(99) >= servidor.getLatencias().getPercentilMicros(50));
+        assertTrue(servidor.resumo().contains("Pedidos: 500"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.simulador.controller;
+
+import com.simulador.model.domain.*;
+import com.simulador.model.validator.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Testes da simulação em lote
+ */
+@DisplayName("Testes da SimulacaoLote")
+public class SimulacaoLoteTest {
+
+    private ServicoMatricula servico;
+    private Subject calculoI, calculoII;
+    private ClassGroup turmaCalculoI, turmaCalculoII;
+
+    @BeforeEach
+    void setUp() {
+        servico = new ServicoMatricula();
+        calculoI = new RequiredSubject("MAT154", "Cálculo I", 4);
+        calculoII = new RequiredSubject("MAT156", "Cálculo II", 4);
+        calculoII.setValidadores(new ValidadorSimples(calculoI));
+        turmaCalculoI = new ClassGroup("MAT154-01", calculoI, 3, Arrays.asList(new Schedule(1, 8, 10)));
+        turmaCalculoII = new ClassGroup("MAT156-01", calculoII, 2, Arrays.asList(new Schedule(2, 8, 10)));
+        servico.registrarDisciplina(calculoI);
+        servico.registrarDisciplina(calculoII);
+        servico.registrarTurma(turmaCalculoI);
+        servico.registrarTurma(turmaCalculoII);
+    }
+
+    @Test
+    @DisplayName("Alunos com mais créditos têm prioridade nas vagas")
+    void testPrioridadePorCreditos() {
+        Subject base = new RequiredSubject("ICE001", "Introdução às Ciências Exatas", 2);
+        List<PedidoLote> pedidos = new ArrayList<>();
+        List<Student> veteranos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Student aluno = new Student("Aluno " + i, "M" + i, 20);
+            if (i >= 3) {
+                aluno.addCompletedSubject(base, 8.0);
+                veteranos.add(aluno);
+            }
+            pedidos.add(new PedidoLote(aluno, Set.of(turmaCalculoI)));
+        }
+
+        EstatisticasLote estatisticas = new SimulacaoLote(servico).executar(pedidos.iterator(), relatorio -> { });
+
+        for (Student veterano : veteranos) {
+            assertTrue(turmaCalculoI.isStudentEnrolled(veterano), "Veteranos devem ocupar as vagas primeiro");
+        }
+        assertEquals(6, estatisticas.getAlunosProcessados());
+        assertEquals(3, estatisticas.getAlunosMatriculados());
+        assertEquals(3, estatisticas.getRejeicoes(MotivoRejeicao.TURMA_CHEIA));
+        assertEquals(3, estatisticas.getVagasOcupadas());
+        assertEquals(3, estatisticas.getVagasOferecidas());
+        assertEquals(1, estatisticas.getTurmasLotadas());
+    }
+
+    @Test
+    @DisplayName("Rejeições são agregadas por motivo em janelas pequenas")
+    void testRejeicoesPorMotivo() {
+        Iterator<PedidoLote> entrada = IntStream.range(0, 10)
+            .mapToObj(i -> new PedidoLote(new Student("Aluno " + i, "M" + i, 20), Set.of(turmaCalculoII)))
+            .iterator();
+        List<RelatorioSimulacao> relatorios = new ArrayList<>();
+
+        EstatisticasLote estatisticas = new SimulacaoLote(servico, SimulacaoLote.ORDEM_DE_CHEGADA, 3)
+            .executar(entrada, relatorios::add);
+
+        assertEquals(10, relatorios.size(), "Cada pedido deve gerar um relatório");
+        assertEquals(10, estatisticas.getRejeicoes(MotivoRejeicao.PRE_REQUISITO));
+        assertEquals(0, estatisticas.getAlunosMatriculados());
+        assertEquals(0, estatisticas.getVagasOcupadas());
+        assertTrue(relatorios.get(0).getErros().get(0).contains("Pré-requisitos não atendidos para MAT156"));
+        assertTrue(estatisticas.toString().contains("Alunos processados: 10"));
+    }
+
+    @Test
+    @DisplayName("Prioridade nula é recusada e erros mantêm a ordem de registro")
+    void testPrioridadeNulaEOrdemDosErros() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulacaoLote(servico, null, 10));
+
+        RelatorioSimulacao relatorio = new RelatorioSimulacao(new Student("Ana Lima", "M1", 20));
+        relatorio.adicionarErro("primeiro");
+        relatorio.adicionarRejeicao(turmaCalculoII, MotivoRejeicao.PRE_REQUISITO);
+        relatorio.adicionarErro("último");
+        List<String> erros = relatorio.getErros();
+        assertEquals(3, erros.size());
+        assertEquals("primeiro", erros.get(0));
+        assertTrue(erros.get(1).startsWith("Turma MAT156-01 rejeitada"));
+        assertEquals("último", erros.get(2));
+    }
+}
@@ -3,10 +3,19 @@ package com.simulador.model.domain;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import com.simulador.model.exceptions.TurmaCheiaException;
+import com.simulador.model.validator.ValidadorSimples;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Testes unitários para a classe ClassGroup
@@ -131,12 +140,235 @@ public class ClassGroupTest {
     void testHorariosImutaveis() {
         List<Schedule> horariosOriginais = turma.getSchedules();
         
-        // Verificar que a lista retornada é uma cópia (não a lista original)
-        assertNotSame(turma.getSchedules(), turma.getSchedules(), "Deve retornar uma nova lista a cada chamada");
+        // A lista retornada não pode ser alterada por quem a consulta
+        assertThrows(UnsupportedOperationException.class, () -> horariosOriginais.add(horario1));
+        assertThrows(UnsupportedOperationException.class, () -> horariosOriginais.remove(horario2));
         
         // A turma deve manter seus horários originais
         assertEquals(2, turma.getSchedules().size());
         assertTrue(turma.getSchedules().contains(horario1));
         assertTrue(turma.getSchedules().contains(horario2));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Matrículas concorrentes nunca excedem a capacidade")
+    void testMatriculasConcorrentes() throws InterruptedException {
+        ClassGroup turmaPopular = new ClassGroup("MAT154-01", disciplina, 30, Arrays.asList(horario1));
+        int totalAlunos = 2000;
+        AtomicInteger aceitas = new AtomicInteger();
+        AtomicInteger recusadas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        
+        for (int i = 0; i < totalAlunos; i++) {
+            Student aluno = new Student("Aluno " + i, "M" + i, 20);
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                    turmaPopular.enrollStudent(aluno);
+                    aceitas.incrementAndGet();
+                } catch (TurmaCheiaException e) {
+                    recusadas.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        assertEquals(30, aceitas.get(), "Exatamente a capacidade deve ser preenchida");
+        assertEquals(totalAlunos - 30, recusadas.get());
+        assertEquals(30, turmaPopular.getEnrolledStudentsCount());
+        assertEquals(30, turmaPopular.getEnrolledStudents().size());
+        assertFalse(turmaPopular.hasAvailableSlots());
+    }
+    
+    @Test
+    @DisplayName("Alunos matriculados são uma visão somente leitura")
+    void testAlunosMatriculadosSomenteLeitura() throws TurmaCheiaException {
+        Student aluno = new Student("Maria Souza", "202365001A", 24);
+        Set<Student> matriculados = turma.getEnrolledStudents();
+        assertTrue(matriculados.isEmpty());
+        
+        turma.enrollStudent(aluno);
+        assertTrue(matriculados.contains(aluno), "A visão acompanha novas matrículas");
+        assertThrows(UnsupportedOperationException.class, () -> matriculados.remove(aluno));
+        assertTrue(turma.isStudentEnrolled(aluno));
+    }
+    
+    @Test
+    @DisplayName("Reserva de vaga é usada uma única vez")
+    void testReservaDeVaga() {
+        ClassGroup pequena = new ClassGroup("MAT154-02", disciplina, 1, Arrays.asList(horario1));
+        Student aluno = new Student("Ana Lima", "202365001A", 20);
+        
+        ClassGroup.Reservation reserva = pequena.reserveSlot();
+        assertNotNull(reserva);
+        assertSame(pequena, reserva.getClassGroup());
+        assertNull(pequena.reserveSlot(), "A única vaga está reservada");
+        reserva.release();
+        assertThrows(IllegalStateException.class, reserva::release);
+        assertEquals(0, pequena.getEnrolledStudentsCount());
+        
+        ClassGroup.Reservation outra = pequena.reserveSlot();
+        assertTrue(outra.confirm(aluno));
+        assertThrows(IllegalStateException.class, outra::release);
+        assertEquals(1, pequena.getEnrolledStudentsCount());
+        assertFalse(pequena.hasAvailableSlots());
+    }
+    
+    @Test
+    @DisplayName("Lista de espera recebe a vaga liberada, em ordem de chegada")
+    void testListaDeEspera() throws TurmaCheiaException {
+        ClassGroup pequena = new ClassGroup("MAT154-02", disciplina, 1, Arrays.asList(horario1));
+        Student primeiro = new Student("Ana Lima", "202365001A", 20);
+        Student segundo = new Student("Bruno Reis", "202365002A", 20);
+        Student terceiro = new Student("Carla Dias", "202365003A", 20);
+        
+        assertTrue(pequena.enrollOrWaitlist(primeiro));
+        assertFalse(pequena.enrollOrWaitlist(segundo));
+        assertFalse(pequena.enrollOrWaitlist(terceiro));
+        assertFalse(pequena.enrollOrWaitlist(segundo), "Quem já espera mantém a posição");
+        assertThrows(TurmaCheiaException.class, () -> pequena.enrollOrWaitlist(primeiro));
+        assertEquals(Arrays.asList(segundo, terceiro), pequena.getWaitlist());
+        assertTrue(primeiro.getEnrolledClassGroups().contains(pequena));
+        
+        pequena.removeStudent(primeiro);
+        
+        assertTrue(pequena.isStudentEnrolled(segundo));
+        assertFalse(pequena.isWaitlisted(segundo));
+        assertTrue(segundo.getEnrolledClassGroups().contains(pequena));
+        assertFalse(primeiro.getEnrolledClassGroups().contains(pequena));
+        assertEquals(Arrays.asList(terceiro), pequena.getWaitlist());
+        assertEquals(1, pequena.getEnrolledStudentsCount());
+    }
+    
+    @Test
+    @DisplayName("Vaga devolvida por reserva vai para a lista de espera")
+    void testReservaDevolvidaPromoveListaDeEspera() throws TurmaCheiaException {
+        ClassGroup pequena = new ClassGroup("MAT154-02", disciplina, 1, Arrays.asList(horario1));
+        Student primeiro = new Student("Ana Lima", "202365001A", 20);
+        Student segundo = new Student("Bruno Reis", "202365002A", 20);
+        
+        ClassGroup.Reservation reserva = pequena.reserveSlot();
+        assertFalse(pequena.enrollOrWaitlist(primeiro));
+        reserva.release();
+        
+        assertTrue(pequena.isStudentEnrolled(primeiro), "A vaga devolvida é oferecida a quem espera");
+        assertFalse(pequena.enrollOrWaitlist(segundo));
+        assertEquals(Arrays.asList(segundo), pequena.getWaitlist());
+        assertFalse(pequena.hasAvailableSlots());
+        
+        // Confirmação recusada (aluno já matriculado) também devolve a vaga à fila
+        ClassGroup dupla = new ClassGroup("MAT154-03", disciplina, 2, Arrays.asList(horario2));
+        Student terceiro = new Student("Carla Dias", "202365003A", 20);
+        dupla.enrollStudent(terceiro);
+        ClassGroup.Reservation repetida = dupla.reserveSlot();
+        assertFalse(dupla.enrollOrWaitlist(segundo));
+        assertFalse(repetida.confirm(terceiro));
+        assertTrue(dupla.isStudentEnrolled(segundo));
+        assertEquals(0, dupla.getWaitlistSize());
+        
+        // Quem entrou em outra turma da disciplina enquanto esperava não é promovido
+        pequena.removeStudent(primeiro);
+        assertFalse(pequena.isStudentEnrolled(segundo));
+        assertEquals(0, pequena.getWaitlistSize());
+        assertTrue(pequena.hasAvailableSlots());
+        assertTrue(pequena.enrollOrWaitlist(primeiro));
+    }
+    
+    @Test
+    @DisplayName("Promoção revalida pré-requisitos e conflitos de horário do aluno")
+    void testPromocaoRevalidaAluno() throws TurmaCheiaException {
+        Subject calculoII = new RequiredSubject("MAT156", "Cálculo II", 4);
+        calculoII.setValidadores(new ValidadorSimples(disciplina));
+        ClassGroup turmaCalculoII = new ClassGroup("MAT156-01", calculoII, 1, Arrays.asList(horario2));
+        Student ocupante = new Student("Ana Lima", "202365001A", 20);
+        Student semPreRequisito = new Student("Bruno Reis", "202365002A", 20);
+        Student comConflito = new Student("Carla Dias", "202365003A", 20);
+        Student apto = new Student("Davi Melo", "202365004A", 20);
+        for (Student aluno : Arrays.asList(comConflito, apto)) {
+            aluno.addCompletedSubject(disciplina, 7.0);
+        }
+        // Carla já está em uma turma no mesmo horário (quarta, 14h-16h)
+        new ClassGroup("FIS073-01", new RequiredSubject("FIS073", "Física I", 4), 30,
+            Arrays.asList(new Schedule(3, 15, 17))).enrollStudent(comConflito);
+        
+        turmaCalculoII.enrollStudent(ocupante);
+        for (Student aluno : Arrays.asList(semPreRequisito, comConflito, apto)) {
+            turmaCalculoII.joinWaitlist(aluno);
+        }
+        turmaCalculoII.removeStudent(ocupante);
+        
+        assertTrue(turmaCalculoII.isStudentEnrolled(apto));
+        assertFalse(turmaCalculoII.isStudentEnrolled(semPreRequisito));
+        assertFalse(turmaCalculoII.isStudentEnrolled(comConflito));
+        assertEquals(0, turmaCalculoII.getWaitlistSize(), "Quem não atende sai da lista");
+    }
+    
+    @Test
+    @DisplayName("Promoção respeita a carga horária máxima do aluno")
+    void testPromocaoRespeitaCargaHoraria() throws TurmaCheiaException {
+        ClassGroup turmaFisica = new ClassGroup("FIS073-01", new RequiredSubject("FIS073", "Física I", 4), 1,
+            Arrays.asList(new Schedule(5, 8, 10)));
+        Student ocupante = new Student("Ana Lima", "202365001A", 20);
+        Student semHoras = new Student("Bruno Reis", "202365002A", 6);
+        Student comHoras = new Student("Carla Dias", "202365003A", 8);
+        // Os dois já cursam 4h; Física I leva Bruno a 8h, acima do limite de 6h
+        turma.enrollStudent(semHoras);
+        turma.enrollStudent(comHoras);
+        
+        turmaFisica.enrollStudent(ocupante);
+        turmaFisica.joinWaitlist(semHoras);
+        turmaFisica.joinWaitlist(comHoras);
+        turmaFisica.removeStudent(ocupante);
+        
+        assertFalse(turmaFisica.isStudentEnrolled(semHoras));
+        assertTrue(turmaFisica.isStudentEnrolled(comHoras));
+        assertEquals(8, comHoras.getEnrolledWeeklyHours());
+        assertEquals(0, turmaFisica.getWaitlistSize());
+    }
+    
+    @Test
+    @DisplayName("Vagas liberadas ao mesmo tempo em duas turmas da disciplina promovem o aluno uma vez")
+    void testPromocaoConcorrenteMesmaDisciplina() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int rodada = 0; rodada < 200; rodada++) {
+                ClassGroup manha = new ClassGroup("MAT154-02", disciplina, 1, Arrays.asList(horario1));
+                ClassGroup tarde = new ClassGroup("MAT154-03", disciplina, 1, Arrays.asList(horario2));
+                Student ocupanteManha = new Student("Ana Lima", "202365001A", 20);
+                Student ocupanteTarde = new Student("Bruno Reis", "202365002A", 20);
+                Student esperando = new Student("Carla Dias", "202365003A", 20);
+                manha.enrollStudent(ocupanteManha);
+                tarde.enrollStudent(ocupanteTarde);
+                manha.joinWaitlist(esperando);
+                tarde.joinWaitlist(esperando);
+                
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<?>> tarefas = Arrays.asList(
+                    executor.submit(() -> {
+                        largada.await();
+                        manha.removeStudent(ocupanteManha);
+                        return null;
+                    }),
+                    executor.submit(() -> {
+                        largada.await();
+                        tarde.removeStudent(ocupanteTarde);
+                        return null;
+                    }));
+                largada.countDown();
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get(5, TimeUnit.SECONDS);
+                }
+                
+                assertEquals(1, esperando.getEnrolledClassGroups().size(), "Rodada " + rodada);
+                assertEquals(1, manha.getEnrolledStudentsCount() + tarde.getEnrolledStudentsCount(), "Rodada " + rodada);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.simulador.model.domain;
 
 import com.simulador.model.exceptions.CargaHorariaExcedidaException;
+import com.simulador.model.exceptions.PreRequisitoNaoCumpridoException;
+import com.simulador.model.validator.ValidadorSimples;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 /**
  * Testes unitários para a classe Student
  */
@@ -102,4 +107,74 @@ public class StudentTest {
         assertFalse(aluno.hasCompletedSubject(disciplina1));
         assertNull(aluno.getGrade(disciplina1));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Substituir a nota ajusta os créditos uma única vez")
+    void testSubstituirNota() {
+        aluno.addCompletedSubject(disciplina1, 8.0);
+        aluno.addCompletedSubject(disciplina1, 9.0);
+        assertEquals(4, aluno.getCreditosAcumulados());
+        
+        aluno.addCompletedSubject(disciplina1, 4.0);
+        assertEquals(0, aluno.getCreditosAcumulados());
+        assertFalse(aluno.hasPassedSubject(disciplina1));
+        assertEquals(1, aluno.getCompletedSubjects().size());
+    }
+    
+    @Test
+    @DisplayName("Aprovação usa a nota informada e reprovação nunca é lida como 6.00")
+    void testAprovacaoNoLimite() {
+        ValidadorSimples validador = new ValidadorSimples(disciplina1);
+        aluno.addCompletedSubject(disciplina1, 5.999);
+        assertTrue(aluno.hasCompletedSubject(disciplina1));
+        assertFalse(aluno.hasPassedSubject(disciplina1), "5.999 não é aprovação");
+        assertEquals(5.99, aluno.getGrade(disciplina1), "Reprovação nunca é lida como 6.00");
+        assertEquals(0, aluno.getCreditosAcumulados());
+        assertFalse(validador.validar(aluno, disciplina2));
+        assertThrows(PreRequisitoNaoCumpridoException.class,
+            () -> validador.validarComExcecao(aluno, disciplina2));
+        
+        aluno.addCompletedSubject(disciplina1, 6.0);
+        assertEquals(6.0, aluno.getGrade(disciplina1));
+        assertTrue(aluno.hasPassedSubject(disciplina1));
+        assertEquals(4, aluno.getCreditosAcumulados());
+        assertTrue(validador.validar(aluno, disciplina2));
+        assertDoesNotThrow(() -> validador.validarComExcecao(aluno, disciplina2));
+    }
+    
+    @Test
+    @DisplayName("Histórico exposto em ordem e somente leitura")
+    void testHistoricoSomenteLeitura() {
+        DenseIdSpace catalogo = new DenseIdSpace();
+        catalogo.register(disciplina1);
+        catalogo.register(disciplina2);
+        aluno.addCompletedSubject(disciplina2, 7.5);
+        aluno.addCompletedSubject(disciplina1, 8.25);
+        
+        assertEquals(8.25, aluno.getCompletedSubjects().get(disciplina1));
+        assertEquals(Arrays.asList(disciplina1, disciplina2),
+            new ArrayList<>(aluno.getCompletedSubjects().keySet()));
+        assertThrows(UnsupportedOperationException.class,
+            () -> aluno.getCompletedSubjects().put(disciplina1, 10.0));
+        assertThrows(IllegalArgumentException.class, () -> aluno.addCompletedSubject(disciplina1, Double.NaN));
+    }
+    
+    @Test
+    @DisplayName("Carga planejada é mantida a cada inclusão e remoção")
+    void testCargaPlanejadaIncremental() throws CargaHorariaExcedidaException {
+        aluno.addToFuturePlanning(disciplina1);
+        aluno.addToFuturePlanning(disciplina1); // repetida não soma de novo
+        aluno.addToFuturePlanning(disciplina2);
+        aluno.removeFromFuturePlanning(new RequiredSubject("XXX000", "Fora do plano", 4));
+        
+        assertEquals(8, aluno.getFuturePlanningWeeklyHours());
+        assertEquals(2, aluno.getFuturePlanningCount());
+        assertTrue(aluno.planejamentoConsistente());
+        assertThrows(UnsupportedOperationException.class, () -> aluno.getFuturePlanning().add(disciplina1));
+        
+        aluno.removeFromFuturePlanning(disciplina1);
+        aluno.removeFromFuturePlanning(disciplina2);
+        assertEquals(0, aluno.getFuturePlanningWeeklyHours());
+        assertEquals(0, aluno.getFuturePlanningCount());
+    }
+}
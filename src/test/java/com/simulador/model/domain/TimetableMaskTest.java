@@ -0,0 +1,71 @@
+package com.simulador.model.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Testes unitários para a classe TimetableMask
+ */
+@DisplayName("Testes da Classe TimetableMask")
+public class TimetableMaskTest {
+
+    @Test
+    @DisplayName("Máscara conta as horas ocupadas")
+    void testHorasOcupadas() {
+        TimetableMask mascara = TimetableMask.of(Arrays.asList(
+            new Schedule(1, 8, 10), new Schedule(3, 14, 18)));
+
+        assertEquals(6, mascara.occupiedHours());
+        assertFalse(mascara.isEmpty());
+        assertTrue(TimetableMask.EMPTY.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Interseção equivale a Schedule.conflicts para todos os pares de horários")
+    void testEquivalenciaComSchedule() {
+        // Percorre horários em todos os dias, incluindo os que cruzam fronteiras entre palavras
+        for (int dia1 = 1; dia1 <= 7; dia1++) {
+            for (int dia2 = dia1; dia2 <= Math.min(7, dia1 + 1); dia2++) {
+                for (int inicio1 = 0; inicio1 < 22; inicio1 += 3) {
+                    for (int inicio2 = 0; inicio2 < 22; inicio2 += 2) {
+                        Schedule h1 = new Schedule(dia1, inicio1, Math.min(22, inicio1 + 2));
+                        Schedule h2 = new Schedule(dia2, inicio2, Math.min(22, inicio2 + 3));
+                        TimetableMask m1 = TimetableMask.of(List.of(h1));
+                        TimetableMask m2 = TimetableMask.of(List.of(h2));
+
+                        assertEquals(h1.conflicts(h2), m1.intersects(m2), h1 + " x " + h2);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Horários adjacentes não conflitam")
+    void testHorariosAdjacentes() {
+        TimetableMask m1 = TimetableMask.of(List.of(new Schedule(2, 8, 10)));
+        TimetableMask m2 = TimetableMask.of(List.of(new Schedule(2, 10, 12)));
+
+        assertFalse(m1.intersects(m2));
+        assertTrue(m1.union(m2).intersects(TimetableMask.of(List.of(new Schedule(2, 9, 11)))));
+        assertEquals(4, m1.union(m2).occupiedHours());
+    }
+
+    @Test
+    @DisplayName("Conta os dias livres, inclusive com horários nas fronteiras das palavras")
+    void testDiasLivres() {
+        // Quarta 19h-21h ocupa os bits 63 e 64, um em cada palavra
+        TimetableMask mascara = TimetableMask.of(Arrays.asList(
+            new Schedule(1, 8, 10), new Schedule(3, 19, 21), new Schedule(4, 0, 2)));
+
+        assertEquals(3, mascara.countFreeDays(6));
+        assertEquals(1, mascara.countFreeDays(3));
+        assertEquals(6, TimetableMask.EMPTY.countFreeDays(6));
+        assertEquals(mascara.countFreeDays(7), TimetableMask.countFreeDays(
+            mascara.getWord(0), mascara.getWord(1), mascara.getWord(2), 7));
+    }
+}
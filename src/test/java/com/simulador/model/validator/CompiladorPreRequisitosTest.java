@@ -0,0 +1,128 @@
+package com.simulador.model.validator;
+
+import com.simulador.model.domain.RequiredSubject;
+import com.simulador.model.domain.Student;
+import com.simulador.model.domain.Subject;
+import com.simulador.services.SyntheticCatalog;
+import com.simulador.services.SyntheticCatalogGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+/**
+ * Testes unitários para o CompiladorPreRequisitos
+ */
+@DisplayName("Testes do CompiladorPreRequisitos")
+public class CompiladorPreRequisitosTest {
+
+    private Student aluno;
+    private Subject calculoI;
+    private Subject geometria;
+    private Subject calculoII;
+
+    @BeforeEach
+    void setUp() {
+        aluno = new Student("João Silva", "202365082A", 20);
+        calculoI = new RequiredSubject("MAT154", "Cálculo I", 4);
+        geometria = new RequiredSubject("MAT155", "Geometria Analítica", 4);
+        calculoII = new RequiredSubject("MAT156", "Cálculo II", 4);
+        calculoII.setValidadores(new ValidadorLogicoAND(Arrays.asList(
+            new ValidadorSimples(calculoI),
+            new ValidadorSimples(geometria)
+        )));
+    }
+
+    @Test
+    @DisplayName("Programa compilado respeita AND e nota mínima")
+    void testAndENotaMinima() {
+        ProgramaPreRequisitos programa = CompiladorPreRequisitos.compilar(Arrays.asList(calculoI, geometria, calculoII));
+        int indice = programa.getIndice(calculoII);
+
+        aluno.addCompletedSubject(calculoI, 8.0);
+        aluno.addCompletedSubject(geometria, 5.9);
+        assertFalse(programa.atendidos(indice, aluno, programa.aprovadas(aluno)), "Reprovação não atende ao pré-requisito");
+
+        aluno.addCompletedSubject(geometria, 6.0);
+        assertTrue(programa.atendidos(indice, aluno, programa.aprovadas(aluno)));
+        assertEquals(Arrays.asList(calculoI, geometria, calculoII), programa.disciplinasElegiveis(aluno));
+    }
+
+    @Test
+    @DisplayName("Validadores desconhecidos e pré-requisitos fora do catálogo usam o validador original")
+    void testValidadoresExternos() {
+        Subject externa = new RequiredSubject("ICE001", "Introdução às Ciências Exatas", 2);
+        Subject projeto = new RequiredSubject("DCC110", "Monografia", 4);
+        Set<ValidadorPreRequisito> validadores = new HashSet<>();
+        validadores.add(new ValidadorSimples(externa));
+        validadores.add((student, subject) -> student.getMaxWeeklyHours() >= 20);
+        projeto.setValidadores(validadores);
+
+        ProgramaPreRequisitos programa = CompiladorPreRequisitos.compilar(Arrays.asList(calculoI, projeto));
+        int indice = programa.getIndice(projeto);
+        assertEquals(-1, programa.getIndice(externa));
+
+        assertFalse(programa.atendidos(indice, aluno, programa.aprovadas(aluno)));
+        aluno.addCompletedSubject(externa, 9.0);
+        assertTrue(programa.atendidos(indice, aluno, programa.aprovadas(aluno)));
+    }
+
+    @Test
+    @DisplayName("Equivale a requisitosAtendidos em um catálogo sintético")
+    void testEquivalenciaComValidadores() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, 1500, 1, 8, 200).generate();
+        ProgramaPreRequisitos programa = CompiladorPreRequisitos.compilar(catalogo.getSubjects());
+        long[] aprovadas = new long[(catalogo.getSubjects().size() + 63) / 64];
+        long[] elegiveis = new long[aprovadas.length];
+
+        for (Student estudante : catalogo.getStudents()) {
+            programa.aprovadas(estudante, aprovadas);
+            int total = programa.elegiveis(estudante, aprovadas, elegiveis);
+            int esperado = 0;
+            for (int i = 0; i < catalogo.getSubjects().size(); i++) {
+                boolean atende = catalogo.getSubjects().get(i).requisitosAtendidos(estudante);
+                assertEquals(atende, (elegiveis[i / 64] & (1L << i)) != 0, estudante.getRegistration() + " / " + i);
+                if (atende) {
+                    esperado++;
+                }
+            }
+            assertEquals(esperado, total);
+        }
+    }
+
+    @Test
+    @DisplayName("Catálogo com disciplina repetida é rejeitado")
+    void testDisciplinaRepetida() {
+        assertThrows(IllegalArgumentException.class,
+            () -> CompiladorPreRequisitos.compilar(Arrays.asList(calculoI, calculoI)));
+    }
+
+    @Test
+    @DisplayName("Índice reverso aponta as disciplinas desbloqueadas por uma aprovação")
+    void testDesbloqueadasPor() {
+        Subject fisicaI = new RequiredSubject("FIS073", "Física I", 4);
+        Subject fisicaII = new RequiredSubject("FIS074", "Física II", 4);
+        fisicaII.setValidadores(new ValidadorLogicoAND(Arrays.asList(
+            new ValidadorSimples(fisicaI), new ValidadorSimples(calculoII), new ValidadorSimples(fisicaI))));
+        Subject seminario = new RequiredSubject("DCC999", "Seminário", 2);
+        seminario.setValidadores(new ValidadorCreditosMinimos(16));
+        ProgramaPreRequisitos programa = CompiladorPreRequisitos.compilar(
+            Arrays.asList(calculoI, geometria, calculoII, fisicaI, fisicaII, seminario));
+
+        int indiceFisicaI = programa.getIndice(fisicaI);
+        assertEquals(1, programa.getQuantidadeDependentes(indiceFisicaI), "Folhas repetidas geram um único dependente");
+        assertEquals(programa.getIndice(fisicaII), programa.getDependente(indiceFisicaI, 0));
+        assertEquals(2, programa.getQuantidadeDependentes(programa.getIndice(calculoI))
+            + programa.getQuantidadeDependentes(programa.getIndice(geometria)));
+
+        aluno.addCompletedSubject(calculoI, 7.0);
+        aluno.addCompletedSubject(geometria, 7.0);
+        aluno.addCompletedSubject(calculoII, 7.0);
+        assertEquals(Arrays.asList(fisicaII, seminario), programa.desbloqueadasPor(indiceFisicaI, aluno));
+
+        aluno.addCompletedSubject(fisicaI, 7.0);
+        assertTrue(programa.desbloqueadasPor(indiceFisicaI, aluno).isEmpty(), "Nada novo para quem já foi aprovado");
+    }
+}
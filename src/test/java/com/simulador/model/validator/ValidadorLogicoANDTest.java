@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -140,4 +141,23 @@ public class ValidadorLogicoANDTest {
         // ASSERT: Deve retornar false
         assertFalse(resultado, "Aluno não deve ser elegível quando cursou apenas dois dos três pré-requisitos");
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Alterar a lista usada na construção não muda a regra")
+    void testListaDoChamadorCopiada() {
+        // ARRANGE: Lista mutável com um único pré-requisito
+        List<ValidadorPreRequisito> validadores = new ArrayList<>();
+        validadores.add(new ValidadorSimples(disciplina1));
+        ValidadorLogicoAND validadorCopia = new ValidadorLogicoAND(validadores);
+        aluno.addCompletedSubject(disciplina1, 8.5);
+        
+        // ACT: Acrescentar um pré-requisito à lista original depois da construção
+        validadores.add(new ValidadorSimples(disciplina3));
+        
+        // ASSERT: O validador continua exigindo apenas disciplina1
+        assertTrue(validadorCopia.validar(aluno, disciplinaAlvo));
+        assertEquals(1, validadorCopia.getValidadores().size());
+        assertThrows(UnsupportedOperationException.class,
+            () -> validadorCopia.getValidadores().add(new ValidadorSimples(disciplina2)));
+    }
+}
@@ -154,4 +154,197 @@ public class ConflictResolutionServiceTest {
         // ASSERT: Deve retornar lista vazia
         assertTrue(resultado.isEmpty(), "Deve retornar lista vazia");
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Sobreposições parciais e em qualquer dia também são conflitos")
+    void testSobreposicaoParcial() throws ConflitoDeHorarioException {
+        // ARRANGE: Eletiva das 9h às 11h sobrepõe a obrigatória das 8h às 10h; a optativa
+        // conflita só no segundo horário (terça)
+        ClassGroup eletiva = new ClassGroup("DCC120-02", turmaEletiva2.getSubject(), 25,
+            Arrays.asList(new Schedule(1, 9, 11)));
+        ClassGroup optativa = new ClassGroup("DCC101-02", turmaOptativa2.getSubject(), 20,
+            Arrays.asList(new Schedule(4, 8, 10), new Schedule(2, 14, 16)));
+        ClassGroup obrigatoria = new ClassGroup("MAT155-02", turmaObrigatoria2.getSubject(), 30,
+            Arrays.asList(new Schedule(2, 15, 17)));
+        
+        // ACT
+        List<ClassGroup> resultado = service.resolveConflicts(
+            Arrays.asList(eletiva, optativa, turmaObrigatoria, obrigatoria));
+        
+        // ASSERT: As obrigatórias vencem, na ordem da entrada
+        assertEquals(Arrays.asList(turmaObrigatoria, obrigatoria), resultado);
+    }
+    
+    @Test
+    @DisplayName("Precedência é aplicada por componente de conflitos")
+    void testComponentesDeConflito() throws ConflitoDeHorarioException {
+        // ARRANGE: Obrigatória (8-10) - optativa (9-11) - obrigatória (10-12): as obrigatórias
+        // não conflitam entre si e a optativa sai
+        ClassGroup primeira = new ClassGroup("MAT154-02", turmaObrigatoria.getSubject(), 30,
+            Arrays.asList(new Schedule(3, 8, 10)));
+        ClassGroup optativa = new ClassGroup("D133-02", turmaOptativa.getSubject(), 20,
+            Arrays.asList(new Schedule(3, 9, 11)));
+        ClassGroup segunda = new ClassGroup("MAT155-02", turmaObrigatoria2.getSubject(), 30,
+            Arrays.asList(new Schedule(3, 10, 12)));
+        // Eletivas em disputa, mas ambas eliminadas por uma obrigatória: não há exceção
+        ClassGroup eletiva = new ClassGroup("DCC197-02", turmaEletiva.getSubject(), 25,
+            Arrays.asList(new Schedule(5, 8, 12)));
+        ClassGroup eletiva2 = new ClassGroup("DCC120-02", turmaEletiva2.getSubject(), 25,
+            Arrays.asList(new Schedule(5, 10, 12)));
+        ClassGroup obrigatoria = new ClassGroup("MAT156-01", new RequiredSubject("MAT156", "Cálculo II", 4), 30,
+            Arrays.asList(new Schedule(5, 9, 11)));
+        
+        // ACT
+        List<ClassGroup> resultado = service.resolveConflicts(
+            Arrays.asList(optativa, segunda, eletiva, primeira, eletiva2, obrigatoria));
+        
+        // ASSERT
+        assertEquals(Arrays.asList(segunda, primeira, obrigatoria), resultado);
+        
+        // Duas obrigatórias que se sobrepõem parcialmente continuam sem solução
+        ClassGroup sobreposta = new ClassGroup("MAT155-03", turmaObrigatoria2.getSubject(), 30,
+            Arrays.asList(new Schedule(3, 9, 10)));
+        assertThrows(ConflitoDeHorarioException.class,
+            () -> service.resolveConflicts(Arrays.asList(primeira, optativa, sobreposta)));
+    }
+    
+    @Test
+    @DisplayName("Modo de peso máximo aceita o melhor conjunto compatível sem exceção")
+    void testPesoMaximo() {
+        // ARRANGE: Uma obrigatória das 8h às 12h contra duas obrigatórias compatíveis entre si
+        ClassGroup longa = new ClassGroup("MAT154-02", turmaObrigatoria.getSubject(), 30,
+            Arrays.asList(new Schedule(1, 8, 12)));
+        ClassGroup manha = new ClassGroup("MAT155-02", turmaObrigatoria2.getSubject(), 30,
+            Arrays.asList(new Schedule(1, 8, 10)));
+        ClassGroup meioDia = new ClassGroup("DCC197-02", turmaEletiva.getSubject(), 25,
+            Arrays.asList(new Schedule(1, 10, 12)));
+        List<ClassGroup> turmas = Arrays.asList(longa, manha, meioDia, turmaOptativa);
+        
+        // ACT
+        List<ClassGroup> resultado = service.resolveMaximumWeight(turmas).getClassGroups();
+        
+        // ASSERT: 4h obrigatória + 4h eletiva (12 + 8) superam a turma longa (12)
+        assertEquals(Arrays.asList(manha, meioDia), resultado);
+        assertThrows(ConflitoDeHorarioException.class, () -> service.resolveConflicts(turmas));
+    }
+    
+    @Test
+    @DisplayName("Modo de peso máximo equivale à busca exaustiva")
+    void testPesoMaximoEquivaleABuscaExaustiva() {
+        Random random = new Random(5);
+        Subject[] disciplinas = {
+            turmaObrigatoria.getSubject(), turmaEletiva.getSubject(), turmaOptativa.getSubject(),
+            turmaObrigatoria2.getSubject(), turmaEletiva2.getSubject(), turmaOptativa2.getSubject()
+        };
+        for (int instancia = 0; instancia < 300; instancia++) {
+            List<ClassGroup> turmas = new ArrayList<>();
+            int quantidade = 1 + random.nextInt(12);
+            // Metade das instâncias só com um horário por turma (programação dinâmica)
+            int maxHorarios = instancia % 2 == 0 ? 1 : 3;
+            for (int t = 0; t < quantidade; t++) {
+                List<Schedule> horarios = new ArrayList<>();
+                for (int h = 1 + random.nextInt(maxHorarios); h > 0; h--) {
+                    int inicio = 7 + random.nextInt(10);
+                    horarios.add(new Schedule(1 + random.nextInt(2), inicio, inicio + 1 + random.nextInt(4)));
+                }
+                turmas.add(new ClassGroup("SYN-" + t, disciplinas[random.nextInt(disciplinas.length)], 30, horarios));
+            }
+            
+            MaximumWeightResolution resolucao = service.resolveMaximumWeight(turmas);
+            assertTrue(resolucao.isOptimal());
+            List<ClassGroup> resultado = resolucao.getClassGroups();
+            int melhor = 0;
+            for (int conjunto = 0; conjunto < (1 << quantidade); conjunto++) {
+                melhor = Math.max(melhor, pesoSeIndependente(turmas, conjunto));
+            }
+            int conjuntoEscolhido = 0;
+            for (ClassGroup turma : resultado) {
+                conjuntoEscolhido |= 1 << turmas.indexOf(turma);
+            }
+            assertEquals(melhor, pesoSeIndependente(turmas, conjuntoEscolhido), "Instância " + instancia);
+            assertEquals(melhor, resolucao.getWeight(), "Instância " + instancia);
+        }
+    }
+    
+    @Test
+    @DisplayName("Modo de peso máximo resolve cadeias longas de turmas com dois horários")
+    void testPesoMaximoCadeiaComDoisHorarios() {
+        // ARRANGE: A turma t ocupa as faixas de 1h t e t + 1 (22 faixas por dia), então conflita
+        // só com as vizinhas t - 1 e t + 1: um caminho de 150 turmas em um único componente
+        Subject[] disciplinas = {
+            turmaObrigatoria.getSubject(), turmaEletiva.getSubject(), turmaOptativa.getSubject()
+        };
+        List<ClassGroup> turmas = new ArrayList<>();
+        for (int t = 0; t < 150; t++) {
+            turmas.add(new ClassGroup("CAD-" + t, disciplinas[(t * 7) % 3 == 0 ? 0 : t % 3], 30,
+                Arrays.asList(faixa(t), faixa(t + 1))));
+        }
+        
+        // ACT
+        MaximumWeightResolution resolucao = service.resolveMaximumWeight(turmas);
+        List<ClassGroup> resultado = resolucao.getClassGroups();
+        
+        // ASSERT: Mesmo peso da programação dinâmica sobre o caminho
+        int incluindo = 0;
+        int excluindo = 0;
+        for (ClassGroup turma : turmas) {
+            int peso = PlanScoring.PRECEDENCE_WEIGHTED.score(turma.getSubject());
+            int novoIncluindo = excluindo + peso;
+            excluindo = Math.max(excluindo, incluindo);
+            incluindo = novoIncluindo;
+        }
+        int peso = 0;
+        for (int i = 0; i < resultado.size(); i++) {
+            for (int j = i + 1; j < resultado.size(); j++) {
+                assertFalse(resultado.get(i).conflictsWith(resultado.get(j)));
+            }
+            peso += PlanScoring.PRECEDENCE_WEIGHTED.score(resultado.get(i).getSubject());
+        }
+        assertEquals(Math.max(incluindo, excluindo), peso);
+        assertEquals(peso, resolucao.getWeight());
+    }
+    
+    @Test
+    @DisplayName("Limite de nós mantém um conjunto compatível e informa a interrupção")
+    void testPesoMaximoComLimiteDeNos() {
+        ConflictResolutionService limitado = new ConflictResolutionService(new SweepLineConflictDetector(), 1);
+        List<ClassGroup> turmas = new ArrayList<>();
+        Subject[] disciplinas = {
+            turmaObrigatoria.getSubject(), turmaEletiva.getSubject(), turmaOptativa.getSubject()
+        };
+        for (int t = 0; t < 40; t++) {
+            turmas.add(new ClassGroup("CAD-" + t, disciplinas[t % 3], 30,
+                Arrays.asList(faixa(t), faixa(t + 1), faixa(t + 3))));
+        }
+        
+        MaximumWeightResolution resolucao = limitado.resolveMaximumWeight(turmas);
+        List<ClassGroup> resultado = resolucao.getClassGroups();
+        
+        assertFalse(resolucao.isOptimal(), "A busca foi interrompida pelo limite");
+        assertFalse(resultado.isEmpty());
+        for (int i = 0; i < resultado.size(); i++) {
+            for (int j = i + 1; j < resultado.size(); j++) {
+                assertFalse(resultado.get(i).conflictsWith(resultado.get(j)));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ConflictResolutionService(new SweepLineConflictDetector(), 0));
+    }
+    
+    private Schedule faixa(int indice) {
+        return new Schedule(1 + indice / 22, indice % 22, indice % 22 + 1);
+    }
+    
+    private int pesoSeIndependente(List<ClassGroup> turmas, int conjunto) {
+        int peso = 0;
+        for (int i = 0; i < turmas.size(); i++) {
+            if ((conjunto & (1 << i)) == 0) continue;
+            for (int j = i + 1; j < turmas.size(); j++) {
+                if ((conjunto & (1 << j)) != 0 && turmas.get(i).conflictsWith(turmas.get(j))) {
+                    return -1;
+                }
+            }
+            peso += PlanScoring.PRECEDENCE_WEIGHTED.score(turmas.get(i).getSubject());
+        }
+        return peso;
+    }
+}
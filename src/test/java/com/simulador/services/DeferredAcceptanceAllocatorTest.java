@@ -0,0 +1,145 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.*;
+import com.simulador.model.exceptions.TurmaCheiaException;
+import com.simulador.model.validator.ValidadorSimples;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Testes para DeferredAcceptanceAllocator
+ */
+@DisplayName("Testes de DeferredAcceptanceAllocator")
+public class DeferredAcceptanceAllocatorTest {
+
+    private final Subject calculo = new RequiredSubject("MAT154", "Cálculo I", 4);
+    private final Subject fisica = new RequiredSubject("FIS073", "Física I", 4);
+
+    private Student aluno(String matricula, int creditos, int maxHoras) {
+        Student aluno = new Student("Aluno " + matricula, matricula, maxHoras);
+        if (creditos > 0) {
+            aluno.addCompletedSubject(new ElectiveSubject("HIS" + matricula, "Histórico", creditos), 8.0);
+        }
+        return aluno;
+    }
+
+    @Test
+    @DisplayName("Aluno desalojado por quem tem mais créditos recebe a próxima turma viável")
+    void testDesalojadoRecebeAlternativa() {
+        ClassGroup calculoManha = new ClassGroup("MAT154-01", calculo, 1, Arrays.asList(new Schedule(1, 8, 10)));
+        ClassGroup calculoTarde = new ClassGroup("MAT154-02", calculo, 1, Arrays.asList(new Schedule(1, 14, 16)));
+        ClassGroup fisicaTarde = new ClassGroup("FIS073-01", fisica, 5, Arrays.asList(new Schedule(1, 16, 18)));
+        ClassGroup fisicaNoite = new ClassGroup("FIS073-02", fisica, 5, Arrays.asList(new Schedule(1, 19, 21)));
+        Student calouro = aluno("202501", 0, 24);
+        Student veterano = aluno("202001", 40, 24);
+
+        Map<Student, List<ClassGroup>> preferencias = new LinkedHashMap<>();
+        // O calouro propõe primeiro e retém a turma da manhã até o veterano chegar
+        preferencias.put(calouro, Arrays.asList(calculoManha, fisicaTarde, calculoTarde));
+        preferencias.put(veterano, Arrays.asList(calculoManha, calculoManha, fisicaNoite));
+
+        StableAllocation alocacao = new DeferredAcceptanceAllocator(1).allocate(preferencias);
+
+        assertEquals(Arrays.asList(calculoManha, fisicaNoite), alocacao.getAssignments(veterano));
+        // Cálculo à tarde foi pulado na primeira passada (mesma disciplina) e é reavaliado
+        assertEquals(Arrays.asList(fisicaTarde, calculoTarde), alocacao.getAssignments(calouro));
+        assertEquals(Arrays.asList(veterano), alocacao.getStudents(calculoManha));
+        assertEquals(Arrays.asList(calouro), alocacao.getStudents(calculoTarde));
+        assertTrue(alocacao.getStudents(fisicaNoite).contains(veterano));
+        assertEquals(4, alocacao.getAssignedCount());
+        assertFalse(calculoManha.isStudentEnrolled(veterano), "A alocação não matricula ninguém");
+    }
+
+    @Test
+    @DisplayName("Matrículas existentes e carga horária limitam as propostas")
+    void testMatriculasExistentes() throws TurmaCheiaException {
+        ClassGroup calculo1 = new ClassGroup("MAT154-01", calculo, 30, Arrays.asList(new Schedule(2, 8, 10)));
+        ClassGroup calculo2 = new ClassGroup("MAT154-02", calculo, 30, Arrays.asList(new Schedule(3, 8, 10)));
+        ClassGroup fisica1 = new ClassGroup("FIS073-01", fisica, 30, Arrays.asList(new Schedule(2, 8, 10)));
+        ClassGroup fisica2 = new ClassGroup("FIS073-02", fisica, 30, Arrays.asList(new Schedule(4, 8, 10)));
+        Student aluno = aluno("202365082A", 0, 8);
+        calculo1.enrollStudent(aluno);
+
+        Map<Student, List<ClassGroup>> preferencias = new HashMap<>();
+        preferencias.put(aluno, Arrays.asList(calculo2, fisica1, fisica2));
+        StableAllocation alocacao = new DeferredAcceptanceAllocator(5).allocate(preferencias);
+
+        assertEquals(Arrays.asList(fisica2), alocacao.getAssignments(aluno));
+        assertTrue(alocacao.getAssignments(aluno("202599", 0, 24)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Turmas cujos pré-requisitos o aluno não atende não recebem proposta")
+    void testPreRequisitos() {
+        Subject calculoII = new RequiredSubject("MAT156", "Cálculo II", 4);
+        calculoII.setValidadores(new ValidadorSimples(calculo));
+        ClassGroup calculoIIManha = new ClassGroup("MAT156-01", calculoII, 1, Arrays.asList(new Schedule(2, 8, 10)));
+        ClassGroup calculoIITarde = new ClassGroup("MAT156-02", calculoII, 1, Arrays.asList(new Schedule(2, 14, 16)));
+        ClassGroup fisica1 = new ClassGroup("FIS073-01", fisica, 30, Arrays.asList(new Schedule(3, 8, 10)));
+        // O veterano tem mais créditos, mas não foi aprovado em Cálculo I
+        Student veterano = aluno("202001", 40, 24);
+        Student aprovado = aluno("202501", 0, 24);
+        aprovado.addCompletedSubject(calculo, 7.0);
+
+        Map<Student, List<ClassGroup>> preferencias = new LinkedHashMap<>();
+        preferencias.put(veterano, Arrays.asList(calculoIIManha, calculoIITarde, fisica1));
+        preferencias.put(aprovado, Arrays.asList(calculoIIManha, fisica1));
+        StableAllocation alocacao = new DeferredAcceptanceAllocator(2).allocate(preferencias);
+
+        assertEquals(Arrays.asList(fisica1), alocacao.getAssignments(veterano));
+        assertEquals(Arrays.asList(calculoIIManha, fisica1), alocacao.getAssignments(aprovado));
+        assertTrue(alocacao.getStudents(calculoIITarde).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Catálogo sintético: capacidade, viabilidade e ausência de pares bloqueantes")
+    void testEstabilidade() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(11, 40, 2, 3, 600).generate();
+        Map<Student, List<ClassGroup>> preferencias = new LinkedHashMap<>();
+        for (int i = 0; i < catalogo.getStudents().size(); i++) {
+            preferencias.put(catalogo.getStudents().get(i), new ArrayList<>(catalogo.sampleClassGroups(i, 6)));
+        }
+        StableAllocation alocacao = new DeferredAcceptanceAllocator(3).allocate(preferencias);
+
+        Map<ClassGroup, Integer> ocupadas = new HashMap<>();
+        for (Map.Entry<Student, List<ClassGroup>> entrada : preferencias.entrySet()) {
+            Student aluno = entrada.getKey();
+            List<ClassGroup> atribuidas = alocacao.getAssignments(aluno);
+            TimetableMask mascara = TimetableMask.EMPTY;
+            int horas = 0;
+            Set<Subject> disciplinas = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (ClassGroup turma : atribuidas) {
+                assertFalse(turma.getOccupancy().intersects(mascara));
+                assertTrue(disciplinas.add(turma.getSubject()));
+                assertTrue(turma.getSubject().requisitosAtendidos(aluno));
+                assertTrue(alocacao.getStudents(turma).contains(aluno));
+                mascara = mascara.union(turma.getOccupancy());
+                horas += turma.getSubject().getWeeklyHours();
+                ocupadas.merge(turma, 1, Integer::sum);
+            }
+            assertTrue(horas <= aluno.getMaxWeeklyHours());
+
+            // Nenhuma turma preferida, viável com as atribuídas, aceitaria o aluno
+            for (ClassGroup turma : entrada.getValue()) {
+                if (atribuidas.contains(turma) || disciplinas.contains(turma.getSubject())
+                        || !turma.getSubject().requisitosAtendidos(aluno)
+                        || turma.getOccupancy().intersects(mascara)
+                        || horas + turma.getSubject().getWeeklyHours() > aluno.getMaxWeeklyHours()) {
+                    continue;
+                }
+                List<Student> alunosTurma = alocacao.getStudents(turma);
+                assertEquals(turma.getAvailableSlots(), alunosTurma.size(),
+                        "Turma com vaga deveria ter aceitado " + aluno.getRegistration());
+                Student pior = alunosTurma.get(alunosTurma.size() - 1);
+                assertTrue(pior.getCreditosAcumulados() >= aluno.getCreditosAcumulados(),
+                        "Turma " + turma.getId() + " prefere " + aluno.getRegistration());
+            }
+        }
+        for (Map.Entry<ClassGroup, Integer> entrada : ocupadas.entrySet()) {
+            assertTrue(entrada.getValue() <= entrada.getKey().getAvailableSlots());
+        }
+        assertTrue(alocacao.getAssignedCount() > 0);
+    }
+}
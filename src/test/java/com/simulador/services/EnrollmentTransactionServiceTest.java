@@ -0,0 +1,110 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.*;
+import com.simulador.model.exceptions.TurmaCheiaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes para EnrollmentTransactionService
+ */
+@DisplayName("Testes de EnrollmentTransactionService")
+public class EnrollmentTransactionServiceTest {
+
+    private EnrollmentTransactionService service;
+    private ClassGroup turmaCalculo, turmaFisica, turmaQuimica;
+    private Student aluno;
+
+    @BeforeEach
+    void setUp() {
+        service = new EnrollmentTransactionService();
+        turmaCalculo = new ClassGroup("MAT154-01", new RequiredSubject("MAT154", "Cálculo I", 4), 2,
+            Arrays.asList(new Schedule(1, 8, 10)));
+        turmaFisica = new ClassGroup("FIS073-01", new RequiredSubject("FIS073", "Física I", 4), 1,
+            Arrays.asList(new Schedule(2, 8, 10)));
+        turmaQuimica = new ClassGroup("QUI125-01", new RequiredSubject("QUI125", "Química Fundamental", 4), 2,
+            Arrays.asList(new Schedule(3, 8, 10)));
+        aluno = new Student("João Silva", "202365082A", 20);
+    }
+
+    @Test
+    @DisplayName("Deve matricular o aluno em todas as turmas")
+    void testMatriculaEmTodas() throws TurmaCheiaException {
+        service.enrollAll(aluno, Arrays.asList(turmaCalculo, turmaFisica, turmaQuimica));
+
+        assertTrue(turmaCalculo.isStudentEnrolled(aluno));
+        assertTrue(turmaFisica.isStudentEnrolled(aluno));
+        assertTrue(turmaQuimica.isStudentEnrolled(aluno));
+    }
+
+    @Test
+    @DisplayName("Turma cheia desfaz as reservas nas demais turmas")
+    void testTurmaCheiaDesfazReservas() throws TurmaCheiaException {
+        turmaFisica.enrollStudent(new Student("Maria Santos", "202365083B", 20));
+
+        assertThrows(TurmaCheiaException.class,
+            () -> service.enrollAll(aluno, Arrays.asList(turmaCalculo, turmaFisica, turmaQuimica)));
+
+        assertFalse(turmaCalculo.isStudentEnrolled(aluno));
+        assertFalse(turmaQuimica.isStudentEnrolled(aluno));
+        assertEquals(0, turmaCalculo.getEnrolledStudentsCount(), "Nenhuma vaga órfã deve restar");
+        assertEquals(0, turmaQuimica.getEnrolledStudentsCount(), "Nenhuma vaga órfã deve restar");
+        assertEquals(1, turmaFisica.getEnrolledStudentsCount());
+    }
+
+    @Test
+    @DisplayName("Aluno já matriculado em uma das turmas não ocupa novas vagas")
+    void testAlunoJaMatriculado() throws TurmaCheiaException {
+        turmaQuimica.enrollStudent(aluno);
+
+        assertThrows(TurmaCheiaException.class,
+            () -> service.enrollAll(aluno, Arrays.asList(turmaCalculo, turmaQuimica)));
+
+        assertEquals(0, turmaCalculo.getEnrolledStudentsCount());
+        assertEquals(1, turmaQuimica.getEnrolledStudentsCount());
+    }
+
+    @Test
+    @DisplayName("Transações concorrentes são tudo ou nada")
+    void testTransacoesConcorrentes() throws InterruptedException {
+        ClassGroup turmaA = new ClassGroup("A-01", new RequiredSubject("A", "A", 2), 10,
+            Arrays.asList(new Schedule(1, 8, 10)));
+        ClassGroup turmaB = new ClassGroup("B-01", new RequiredSubject("B", "B", 2), 10,
+            Arrays.asList(new Schedule(2, 8, 10)));
+        List<Student> alunos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            alunos.add(new Student("Aluno " + i, "M" + i, 20));
+        }
+        AtomicInteger sucesso = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < alunos.size(); i++) {
+            Student candidato = alunos.get(i);
+            // Metade pede as turmas em ordem inversa para provocar disputa
+            List<ClassGroup> pedido = i % 2 == 0 ? Arrays.asList(turmaA, turmaB) : Arrays.asList(turmaB, turmaA);
+            executor.execute(() -> {
+                try {
+                    service.enrollAll(candidato, pedido);
+                    sucesso.incrementAndGet();
+                } catch (TurmaCheiaException e) {
+                    // esperado para quem chegou depois
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(10, sucesso.get());
+        assertEquals(10, turmaA.getEnrolledStudentsCount());
+        assertEquals(10, turmaB.getEnrolledStudentsCount());
+        for (Student candidato : alunos) {
+            assertEquals(turmaA.isStudentEnrolled(candidato), turmaB.isStudentEnrolled(candidato),
+                "Aluno deve estar em ambas as turmas ou em nenhuma");
+        }
+    }
+}
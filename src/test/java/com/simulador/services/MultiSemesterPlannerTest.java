@@ -0,0 +1,191 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.*;
+import com.simulador.model.validator.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Testes para MultiSemesterPlanner
+ */
+@DisplayName("Testes de MultiSemesterPlanner")
+public class MultiSemesterPlannerTest {
+
+    @Test
+    @DisplayName("Cadeia de pré-requisitos define o número de períodos")
+    void testCadeiaDePreRequisitos() {
+        Subject calculoI = new RequiredSubject("MAT154", "Cálculo I", 4);
+        Subject calculoII = new RequiredSubject("MAT156", "Cálculo II", 4);
+        Subject calculoIII = new RequiredSubject("MAT157", "Cálculo III", 4);
+        Subject algoritmos = new RequiredSubject("DCC013", "Estrutura de Dados", 4);
+        calculoII.setValidadores(new ValidadorSimples(calculoI));
+        calculoIII.setValidadores(new ValidadorSimples(calculoII));
+        List<Subject> catalogo = Arrays.asList(algoritmos, calculoI, calculoII, calculoIII);
+        ProgramaPreRequisitos programa = CompiladorPreRequisitos.compilar(catalogo);
+
+        SemesterPlan plano = new MultiSemesterPlanner().plan(programa, new Student("João Silva", "202365082A", 8), catalogo);
+        assertEquals(3, plano.getSemesterCount());
+        assertTrue(plano.isOptimal());
+        assertTrue(plano.getUnreachableSubjects().isEmpty());
+        assertTrue(plano.getSemesters().get(0).contains(calculoI));
+        assertEquals(Arrays.asList(calculoIII), plano.getSemesters().get(2));
+
+        // Com Cálculo I aprovado, sobram dois períodos
+        Student aprovado = new Student("Maria Souza", "202365001A", 8);
+        aprovado.addCompletedSubject(calculoI, 7.0);
+        assertEquals(2, new MultiSemesterPlanner().plan(programa, aprovado, catalogo).getSemesterCount());
+    }
+
+    @Test
+    @DisplayName("Co-requisitos são cursados juntos e alvos impossíveis ficam fora do plano")
+    void testCoRequisitosEInalcancaveis() {
+        Subject fisica = new RequiredSubject("FIS073", "Física I", 4);
+        Subject laboratorio = new RequiredSubject("FIS077", "Laboratório de Física I", 2);
+        Subject estagio = new RequiredSubject("DCC999", "Estágio", 12);
+        fisica.addCoRequisito(laboratorio);
+        List<Subject> catalogo = Arrays.asList(fisica, laboratorio, estagio);
+        ProgramaPreRequisitos programa = CompiladorPreRequisitos.compilar(catalogo);
+
+        SemesterPlan plano = new MultiSemesterPlanner().plan(programa, new Student("João Silva", "202365082A", 6),
+            Arrays.asList(fisica, estagio));
+        assertEquals(1, plano.getSemesterCount());
+        assertEquals(Arrays.asList(fisica, laboratorio), plano.getSemesters().get(0));
+        assertEquals(Arrays.asList(estagio), plano.getUnreachableSubjects());
+
+        Subject externa = new RequiredSubject("ICE001", "Introdução às Ciências Exatas", 2);
+        assertThrows(IllegalArgumentException.class,
+            () -> new MultiSemesterPlanner().plan(programa, new Student("João Silva", "202365082A", 6), Arrays.asList(externa)));
+    }
+
+    @Test
+    @DisplayName("Equivale à busca em largura sobre todos os períodos possíveis")
+    void testEquivalenciaComBuscaEmLargura() {
+        Random random = new Random(13);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int instancia = 0; instancia < 150; instancia++) {
+                int quantidade = 3 + random.nextInt(6);
+                List<Subject> catalogo = new ArrayList<>();
+                for (int d = 0; d < quantidade; d++) {
+                    Subject disciplina = new RequiredSubject("SYN" + d, "Disciplina " + d, 2 + 2 * random.nextInt(2));
+                    if (d > 0 && random.nextInt(3) > 0) {
+                        Subject a = catalogo.get(random.nextInt(d));
+                        Subject b = catalogo.get(random.nextInt(d));
+                        int tipo = random.nextInt(3);
+                        disciplina.setValidadores(tipo == 0 ? new ValidadorSimples(a)
+                            : tipo == 1 ? new ValidadorLogicoAND(Arrays.asList(new ValidadorSimples(a), new ValidadorSimples(b)))
+                            : new ValidadorLogicoOR(Arrays.asList(new ValidadorSimples(a), new ValidadorSimples(b))));
+                    }
+                    if (d > 0 && random.nextInt(6) == 0) {
+                        disciplina.addCoRequisito(catalogo.get(random.nextInt(d)));
+                    }
+                    catalogo.add(disciplina);
+                }
+                ProgramaPreRequisitos programa = CompiladorPreRequisitos.compilar(catalogo);
+                Student aluno = new Student("Aluno " + instancia, "2023" + instancia, 4 + random.nextInt(7));
+                if (random.nextInt(4) == 0) {
+                    aluno.addCompletedSubject(catalogo.get(0), 8.0);
+                }
+                List<Subject> alvos = new ArrayList<>();
+                for (Subject disciplina : catalogo) {
+                    if (random.nextBoolean()) {
+                        alvos.add(disciplina);
+                    }
+                }
+
+                int esperado = menorNumeroDePeriodos(programa, aluno, alvos);
+                SemesterPlan plano = new MultiSemesterPlanner(pool, MultiSemesterPlanner.DEFAULT_NODE_LIMIT)
+                    .plan(programa, aluno, alvos);
+                if (esperado < 0) {
+                    assertFalse(plano.getUnreachableSubjects().isEmpty(), "Instância " + instancia);
+                    continue;
+                }
+                assertTrue(plano.isOptimal());
+                assertTrue(plano.getUnreachableSubjects().isEmpty(), "Instância " + instancia);
+                assertEquals(esperado, plano.getSemesterCount(), "Instância " + instancia);
+                verificarPlano(programa, aluno, alvos, plano);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void verificarPlano(ProgramaPreRequisitos programa, Student aluno, List<Subject> alvos, SemesterPlan plano) {
+        long[] aprovadas = programa.aprovadas(aluno);
+        int creditos = aluno.getCreditosAcumulados();
+        for (List<Subject> periodo : plano.getSemesters()) {
+            long[] depois = aprovadas.clone();
+            int horas = 0;
+            for (Subject disciplina : periodo) {
+                int indice = programa.getIndice(disciplina);
+                assertTrue(programa.atendidos(indice, aluno, aprovadas, creditos), disciplina.getCode());
+                depois[indice >>> 6] |= 1L << indice;
+                horas += disciplina.getWeeklyHours();
+            }
+            assertTrue(horas <= aluno.getMaxWeeklyHours());
+            for (Subject disciplina : periodo) {
+                for (Subject coRequisito : disciplina.getCoRequisitos()) {
+                    int c = programa.getIndice(coRequisito);
+                    assertTrue((depois[c >>> 6] & (1L << c)) != 0, "Co-requisito de " + disciplina.getCode());
+                }
+            }
+            aprovadas = depois;
+            creditos += horas;
+        }
+        for (Subject alvo : alvos) {
+            int indice = programa.getIndice(alvo);
+            assertTrue((aprovadas[indice >>> 6] & (1L << indice)) != 0, alvo.getCode());
+        }
+    }
+
+    /**
+     * Busca em largura sobre os conjuntos de disciplinas aprovadas, com qualquer subconjunto
+     * válido como período. Retorna -1 se algum alvo nunca é alcançado
+     */
+    private int menorNumeroDePeriodos(ProgramaPreRequisitos programa, Student aluno, List<Subject> alvos) {
+        int n = programa.getQuantidadeDisciplinas();
+        int inicial = (int) programa.aprovadas(aluno)[0];
+        int mascaraAlvos = 0;
+        for (Subject alvo : alvos) {
+            mascaraAlvos |= 1 << programa.getIndice(alvo);
+        }
+        int[] distancia = new int[1 << n];
+        Arrays.fill(distancia, -1);
+        distancia[inicial] = 0;
+        ArrayDeque<Integer> fila = new ArrayDeque<>();
+        fila.add(inicial);
+        while (!fila.isEmpty()) {
+            int estado = fila.poll();
+            if ((estado & mascaraAlvos) == mascaraAlvos) {
+                return distancia[estado];
+            }
+            int elegiveis = 0;
+            for (int d = 0; d < n; d++) {
+                if ((estado & (1 << d)) == 0 && programa.atendidos(d, aluno, new long[] {estado})) {
+                    elegiveis |= 1 << d;
+                }
+            }
+            for (int conjunto = elegiveis; conjunto != 0; conjunto = (conjunto - 1) & elegiveis) {
+                int horas = 0;
+                boolean valido = true;
+                for (int d = 0; d < n; d++) {
+                    if ((conjunto & (1 << d)) != 0) {
+                        horas += programa.getDisciplina(d).getWeeklyHours();
+                        for (Subject coRequisito : programa.getDisciplina(d).getCoRequisitos()) {
+                            valido &= ((estado | conjunto) & (1 << programa.getIndice(coRequisito))) != 0;
+                        }
+                    }
+                }
+                int proximo = estado | conjunto;
+                if (valido && horas <= aluno.getMaxWeeklyHours() && distancia[proximo] < 0) {
+                    distancia[proximo] = distancia[estado] + 1;
+                    fila.add(proximo);
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,237 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.*;
+import com.simulador.model.exceptions.TurmaCheiaException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Testes para ScheduleSolver
+ */
+@DisplayName("Testes de ScheduleSolver")
+public class ScheduleSolverTest {
+
+    private final Subject calculo = new RequiredSubject("MAT154", "Cálculo I", 4);
+    private final Subject algoritmos = new RequiredSubject("DCC013", "Estrutura de Dados", 4);
+    private final Subject fisica = new RequiredSubject("FIS073", "Física I", 4);
+
+    @Test
+    @DisplayName("Encontra a combinação ótima onde a escolha gulosa falha")
+    void testCombinacaoOtima() {
+        ClassGroup calculo1 = new ClassGroup("MAT154-01", calculo, 30,
+            Arrays.asList(new Schedule(1, 8, 10), new Schedule(2, 8, 10)));
+        ClassGroup calculo2 = new ClassGroup("MAT154-02", calculo, 30,
+            Arrays.asList(new Schedule(3, 8, 10), new Schedule(4, 8, 10)));
+        ClassGroup calculo3 = new ClassGroup("MAT154-03", calculo, 30,
+            Arrays.asList(new Schedule(6, 8, 10), new Schedule(6, 10, 12)));
+        ClassGroup algoritmos1 = new ClassGroup("DCC013-01", algoritmos, 30,
+            Arrays.asList(new Schedule(1, 8, 10), new Schedule(5, 8, 10)));
+        ClassGroup fisica1 = new ClassGroup("FIS073-01", fisica, 30,
+            Arrays.asList(new Schedule(3, 8, 10), new Schedule(5, 10, 12)));
+
+        SchedulePlan plano = new ScheduleSolver().solve(
+            Arrays.asList(calculo1, calculo2, calculo3, algoritmos1, fisica1), 24);
+
+        assertEquals(Arrays.asList(calculo3, algoritmos1, fisica1), plano.getClassGroups());
+        assertEquals(12, plano.getWeeklyHours());
+        assertEquals(12, plano.getScore());
+        assertEquals(12, plano.getOccupancy().occupiedHours());
+    }
+
+    @Test
+    @DisplayName("Respeita vagas e carga horária, priorizando obrigatórias no critério ponderado")
+    void testVagasECargaHoraria() throws TurmaCheiaException {
+        Subject optativa = new OptionalSubject("ART001", "Música", 4);
+        ClassGroup lotada = new ClassGroup("MAT154-01", calculo, 1, Arrays.asList(new Schedule(1, 8, 12)));
+        lotada.enrollStudent(new Student("Maria Souza", "202365001A", 24));
+        ClassGroup algoritmos1 = new ClassGroup("DCC013-01", algoritmos, 30, Arrays.asList(new Schedule(2, 8, 12)));
+        ClassGroup optativa1 = new ClassGroup("ART001-01", optativa, 30, Arrays.asList(new Schedule(3, 8, 12)));
+        List<ClassGroup> candidatas = Arrays.asList(lotada, optativa1, algoritmos1);
+
+        assertEquals(Arrays.asList(optativa1, algoritmos1), new ScheduleSolver().solve(candidatas, 8).getClassGroups());
+        SchedulePlan ponderado = new ScheduleSolver(PlanScoring.PRECEDENCE_WEIGHTED).solve(candidatas, 4);
+        assertEquals(Arrays.asList(algoritmos1), ponderado.getClassGroups());
+        assertEquals(12, ponderado.getScore());
+        assertTrue(new ScheduleSolver().solve(candidatas, 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Equivale à busca exaustiva em instâncias aleatórias")
+    void testEquivalenciaComBuscaExaustiva() {
+        Random random = new Random(7);
+        for (int instancia = 0; instancia < 200; instancia++) {
+            List<List<ClassGroup>> porDisciplina = new ArrayList<>();
+            List<ClassGroup> candidatas = new ArrayList<>();
+            int disciplinas = 2 + random.nextInt(5);
+            for (int d = 0; d < disciplinas; d++) {
+                Subject disciplina = new ElectiveSubject("SYN" + d, "Disciplina " + d, 2 + 2 * random.nextInt(2));
+                List<ClassGroup> turmas = new ArrayList<>();
+                int quantidadeTurmas = 1 + random.nextInt(4);
+                for (int t = 0; t < quantidadeTurmas; t++) {
+                    int inicio = 7 + random.nextInt(12);
+                    ClassGroup turma = new ClassGroup("SYN" + d + "-" + t, disciplina, 30, Arrays.asList(
+                        new Schedule(1 + random.nextInt(3), inicio, inicio + 2)));
+                    turmas.add(turma);
+                    candidatas.add(turma);
+                }
+                porDisciplina.add(turmas);
+            }
+            Collections.shuffle(candidatas, random);
+            int orcamento = 4 + random.nextInt(12);
+
+            SchedulePlan plano = new ScheduleSolver().solve(candidatas, orcamento);
+            assertEquals(melhorValor(porDisciplina, 0, orcamento, TimetableMask.EMPTY), plano.getScore(),
+                "Instância " + instancia);
+            assertTrue(plano.getWeeklyHours() <= orcamento);
+            for (int i = 0; i < plano.getClassGroups().size(); i++) {
+                for (int j = i + 1; j < plano.getClassGroups().size(); j++) {
+                    assertFalse(plano.getClassGroups().get(i).conflictsWith(plano.getClassGroups().get(j)));
+                }
+            }
+        }
+    }
+
+    private int melhorValor(List<List<ClassGroup>> porDisciplina, int d, int orcamento, TimetableMask grade) {
+        if (d == porDisciplina.size()) {
+            return 0;
+        }
+        int melhor = melhorValor(porDisciplina, d + 1, orcamento, grade);
+        for (ClassGroup turma : porDisciplina.get(d)) {
+            int horas = turma.getSubject().getWeeklyHours();
+            if (horas <= orcamento && !turma.getOccupancy().intersects(grade)) {
+                melhor = Math.max(melhor, horas
+                    + melhorValor(porDisciplina, d + 1, orcamento - horas, grade.union(turma.getOccupancy())));
+            }
+        }
+        return melhor;
+    }
+
+    @Test
+    @DisplayName("Peso dos dias livres favorece grades concentradas")
+    void testDiasLivres() {
+        ClassGroup calculoSegunda = new ClassGroup("MAT154-01", calculo, 30, Arrays.asList(new Schedule(1, 8, 12)));
+        ClassGroup calculoTerca = new ClassGroup("MAT154-02", calculo, 30, Arrays.asList(new Schedule(2, 8, 12)));
+        ClassGroup algoritmosSegunda = new ClassGroup("DCC013-01", algoritmos, 30, Arrays.asList(new Schedule(1, 14, 18)));
+        List<ClassGroup> candidatas = Arrays.asList(calculoTerca, calculoSegunda, algoritmosSegunda);
+
+        SchedulePlan plano = new ScheduleSolver(PlanScoring.HOURS, 1).solve(candidatas, 8);
+        assertEquals(Arrays.asList(calculoSegunda, algoritmosSegunda), plano.getClassGroups());
+        assertEquals(5, plano.getFreeDays());
+        assertEquals(13, plano.getScore());
+    }
+
+    @Test
+    @DisplayName("Alternativas saem em ordem de valor e coincidem com a enumeração completa")
+    void testAlternativasEmOrdem() {
+        Random random = new Random(11);
+        for (int instancia = 0; instancia < 100; instancia++) {
+            List<List<ClassGroup>> porDisciplina = new ArrayList<>();
+            List<ClassGroup> candidatas = new ArrayList<>();
+            int disciplinas = 1 + random.nextInt(5);
+            for (int d = 0; d < disciplinas; d++) {
+                int horas = 2 + 2 * random.nextInt(2);
+                Subject disciplina = random.nextBoolean()
+                    ? new RequiredSubject("OBR" + d, "Obrigatória " + d, horas)
+                    : new OptionalSubject("OPT" + d, "Optativa " + d, horas);
+                List<ClassGroup> turmas = new ArrayList<>();
+                int quantidadeTurmas = 1 + random.nextInt(3);
+                for (int t = 0; t < quantidadeTurmas; t++) {
+                    // Cada turma da disciplina em um dia diferente: nenhuma grade se repete
+                    int inicio = 8 + 2 * random.nextInt(5);
+                    ClassGroup turma = new ClassGroup(disciplina.getCode() + "-" + t, disciplina, 30, Arrays.asList(
+                        new Schedule(1 + 2 * t + random.nextInt(2), inicio, inicio + 2)));
+                    turmas.add(turma);
+                    candidatas.add(turma);
+                }
+                porDisciplina.add(turmas);
+            }
+            int orcamento = 2 + random.nextInt(14);
+            ScheduleSolver solver = new ScheduleSolver(PlanScoring.PRECEDENCE_WEIGHTED, 3);
+
+            List<Integer> esperados = new ArrayList<>();
+            todosOsValores(porDisciplina, 0, orcamento, new ArrayList<>(), esperados);
+            esperados.sort(Comparator.reverseOrder());
+            List<SchedulePlan> planos = solver.solveTopK(candidatas, orcamento, 10);
+
+            List<Integer> valores = new ArrayList<>();
+            Set<List<ClassGroup>> distintos = new HashSet<>();
+            for (SchedulePlan plano : planos) {
+                valores.add(plano.getScore());
+                distintos.add(plano.getClassGroups());
+            }
+            assertEquals(esperados.subList(0, Math.min(10, esperados.size())), valores, "Instância " + instancia);
+            assertEquals(planos.size(), distintos.size(), "Planos repetidos na instância " + instancia);
+            // Com peso alto para dias livres, o plano vazio pode ser o melhor; ele não é enumerado
+            SchedulePlan melhor = solver.solve(candidatas, orcamento);
+            if (!melhor.isEmpty()) {
+                assertEquals(melhor.getScore(), planos.get(0).getScore());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Alternativas são calculadas sob demanda")
+    void testAlternativasSobDemanda() {
+        List<ClassGroup> candidatas = new ArrayList<>();
+        for (int d = 0; d < 12; d++) {
+            Subject disciplina = new ElectiveSubject("ELE" + d, "Eletiva " + d, 2);
+            for (int t = 0; t < 3; t++) {
+                candidatas.add(new ClassGroup("ELE" + d + "-" + t, disciplina, 30,
+                    Arrays.asList(new Schedule(1 + (d + t) % 6, 8 + 2 * t, 10 + 2 * t))));
+            }
+        }
+        ScheduleSolver solver = new ScheduleSolver();
+
+        Iterator<SchedulePlan> alternativas = solver.alternatives(candidatas, 24, Integer.MAX_VALUE).iterator();
+        SchedulePlan anterior = alternativas.next();
+        for (int i = 0; i < 50; i++) {
+            SchedulePlan plano = alternativas.next();
+            assertTrue(plano.getScore() <= anterior.getScore());
+            anterior = plano;
+        }
+        assertTrue(solver.solveTopK(candidatas, 24, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Limite maior que o número de planos não vira tamanho do stream")
+    void testAlternativasComLimiteFolgado() {
+        ClassGroup turma = new ClassGroup("MAT154-01", calculo, 30, Arrays.asList(new Schedule(1, 8, 10)));
+        ScheduleSolver solver = new ScheduleSolver();
+
+        assertEquals(1, solver.alternatives(Arrays.asList(turma), 24, 10).count());
+        Object[] planos = solver.alternatives(Arrays.asList(turma), 24, 10).toArray();
+        assertEquals(1, planos.length);
+        assertEquals(Arrays.asList(turma), ((SchedulePlan) planos[0]).getClassGroups());
+    }
+
+    private void todosOsValores(List<List<ClassGroup>> porDisciplina, int d, int orcamento,
+                                List<ClassGroup> escolhidas, List<Integer> valores) {
+        if (d == porDisciplina.size()) {
+            if (!escolhidas.isEmpty()) {
+                TimetableMask grade = TimetableMask.EMPTY;
+                int valor = 0;
+                for (ClassGroup turma : escolhidas) {
+                    grade = grade.union(turma.getOccupancy());
+                    valor += PlanScoring.PRECEDENCE_WEIGHTED.score(turma.getSubject());
+                }
+                valores.add(valor + 3 * grade.countFreeDays(ScheduleSolver.TEACHING_DAYS));
+            }
+            return;
+        }
+        todosOsValores(porDisciplina, d + 1, orcamento, escolhidas, valores);
+        for (ClassGroup turma : porDisciplina.get(d)) {
+            int horas = turma.getSubject().getWeeklyHours();
+            boolean conflita = false;
+            for (ClassGroup outra : escolhidas) {
+                conflita |= outra.conflictsWith(turma);
+            }
+            if (horas <= orcamento && !conflita) {
+                escolhidas.add(turma);
+                todosOsValores(porDisciplina, d + 1, orcamento - horas, escolhidas, valores);
+                escolhidas.remove(escolhidas.size() - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.*;
+import com.simulador.model.exceptions.TurmaCheiaException;
+import com.simulador.model.validator.ValidadorSimples;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testes para SeatAllocationEngine
+ */
+@DisplayName("Testes de SeatAllocationEngine")
+public class SeatAllocationEngineTest {
+
+    private final Subject calculo = new RequiredSubject("MAT154", "Cálculo I", 4);
+    private final Subject musica = new OptionalSubject("ART001", "Música", 4);
+
+    private Student aluno(String matricula, int creditos, int maxHoras) {
+        Student aluno = new Student("Aluno " + matricula, matricula, maxHoras);
+        if (creditos > 0) {
+            aluno.addCompletedSubject(new ElectiveSubject("HIS" + matricula, "Histórico", creditos), 8.0);
+        }
+        return aluno;
+    }
+
+    @Test
+    @DisplayName("Vagas vão para quem tem mais créditos; o restante fica em espera")
+    void testPrioridadePorCreditos() {
+        ClassGroup turma = new ClassGroup("MAT154-01", calculo, 2, Arrays.asList(new Schedule(1, 8, 10)));
+        Student calouro = aluno("202501", 0, 24);
+        Student veterano = aluno("202001", 40, 24);
+        Student intermediario = aluno("202201", 20, 24);
+        SeatAllocationEngine motor = new SeatAllocationEngine(1);
+        motor.request(calouro, turma);
+        motor.request(veterano, turma);
+        motor.request(intermediario, turma);
+        motor.request(veterano, turma);
+        assertEquals(4, motor.getPendingRequests());
+
+        SeatAllocation alocacao = motor.allocate();
+
+        assertEquals(Arrays.asList(veterano, intermediario), alocacao.getAdmitted(turma));
+        assertEquals(Arrays.asList(calouro), alocacao.getWaitlist(turma));
+        assertTrue(turma.isStudentEnrolled(veterano));
+        assertFalse(turma.hasAvailableSlots());
+        assertEquals(0, motor.getPendingRequests());
+        
+        // A lista de espera da rodada passa para a turma
+        assertEquals(Arrays.asList(calouro), turma.getWaitlist());
+        turma.removeStudent(intermediario);
+        assertTrue(turma.isStudentEnrolled(calouro));
+    }
+
+    @Test
+    @DisplayName("Sorteio desempata de forma reprodutível, sem depender da ordem de chegada")
+    void testSorteioReprodutivel() {
+        List<String> matriculas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            matriculas.add("2023" + i);
+        }
+        List<String> primeira = sortear(matriculas, 7);
+        Collections.reverse(matriculas);
+        assertEquals(primeira, sortear(matriculas, 7));
+        assertNotEquals(primeira, sortear(matriculas, 8));
+    }
+
+    // Alunos novos a cada rodada: quem já tem turma de Música teria o pedido recusado
+    private List<String> sortear(List<String> matriculas, long semente) {
+        ClassGroup turma = new ClassGroup("ART001-01", musica, 5, Arrays.asList(new Schedule(3, 14, 16)));
+        SeatAllocationEngine motor = new SeatAllocationEngine(semente);
+        for (String matricula : matriculas) {
+            motor.request(aluno(matricula, 0, 24), turma);
+        }
+        List<String> admitidos = new ArrayList<>();
+        for (Student aluno : motor.allocate().getAdmitted(turma)) {
+            admitidos.add(aluno.getRegistration());
+        }
+        return admitidos;
+    }
+
+    @Test
+    @DisplayName("Obrigatórias são alocadas primeiro; conflitos e carga horária recusam pedidos")
+    void testConflitosECargaHoraria() {
+        ClassGroup calculo1 = new ClassGroup("MAT154-01", calculo, 30, Arrays.asList(new Schedule(1, 8, 10)));
+        ClassGroup musica1 = new ClassGroup("ART001-01", musica, 30, Arrays.asList(new Schedule(1, 9, 11)));
+        Subject fisica = new RequiredSubject("FIS073", "Física I", 4);
+        ClassGroup fisica1 = new ClassGroup("FIS073-01", fisica, 30, Arrays.asList(new Schedule(2, 8, 10)));
+        Student aluno = aluno("202365082A", 0, 6);
+        SeatAllocationEngine motor = new SeatAllocationEngine(3);
+        motor.request(aluno, musica1);
+        motor.request(aluno, fisica1);
+        motor.request(aluno, calculo1);
+
+        SeatAllocation alocacao = motor.allocate();
+
+        assertEquals(Arrays.asList(aluno), alocacao.getAdmitted(fisica1));
+        assertTrue(alocacao.getAdmitted(calculo1).isEmpty(), "Física I (FIS073) vem antes e ocupa 4 das 6 horas");
+        assertTrue(alocacao.getAdmitted(musica1).isEmpty());
+        assertTrue(alocacao.getWaitlist(musica1).isEmpty());
+        assertEquals(2, alocacao.getRejections().size());
+        assertEquals(1, alocacao.getAdmittedCount());
+    }
+
+    @Test
+    @DisplayName("Matrículas existentes, disciplina repetida e pré-requisitos recusam pedidos")
+    void testMatriculasExistentesEPreRequisitos() throws TurmaCheiaException {
+        ClassGroup calculo1 = new ClassGroup("MAT154-01", calculo, 30, Arrays.asList(new Schedule(1, 8, 10)));
+        ClassGroup calculo2 = new ClassGroup("MAT154-02", calculo, 30, Arrays.asList(new Schedule(2, 8, 10)));
+        Subject fisica = new RequiredSubject("FIS073", "Física I", 4);
+        ClassGroup fisica1 = new ClassGroup("FIS073-01", fisica, 30, Arrays.asList(new Schedule(1, 9, 11)));
+        ClassGroup fisica2 = new ClassGroup("FIS073-02", fisica, 30, Arrays.asList(new Schedule(3, 8, 10)));
+        ClassGroup fisica3 = new ClassGroup("FIS073-03", fisica, 30, Arrays.asList(new Schedule(4, 8, 10)));
+        Subject calculoII = new RequiredSubject("MAT156", "Cálculo II", 4);
+        calculoII.setValidadores(new ValidadorSimples(calculo));
+        ClassGroup calculoII1 = new ClassGroup("MAT156-01", calculoII, 30, Arrays.asList(new Schedule(5, 8, 10)));
+        ClassGroup musica1 = new ClassGroup("ART001-01", musica, 30, Arrays.asList(new Schedule(5, 14, 16)));
+        Student aluno = aluno("202365082A", 0, 10);
+        calculo1.enrollStudent(aluno);
+        SeatAllocationEngine motor = new SeatAllocationEngine(5);
+        for (ClassGroup turma : Arrays.asList(calculo2, fisica1, fisica2, fisica3, calculoII1, musica1)) {
+            motor.request(aluno, turma);
+        }
+
+        SeatAllocation alocacao = motor.allocate();
+
+        assertTrue(alocacao.getAdmitted(calculo2).isEmpty(), "Já matriculado em outra turma de Cálculo I");
+        assertTrue(alocacao.getAdmitted(fisica1).isEmpty(), "Conflita com a turma em que já está matriculado");
+        assertEquals(Arrays.asList(aluno), alocacao.getAdmitted(fisica2));
+        assertTrue(alocacao.getAdmitted(fisica3).isEmpty(), "Física I já concedida na rodada");
+        assertTrue(alocacao.getAdmitted(calculoII1).isEmpty(), "Cálculo I ainda não foi aprovada");
+        assertTrue(alocacao.getAdmitted(musica1).isEmpty(), "4h matriculadas + 4h concedidas + 4h excedem 10h");
+        assertTrue(alocacao.getWaitlist(calculoII1).isEmpty());
+        assertEquals(5, alocacao.getRejections().size());
+        assertEquals(new HashSet<>(Arrays.asList(calculo1, fisica2)), aluno.getEnrolledClassGroups());
+    }
+
+    @Test
+    @DisplayName("Pedidos concorrentes nunca excedem a capacidade")
+    void testPedidosConcorrentes() throws InterruptedException {
+        ClassGroup turma = new ClassGroup("MAT154-01", calculo, 50, Arrays.asList(new Schedule(1, 8, 10)));
+        SeatAllocationEngine motor = new SeatAllocationEngine(42);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            Student aluno = aluno("2024" + i, i % 7, 24);
+            executor.execute(() -> motor.request(aluno, turma));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        SeatAllocation alocacao = motor.allocate();
+
+        assertEquals(50, alocacao.getAdmitted(turma).size());
+        assertEquals(350, alocacao.getWaitlist(turma).size());
+        assertEquals(50, turma.getEnrolledStudentsCount());
+        for (Student admitido : alocacao.getAdmitted(turma)) {
+            assertEquals(6, admitido.getCreditosAcumulados());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.simulador.services;
+
+import com.simulador.model.domain.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+/**
+ * Testes para SweepLineConflictDetector
+ */
+@DisplayName("Testes de SweepLineConflictDetector")
+public class SweepLineConflictDetectorTest {
+
+    private final ConflictDetector sweepLine = new SweepLineConflictDetector();
+    private final ConflictDetector pairwise = new PairwiseConflictDetector();
+    private final Subject disciplina = new RequiredSubject("MAT154", "Cálculo I", 4);
+
+    @Test
+    @DisplayName("Deve reportar apenas pares sobrepostos")
+    void testParesSobrepostos() {
+        ClassGroup turma1 = new ClassGroup("T1", disciplina, 30, Arrays.asList(new Schedule(1, 8, 10)));
+        ClassGroup turma2 = new ClassGroup("T2", disciplina, 30, Arrays.asList(new Schedule(1, 9, 11)));
+        ClassGroup turma3 = new ClassGroup("T3", disciplina, 30, Arrays.asList(new Schedule(1, 10, 12)));
+        ClassGroup turma4 = new ClassGroup("T4", disciplina, 30, Arrays.asList(new Schedule(2, 8, 10)));
+
+        List<ConflictPair> conflitos = sweepLine.detectConflicts(Arrays.asList(turma1, turma2, turma3, turma4));
+
+        assertEquals(2, conflitos.size(), "Deve haver 2 conflitos");
+        assertSame(turma1, conflitos.get(0).getFirst());
+        assertSame(turma2, conflitos.get(0).getSecond());
+        assertSame(turma2, conflitos.get(1).getFirst());
+        assertSame(turma3, conflitos.get(1).getSecond());
+    }
+
+    @Test
+    @DisplayName("Turma com vários horários conflitantes gera um único par")
+    void testParSemDuplicatas() {
+        ClassGroup turma1 = new ClassGroup("T1", disciplina, 30,
+            Arrays.asList(new Schedule(1, 8, 10), new Schedule(3, 8, 10)));
+        ClassGroup turma2 = new ClassGroup("T2", disciplina, 30,
+            Arrays.asList(new Schedule(1, 8, 10), new Schedule(3, 9, 11)));
+
+        List<ConflictPair> conflitos = sweepLine.detectConflicts(Arrays.asList(turma1, turma2));
+
+        assertEquals(1, conflitos.size(), "O par deve ser reportado uma única vez");
+        assertEquals("MAT154 (T1) conflita com MAT154 (T2)", conflitos.get(0).toString());
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado que a comparação par a par")
+    void testEquivalenciaComPairwise() {
+        Random random = new Random(42);
+        List<ClassGroup> turmas = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            List<Schedule> horarios = new ArrayList<>();
+            int quantidade = 1 + random.nextInt(3);
+            for (int h = 0; h < quantidade; h++) {
+                int inicio = 7 + random.nextInt(13);
+                horarios.add(new Schedule(1 + random.nextInt(6), inicio, inicio + 1 + random.nextInt(2)));
+            }
+            turmas.add(new ClassGroup("T" + i, disciplina, 30, horarios));
+        }
+
+        List<String> esperado = new ArrayList<>();
+        pairwise.detectConflicts(turmas).forEach(par -> esperado.add(par.toString()));
+        List<String> obtido = new ArrayList<>();
+        sweepLine.detectConflicts(turmas).forEach(par -> obtido.add(par.toString()));
+
+        assertFalse(esperado.isEmpty());
+        assertEquals(esperado, obtido);
+    }
+
+    @Test
+    @DisplayName("Deve retornar lista vazia para coleção vazia")
+    void testColecaoVazia() {
+        assertTrue(sweepLine.detectConflicts(new ArrayList<>()).isEmpty());
+    }
+}
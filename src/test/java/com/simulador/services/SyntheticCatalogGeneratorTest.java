@@ -0,0 +1,144 @@
+package com.simulador.services;
+
+import com.simulador.controller.Registration;
+import com.simulador.controller.RelatorioSimulacao;
+import com.simulador.model.domain.*;
+import com.simulador.model.validator.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Testes para SyntheticCatalogGenerator
+ */
+@DisplayName("Testes de SyntheticCatalogGenerator")
+public class SyntheticCatalogGeneratorTest {
+
+    @Test
+    @DisplayName("Mesma semente gera o mesmo catálogo")
+    void testDeterminismo() {
+        SyntheticCatalog c1 = new SyntheticCatalogGenerator(7, 300, 2, 5, 50).generate();
+        SyntheticCatalog c2 = new SyntheticCatalogGenerator(7, 300, 2, 5, 50).generate();
+
+        assertEquals(descrever(c1), descrever(c2));
+        for (int i = 0; i < c1.getStudents().size(); i++) {
+            Student a1 = c1.getStudents().get(i);
+            Student a2 = c2.getStudents().get(i);
+            assertEquals(a1.getRegistration(), a2.getRegistration());
+            assertEquals(a1.getCreditosAcumulados(), a2.getCreditosAcumulados());
+            assertEquals(a1.getCompletedSubjects().size(), a2.getCompletedSubjects().size());
+        }
+        assertNotEquals(descrever(c1), descrever(new SyntheticCatalogGenerator(8, 300, 2, 5, 50).generate()));
+    }
+
+    @Test
+    @DisplayName("Quantidade de alunos não altera disciplinas e turmas")
+    void testAlunosIndependentes() {
+        SyntheticCatalog semAlunos = new SyntheticCatalogGenerator(7, 300, 2, 5, 0).generate();
+        SyntheticCatalog comAlunos = new SyntheticCatalogGenerator(7, 300, 2, 5, 100).generate();
+
+        assertEquals(descrever(semAlunos), descrever(comAlunos));
+        assertEquals(100, comAlunos.getStudents().size());
+    }
+
+    @Test
+    @DisplayName("Catálogo tem os três tipos de disciplina e todos os tipos de validador")
+    void testVariedade() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, 2000, 3, 8, 0).generate();
+
+        assertEquals(2000, catalogo.getSubjects().size());
+        assertEquals(6000, catalogo.getClassGroups().size());
+        assertEquals(8, catalogo.getDepth());
+        Set<Class<?>> tipos = catalogo.getSubjects().stream().map(Object::getClass).collect(Collectors.toSet());
+        assertEquals(Set.of(RequiredSubject.class, ElectiveSubject.class, OptionalSubject.class), tipos);
+
+        Set<Class<?>> validadores = new HashSet<>();
+        for (Subject disciplina : catalogo.getSubjects()) {
+            for (ValidadorPreRequisito validador : disciplina.getValidadores()) {
+                validadores.add(validador.getClass());
+            }
+        }
+        assertTrue(validadores.containsAll(Set.of(ValidadorSimples.class, ValidadorLogicoAND.class, ValidadorLogicoOR.class)));
+        Set<String> codigos = catalogo.getSubjects().stream().map(Subject::getCode).collect(Collectors.toSet());
+        assertEquals(2000, codigos.size(), "Códigos devem ser únicos");
+    }
+
+    @Test
+    @DisplayName("Horários das turmas somam a carga horária da disciplina")
+    void testHorariosRealistas() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, 500, 2, 4, 0).generate();
+
+        for (ClassGroup turma : catalogo.getClassGroups()) {
+            int horas = 0;
+            Set<Integer> dias = new HashSet<>();
+            for (Schedule horario : turma.getSchedules()) {
+                horas += horario.getEndMinute() - horario.getStartMinute();
+                assertTrue(horario.getDayOfWeek() <= 6, "Sem aulas aos domingos");
+                assertTrue(dias.add(horario.getDayOfWeek()), "Um bloco por dia");
+            }
+            assertEquals(turma.getSubject().getWeeklyHours(), horas, turma.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Encontros por turma configuráveis mantêm a carga horária")
+    void testEncontrosPorTurma() {
+        for (int encontros = 1; encontros <= 3; encontros++) {
+            SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, 200, 2, 3, 0, encontros).generate();
+            for (ClassGroup turma : catalogo.getClassGroups()) {
+                int horasDisciplina = turma.getSubject().getWeeklyHours();
+                assertEquals(Math.min(encontros, horasDisciplina), turma.getSchedules().size(), turma.getId());
+                int horas = 0;
+                for (Schedule horario : turma.getSchedules()) {
+                    horas += horario.getEndMinute() - horario.getStartMinute();
+                }
+                assertEquals(horasDisciplina, horas, turma.getId());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticCatalogGenerator(1, 10, 1, 1, 0, 7));
+    }
+
+    @Test
+    @DisplayName("Aluno criado até um nível atende aos pré-requisitos desse nível")
+    void testAlunoPorNivel() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, 400, 1, 4, 0).generate();
+        Student aluno = catalogo.createStudent("T0001", 2, 24);
+
+        for (int i = 0; i < catalogo.getSubjects().size(); i++) {
+            Subject disciplina = catalogo.getSubjects().get(i);
+            if (catalogo.getLevel(i) < 2) {
+                assertTrue(aluno.hasCompletedSubject(disciplina));
+            } else if (catalogo.getLevel(i) == 2) {
+                assertTrue(disciplina.requisitosAtendidos(aluno), disciplina.getCode());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Registration aceita o catálogo sintético")
+    void testRegistration() {
+        SyntheticCatalog catalogo = new SyntheticCatalogGenerator(42, 200, 2, 4, 20).generate();
+        Registration registration = new Registration();
+        registration.inicializarSistema(catalogo);
+
+        assertEquals(200, registration.listarDisciplinas().size());
+        assertEquals(400, registration.listarTurmas().size());
+        Student aluno = catalogo.getStudents().get(0);
+        ClassGroup turma = catalogo.getClassGroups().get(0);
+        RelatorioSimulacao relatorio = registration.processarMatricula(aluno.getRegistration(), List.of(turma.getId()));
+        assertSame(aluno, relatorio.getAluno());
+    }
+
+    private static List<String> descrever(SyntheticCatalog catalogo) {
+        List<String> descricao = new ArrayList<>();
+        for (Subject disciplina : catalogo.getSubjects()) {
+            descricao.add(disciplina.getCode() + disciplina.getType() + disciplina.getWeeklyHours());
+        }
+        for (ClassGroup turma : catalogo.getClassGroups()) {
+            descricao.add(turma.getId() + turma.getCapacity() + turma.getSchedules());
+        }
+        return descricao;
+    }
+}